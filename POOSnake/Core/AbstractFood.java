@@ -22,6 +22,9 @@ public abstract class AbstractFood<T extends Shape> {
     protected Color color;
     protected Core.FoodType type;
     protected Arena arena;
+    // Célula livre onde o alimento foi colocado, ou -1 se a posição foi sorteada
+    // fora da grelha
+    protected int cell = -1;
 
     /**
      * Construtor para criar um alimento com cor, tipo e arena específicos.
@@ -43,6 +46,24 @@ public abstract class AbstractFood<T extends Shape> {
      */
     public abstract void spawnFood(Arena arena);
 
+    /**
+     * Coloca o alimento numa célula da grelha da arena.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     */
+    public abstract void placeAt(int cx, int cy);
+
+    /**
+     * Obtém a célula onde o alimento foi colocado.
+     * 
+     * @return A célula compactada (ver {@link Snake#pack(int, int)}), ou -1 se
+     *         a posição não corresponde a uma célula.
+     */
+    public int getCell() {
+        return cell;
+    }
+
     /**
      * Verifica se o alimento está contido em um polígono.
      * 
@@ -61,6 +82,39 @@ public abstract class AbstractFood<T extends Shape> {
         }
     }
 
+    /**
+     * Verifica se o alimento está contido numa caixa alinhada com os eixos, sem
+     * criar polígonos intermédios.
+     * 
+     * @param minX O limite esquerdo da caixa.
+     * @param minY O limite superior da caixa.
+     * @param maxX O limite direito da caixa.
+     * @param maxY O limite inferior da caixa.
+     * @return true se o alimento estiver contido na caixa, caso contrário, false.
+     */
+    public boolean isContainedIn(double minX, double minY, double maxX, double maxY) {
+        T shape = getShape();
+
+        if (shape instanceof Circle) {
+            // Basta que o centro do círculo esteja dentro da caixa (semiaberta, para
+            // que um centro sobre a linha entre duas células pertença só a uma)
+            Ponto centro = ((Circle) shape).getCentro();
+            return centro.getX() >= minX && centro.getX() < maxX
+                    && centro.getY() >= minY && centro.getY() < maxY;
+        } else {
+            // Todos os vértices do polígono têm de estar dentro ou na borda da caixa
+            Poligono poligono = (Poligono) shape;
+            for (int i = 0; i < poligono.numPontos(); i++) {
+                double x = poligono.getX(i);
+                double y = poligono.getY(i);
+                if (x < minX || x > maxX || y < minY || y > maxY) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Método abstrato para obter os vértices de um quadrado.
      * 
@@ -1,14 +1,18 @@
 package Core;
 
 import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
 
 import Geometry.Poligono;
 import Geometry.Ponto;
-import Geometry.Square;
 import Geometry.Triangulo;
 import UI.UI;
 import UI.UIFactory;
@@ -25,6 +29,24 @@ public class Arena {
 
     AbstractFood<?> fruit;
     ArrayList<Obstacle> obstacles;
+    // Células cobertas pelos obstáculos, à resolução da cabeça
+    private OccupancyGrid obstacleGrid;
+    // Células livres (sem cobra nem obstáculos), para gerar a comida
+    private FreeCellSet freeCells;
+    // Indica se os obstáculos se moveram desde a última verificação de colisão
+    private boolean obstaclesMoved;
+    // Incrementada sempre que os obstáculos são criados ou rodados
+    private int obstacleVersion;
+    // Última fotografia do estado, lida pelas threads de desenho
+    private final AtomicReference<ArenaSnapshot> snapshot = new AtomicReference<>();
+    // Só se publicam fotografias depois de haver quem as leia
+    private boolean snapshotReaders;
+    private long ticks;
+    // Gravação do jogo, ou null se o jogo não estiver a ser gravado
+    private ReplayRecorder recorder;
+    // Semente e gerador de todos os sorteios do jogo (obstáculos, cobra e comida)
+    private long seed;
+    private RandomGenerator random;
 
     private int[] arenaDimensions = new int[2];
     private FoodType foodtype;
@@ -40,36 +62,66 @@ public class Arena {
     Rank rank;
     private MovementStrategy movementStrategy;
     UI ui;
-    int tryyyy;
     int t = 0;
     int nleader = 1;
     char interfaceMode;
+    private GameOutcome outcome = GameOutcome.RUNNING;
 
     public char getInterfaceMode() {
         return interfaceMode;
     }
 
     /**
-     * Construtor da classe Arena.
+     * Construtor da classe Arena sem interface (headless).
      * 
-     * @param arenaDimensionsX  largura da arena.
-     * @param arenaDimensionsY  altura da arena.
-     * @param headDimensions    dimensões da cabeça da cobra.
-     * @param rasterizationType tipo de rasterização para a UI.
-     * @param foodDimensions    dimensões da comida.
-     * @param foodType          tipo de comida.
-     * @param numObstacles      número de obstáculos.
-     * @param obstacleType      tipo de obstáculo.
-     * @param rotacao           ponto de rotação.
-     * @param interfaceMode     modo de interface.
-     * @param namePlayer        nome do jogador.
-     * @param scanner           scanner para entrada.
-     * @param movement          tipo de movimento.
+     * Cria apenas o estado do jogo (obstáculos, cobra e comida), sem UI, sem
+     * estratégia de movimento e sem iniciar o ciclo de jogo. A simulação é
+     * avançada explicitamente através de {@link #tick()}, normalmente por um
+     * {@link GameEngine}.
+     * 
+     * @param arenaDimensionsX largura da arena.
+     * @param arenaDimensionsY altura da arena.
+     * @param headDimensions   dimensões da cabeça da cobra.
+     * @param foodDimensions   dimensões da comida.
+     * @param foodType         tipo de comida.
+     * @param numObstacles     número de obstáculos.
+     * @param obstacleType     tipo de obstáculo.
+     * @param rotacao          ponto de rotação.
+     * @param angle            ângulo de rotação dos obstáculos dinâmicos.
+     * @param pointsadder      pontos ganhos por cada comida.
      */
-    public Arena(int arenaDimensionsX, int arenaDimensionsY, int headDimensions, RasterizationType rasterizationType,
-            int foodDimensions, FoodType foodType, int numObstacles, Core.Obstacle.ObstacleType obstacleType,
-            Ponto rotacao, char interfaceMode, String namePlayer, Scanner scanner, Character movement, int angle,
-            int pointsadder, int nleader) {
+    public Arena(int arenaDimensionsX, int arenaDimensionsY, int headDimensions, int foodDimensions,
+            FoodType foodType, int numObstacles, Core.Obstacle.ObstacleType obstacleType, Ponto rotacao, int angle,
+            int pointsadder) {
+        this(arenaDimensionsX, arenaDimensionsY, headDimensions, foodDimensions, foodType, numObstacles,
+                obstacleType, rotacao, angle, pointsadder, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Construtor da classe Arena sem interface (headless) com uma semente fixa.
+     * 
+     * Todos os sorteios do jogo usam um único gerador criado a partir da
+     * semente, pelo que a mesma semente e as mesmas direções reproduzem o
+     * mesmo jogo. Cada arena tem o seu gerador, e por isso vários jogos podem
+     * correr em paralelo sem partilhar estado.
+     * 
+     * @param arenaDimensionsX largura da arena.
+     * @param arenaDimensionsY altura da arena.
+     * @param headDimensions   dimensões da cabeça da cobra.
+     * @param foodDimensions   dimensões da comida.
+     * @param foodType         tipo de comida.
+     * @param numObstacles     número de obstáculos.
+     * @param obstacleType     tipo de obstáculo.
+     * @param rotacao          ponto de rotação.
+     * @param angle            ângulo de rotação dos obstáculos dinâmicos.
+     * @param pointsadder      pontos ganhos por cada comida.
+     * @param seed             semente dos sorteios.
+     */
+    public Arena(int arenaDimensionsX, int arenaDimensionsY, int headDimensions, int foodDimensions,
+            FoodType foodType, int numObstacles, Core.Obstacle.ObstacleType obstacleType, Ponto rotacao, int angle,
+            int pointsadder, long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
         // Configurações iniciais da arena
         this.angle = angle;
         this.rotacao = rotacao;
@@ -81,12 +133,9 @@ public class Arena {
         } else if (headDimensions == 1) {
             this.foodDimensions = 1;
         }
-        this.interfaceMode = interfaceMode;
         this.foodDimensions = foodDimensions;
         this.headDimensions = headDimensions;
         this.foodtype = foodType;
-        this.namePlayer = namePlayer;
-        this.rank = new Rank(players, nleader);
         this.pointsadder = pointsadder;
 
         if (arenaDimensionsX % headDimensions != 0 || arenaDimensionsY % headDimensions != 0) {
@@ -94,17 +143,57 @@ public class Arena {
             // cabeça
             this.arenaDimensions[0] = adjustArenaDimension(arenaDimensionsX, headDimensions);
             this.arenaDimensions[1] = adjustArenaDimension(arenaDimensionsY, headDimensions);
-            System.out.println("O tamanho da arena foi ajustado para uma melhor experiência!");
-            System.out.println("Ajustado em função do tamanho da cabeça escolhido");
-
         }
 
         // Cria os obstáculos
         createObstacles(numObstacles, obstacleType, arenaDimensions, headDimensions);
         // Gera a cobra
         generateSnake(arenaDimensions, headDimensions);
+        // Regista as células livres
+        freeCells = new FreeCellSet(obstacleGrid.getCols(), obstacleGrid.getRows());
+        freeCells.sync(s.getOccupancy(), obstacleGrid);
         // Gera a comida
-        generateFood(Color.YELLOW, foodType, this, foodDimensions);
+        if (!generateFood(Color.YELLOW, foodType, this, foodDimensions)) {
+            outcome = GameOutcome.BOARD_FULL;
+        }
+        publishSnapshot();
+    }
+
+    /**
+     * Construtor da classe Arena.
+     * 
+     * @param arenaDimensionsX  largura da arena.
+     * @param arenaDimensionsY  altura da arena.
+     * @param headDimensions    dimensões da cabeça da cobra.
+     * @param rasterizationType tipo de rasterização para a UI.
+     * @param foodDimensions    dimensões da comida.
+     * @param foodType          tipo de comida.
+     * @param numObstacles      número de obstáculos.
+     * @param obstacleType      tipo de obstáculo.
+     * @param rotacao           ponto de rotação.
+     * @param interfaceMode     modo de interface.
+     * @param namePlayer        nome do jogador.
+     * @param scanner           scanner para entrada.
+     * @param movement          tipo de movimento.
+     */
+    public Arena(int arenaDimensionsX, int arenaDimensionsY, int headDimensions, RasterizationType rasterizationType,
+            int foodDimensions, FoodType foodType, int numObstacles, Core.Obstacle.ObstacleType obstacleType,
+            Ponto rotacao, char interfaceMode, String namePlayer, Scanner scanner, Character movement, int angle,
+            int pointsadder, int nleader) {
+        // Cria o estado do jogo
+        this(arenaDimensionsX, arenaDimensionsY, headDimensions, foodDimensions, foodType, numObstacles,
+                obstacleType, rotacao, angle, pointsadder,
+                Long.getLong("poosnake.seed", ThreadLocalRandom.current().nextLong()));
+        this.interfaceMode = interfaceMode;
+        this.namePlayer = namePlayer;
+        this.rank = new Rank(players, nleader);
+        startRecording();
+
+        if (arenaDimensions[0] != arenaDimensionsX || arenaDimensions[1] != arenaDimensionsY) {
+            System.out.println("O tamanho da arena foi ajustado para uma melhor experiência!");
+            System.out.println("Ajustado em função do tamanho da cabeça escolhido");
+        }
+
         // Inicializa a UI
         RasterizationStrategy rasterization;
         if (rasterizationType == RasterizationType.O) {
@@ -116,6 +205,12 @@ public class Arena {
             movementStrategy = new ManualMovementStrategy(scanner, this);
             setMovementStrategy(movementStrategy);
 
+        } else if (movement == 'H') {
+            movementStrategy = new HamiltonianMovementStrategy(this);
+            setMovementStrategy(movementStrategy);
+        } else if (movement == 'C') {
+            movementStrategy = new MonteCarloMovementStrategy(this);
+            setMovementStrategy(movementStrategy);
         } else {
             movementStrategy = new AutomaticMovementStrategy(this);
             setMovementStrategy(movementStrategy);
@@ -123,11 +218,6 @@ public class Arena {
 
         this.ui = UIFactory.createUI(interfaceMode, rasterization, movementStrategy);
 
-        // Configura a estratégia de movimento manual
-
-        // No final do método Arena constructor
-
-        // Configura a estratégia de movimento manual
         System.out.print("\033[H\033[2J");
         System.out.flush();
         ui.render();
@@ -138,12 +228,18 @@ public class Arena {
 
     /**
      * Inicia o jogo.
+     * 
+     * Apenas o modo manual textual precisa de ler a entrada do utilizador em
+     * ciclo; nos restantes modos o jogo é conduzido por temporizadores e este
+     * método retorna de imediato.
      */
     public void startGame() {
-        while (true) {
+        if (!(movementStrategy instanceof ManualMovementStrategy) || Character.toLowerCase(interfaceMode) != 't') {
+            return;
+        }
+        while (outcome == GameOutcome.RUNNING) {
             // Captura a entrada do usuário e executa o movimento
             movementStrategy.input();
-            // Atualiza o frame do jogo
         }
     }
 
@@ -175,86 +271,32 @@ public class Arena {
      * @param foodType       tipo de comida.
      * @param arena          arena do jogo.
      * @param foodDimensions dimensões da comida.
+     * @return true se a comida foi gerada, false se não existe espaço livre
+     *         (pontuação máxima atingida).
      */
-    private void generateFood(Color color, FoodType foodType, Arena arena, int foodDimensions) {
-        boolean foodIntersects = true;
+    private boolean generateFood(Color color, FoodType foodType, Arena arena, int foodDimensions) {
+        // Sem células livres a arena está cheia
+        if (freeCells.isEmpty()) {
+            return false;
+        }
 
         if (foodDimensions >= headDimensions && headDimensions > 1) {
             foodDimensions = headDimensions - 1;
         } else if (headDimensions == 1) {
             foodDimensions = 1;
         }
-        // Repete até que a comida não intersecte com a cobra ou obstáculos
-        while (foodIntersects) {
-            // Cria a comida com uma posição aleatória
-            fruit = FoodFactory.createFood(color, foodType, arena, foodDimensions);
-
-            // Verifica se a comida intersecta com a cobra
-            foodIntersects = checkFoodSnakeCollision(fruit);
-
-            // Se a comida não intersectar com a cobra, verifica se intersecta com algum
-            // obstáculo
-            if (!foodIntersects) {
-                foodIntersects = checkFoodObstacleCollision(fruit);
-            }
-
-            // Se a comida intersectar com a cobra ou um obstáculo, gere uma nova posição
-            // para ela
-            if (foodIntersects) {
-                fruit.spawnFood(arena);
-                tryyyy++;
-                if (tryyyy > 100000) {
-                    System.out.print("\033[H\033[2J");
-                    System.out.flush();
-                    ui.render();
-                    System.out.println("Max Score Achieved!");
-                    System.out.println("Score: " + points);
-                    System.out.println();
-                    rank.printLeaderboard();
-                    System.exit(0);
-
-                }
-            }
-        }
-
+        // A comida é colocada numa célula livre sorteada, sem novas tentativas
+        fruit = FoodFactory.createFood(color, foodType, arena, foodDimensions);
+        return true;
     }
 
     /**
-     * Verifica se a comida intersecta com a cobra.
+     * Atualiza no conjunto de células livres uma célula da cobra.
      * 
-     * @param food comida a ser verificada.
-     * @return true se a comida intersecta com a cobra, false caso contrário.
+     * @param cell célula compactada da cobra.
      */
-    private boolean checkFoodSnakeCollision(AbstractFood<?> food) {
-        // Obtém os quadrados da cobra
-        List<Square> squares = s.getSnake();
-
-        // Verifica se a comida intersecta com algum polígono da cobra
-        for (Square square : squares) {
-            if (food.intersect(square) || food.contains(square) || food.distance(square)
-                    || food.isContainedIn(square)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Verifica se a comida intersecta com algum obstáculo.
-     * 
-     * @param food comida a ser verificada.
-     * @return true se a comida intersecta com algum obstáculo, false caso
-     *         contrário.
-     */
-    private boolean checkFoodObstacleCollision(AbstractFood<?> food) {
-        // Verifica se a comida intersecta com algum obstáculo
-        for (Obstacle obstacle : obstacles) {
-            if (food.intersect(obstacle.getObstacle()) || food.contains(obstacle.getObstacle())
-                    || food.distance(obstacle.getObstacle()) || food.isContainedIn(obstacle.getObstacle())) {
-                return true;
-            }
-        }
-        return false;
+    private void updateFreeCell(int cell) {
+        freeCells.update(Snake.cellX(cell), Snake.cellY(cell), s.getOccupancy(), obstacleGrid);
     }
 
     /**
@@ -268,7 +310,7 @@ public class Arena {
     private void createObstacles(int numObstacles, Core.Obstacle.ObstacleType obstacleType, int[] arenaDimensions,
             int headDimensions) {
         obstacles = new ArrayList<>();
-        Random rand = new Random();
+        RandomGenerator rand = random;
         for (int i = 0; i < numObstacles; i++) {
             // Decidindo aleatoriamente se o próximo obstáculo será um quadrado, um
             // retângulo ou um triângulo
@@ -316,6 +358,23 @@ public class Arena {
                 obstacles.add(obstacle);
             }
         }
+        updateObstacleGrid();
+    }
+
+    /**
+     * Reconstrói a grelha de ocupação dos obstáculos a partir das suas formas
+     * atuais.
+     */
+    private void updateObstacleGrid() {
+        if (obstacleGrid == null) {
+            obstacleGrid = new OccupancyGrid(arenaDimensions, headDimensions);
+        } else {
+            obstacleGrid.clearAll();
+        }
+        for (Obstacle obstacle : obstacles) {
+            obstacleGrid.fill(obstacle.getObstacle());
+        }
+        obstacleVersion++;
     }
 
     /**
@@ -330,10 +389,10 @@ public class Arena {
         // Repete até que a cobra não colida com nenhum obstáculo
         while (snakeCollidedWithObstacle) {
             // Gera a cobra
-            this.s = new Snake(arenaDimensions, headDimensions);
+            this.s = new Snake(arenaDimensions, headDimensions, random);
 
             // Verifica se a cobra colidiu com algum obstáculo
-            snakeCollidedWithObstacle = s.checkSnakeObstacleColision(s, obstacles);
+            snakeCollidedWithObstacle = s.checkSnakeObstacleColision(obstacleGrid);
         }
     }
 
@@ -349,64 +408,233 @@ public class Arena {
             // Atualiza o polígono do obstáculo com a nova posição após a rotação
             obstacle.setObstacle(obstacleShape);
         }
+        updateObstacleGrid();
+        if (freeCells != null) {
+            freeCells.sync(s.getOccupancy(), obstacleGrid);
+        }
+        obstaclesMoved = true;
     }
 
     /**
-     * Atualiza o frame do jogo.
+     * Avança a simulação um tick: move a cobra, trata a comida, verifica as
+     * colisões e roda os obstáculos dinâmicos.
+     * 
+     * Não escreve no ecrã, não atualiza o ranking e nunca termina a aplicação;
+     * o fim do jogo é comunicado através do {@link GameOutcome} devolvido.
+     * 
+     * @return o estado do jogo após o tick.
      */
-    public void Frame() {
+    public GameOutcome tick() {
+        if (outcome != GameOutcome.RUNNING) {
+            return outcome;
+        }
 
+        int direcao = s.getDirection();
+        AbstractFood<?> comidaAnterior = fruit;
+        simulateTick();
+        ticks++;
+        if (recorder != null) {
+            recorder.recordTick(direcao, fruit != comidaAnterior ? fruit.getCell() : -1);
+        }
+        publishSnapshot();
+        return outcome;
+    }
+
+    /**
+     * Simula um tick, alterando o estado da arena e o seu {@link GameOutcome}.
+     */
+    private void simulateTick() {
         s.move();
-        System.out.println(s.toString());
+        // A cauda liberta uma célula e a cabeça ocupa outra
+        updateFreeCell(s.getLastTailCell());
+        updateFreeCell(s.getHeadCell());
 
         if (s.CheckFoodEaten(fruit) == true) {
             points += pointsadder;
             s.grow();
-            generateFood(Color.YELLOW, foodtype, this, foodDimensions);
+            updateFreeCell(s.getTailCell());
+            if (!generateFood(Color.YELLOW, foodtype, this, foodDimensions)) {
+                outcome = GameOutcome.BOARD_FULL;
+                return;
+            }
+        }
 
+        // Enquanto os obstáculos não se movem basta verificar a célula da cabeça;
+        // depois de uma rotação verifica-se o corpo inteiro
+        boolean obstacleCollision = obstaclesMoved ? s.checkSnakeObstacleColision(obstacleGrid)
+                : s.checkHeadObstacleColision(obstacleGrid);
+        obstaclesMoved = false;
+        if (obstacleCollision == true) {
+            outcome = GameOutcome.OBSTACLE_COLLISION;
+        } else if (s.checkSnakeInsideArena(arenaDimensions) == true) {
+            outcome = GameOutcome.OUT_OF_ARENA;
+        } else if (s.checkSnakeSelfCollision() == true) {
+            outcome = GameOutcome.SELF_COLLISION;
+        }
+        if (outcome != GameOutcome.RUNNING) {
+            return;
         }
 
-        if (s.checkSnakeObstacleColision(s, obstacles) == true) {
-            rank.updateRank(namePlayer, points);
-            System.out.print("\033[H\033[2J");
-            System.out.flush();
-            ui.render();
+        if (this.obstacletype == Obstacle.ObstacleType.D && t != 0) {
+            obstaclesmove();
+        }
+        t++;
+    }
 
-            rank.printLeaderboard();
-            System.exit(0);
+    /**
+     * Repõe o estado da arena a partir de uma gravação. Usado pelo
+     * {@link ReplayPlayer}.
+     * 
+     * @param obstacles      os obstáculos.
+     * @param snakeCells     as células da cobra, da cabeça para a cauda.
+     * @param direction      a direção da cobra.
+     * @param foodCell       a célula da comida.
+     * @param points         a pontuação.
+     * @param t              o número de ticks sem fim de jogo.
+     * @param obstaclesMoved se os obstáculos rodaram no último tick.
+     * @param outcome        o estado do jogo.
+     * @param ticks          o número de ticks simulados.
+     */
+    void restoreState(ArrayList<Obstacle> obstacles, int[] snakeCells, int direction, int foodCell, int points,
+            int t, boolean obstaclesMoved, GameOutcome outcome, long ticks) {
+        this.obstacles = obstacles;
+        updateObstacleGrid();
+        s.setCells(snakeCells);
+        s.setDirection(direction);
+        freeCells.sync(s.getOccupancy(), obstacleGrid);
+        if (fruit == null) {
+            fruit = FoodFactory.createFood(Color.YELLOW, foodtype, this, foodDimensions);
         }
+        placeFood(foodCell);
+        this.points = points;
+        this.t = t;
+        this.obstaclesMoved = obstaclesMoved;
+        this.outcome = outcome;
+        this.ticks = ticks;
+        publishSnapshot();
+    }
 
-        if (s.checkSnakeInsideArena(arenaDimensions) == true) {
-            rank.updateRank(namePlayer, points);
-            System.out.print("\033[H\033[2J");
-            System.out.flush();
-            ui.render();
+    /**
+     * Coloca a comida numa célula, substituindo a posição sorteada. Usado pelo
+     * {@link ReplayPlayer}; não publica uma nova fotografia.
+     * 
+     * @param foodCell a célula compactada, ou -1 para manter a posição atual.
+     */
+    void placeFood(int foodCell) {
+        if (foodCell != -1 && fruit != null) {
+            fruit.placeAt(Snake.cellX(foodCell), Snake.cellY(foodCell));
+        }
+    }
 
+    /**
+     * Regista que há quem leia as fotografias do estado (uma interface ou uma
+     * rasterização) e publica já a primeira. Sem leitores, a arena não cria
+     * fotografias, que custam uma cópia da cobra por tick. Deve ser chamado
+     * na thread da simulação ou antes de o jogo começar.
+     */
+    public void attachSnapshotReader() {
+        snapshotReaders = true;
+        publishSnapshot();
+    }
+
+    /**
+     * Publica uma fotografia do estado atual da arena, substituindo a anterior
+     * numa única troca atómica, se houver leitores registados. É chamado no
+     * fim de cada tick; deve ser chamado também depois de alterar a arena por
+     * fora dos ticks.
+     */
+    public void publishSnapshot() {
+        if (snapshotReaders) {
+            snapshot.set(new ArenaSnapshot(this, ticks));
+        }
+    }
+
+    /**
+     * Obtém a última fotografia publicada do estado da arena. Pode ser chamado
+     * de qualquer thread.
+     * 
+     * @return A última fotografia publicada, ou null se nenhum leitor foi
+     *         registado com {@link #attachSnapshotReader()}.
+     */
+    public ArenaSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Atualiza o frame do jogo.
+     * 
+     * Avança a simulação um tick e atualiza a UI; quando o jogo termina,
+     * atualiza o ranking, mostra a leaderboard e para a estratégia de
+     * movimento.
+     */
+    public void Frame() {
+        if (outcome != GameOutcome.RUNNING) {
+            return;
+        }
+
+        GameOutcome estado = tick();
+
+        // A UI escreve o último frame por cima do anterior e o texto fica por baixo
+        if (estado == GameOutcome.BOARD_FULL) {
+            ui.render();
+            System.out.println("Max Score Achieved!");
+            System.out.println("Score: " + points);
+            System.out.println();
             rank.printLeaderboard();
-            System.exit(0);
+            movementStrategy.stop();
+            stopRecording();
+            return;
         }
 
-        if (s.checkSnakeSelfCollision() == true) {
+        if (estado != GameOutcome.RUNNING) {
             rank.updateRank(namePlayer, points);
-            System.out.print("\033[H\033[2J");
-            System.out.flush();
+            // O ranking foi escrito por baixo da grelha e pode ter feito o
+            // terminal deslocar-se
+            ui.invalidate();
             ui.render();
 
             rank.printLeaderboard();
-            System.exit(0);
+            movementStrategy.stop();
+            stopRecording();
+            return;
         }
 
-        if (this.obstacletype == Obstacle.ObstacleType.D && t != 0) {
-            obstaclesmove();
-        }
-
-        System.out.println();
-        System.out.flush();
         ui.render();
-        t++;
 
     }
 
+    /**
+     * Começa a gravar o jogo no ficheiro indicado pela propriedade de sistema
+     * {@code poosnake.replay}, se estiver definida.
+     */
+    private void startRecording() {
+        String ficheiro = System.getProperty("poosnake.replay");
+        if (ficheiro == null) {
+            return;
+        }
+        try {
+            recorder = new ReplayRecorder(Paths.get(ficheiro), this, ReplayRecorder.INTERVALO_KEYFRAMES);
+        } catch (IOException e) {
+            System.out.println("Erro ao criar a gravação: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Termina a gravação do jogo, se existir.
+     */
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+            System.out.println("Jogo gravado em '" + System.getProperty("poosnake.replay") + "'");
+        } catch (IOException e) {
+            System.out.println("Erro ao escrever a gravação: " + e.getMessage());
+        }
+        recorder = null;
+    }
+
     // GETTERS AND SETTERS
 
     public Snake getS() {
@@ -425,10 +653,93 @@ public class Arena {
         return obstacles;
     }
 
+    public OccupancyGrid getObstacleGrid() {
+        return obstacleGrid;
+    }
+
+    public FreeCellSet getFreeCells() {
+        return freeCells;
+    }
+
+    /**
+     * Obtém a versão dos obstáculos, que muda sempre que estes são criados ou
+     * rodados.
+     * 
+     * @return A versão atual dos obstáculos.
+     */
+    public int getObstacleVersion() {
+        return obstacleVersion;
+    }
+
     public int getHeadDimensions() {
         return headDimensions;
     }
 
+    /**
+     * Obtém a semente dos sorteios deste jogo.
+     * 
+     * @return A semente.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtém o gerador de todos os sorteios deste jogo.
+     * 
+     * @return O gerador.
+     */
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    public int getFoodDimensions() {
+        return foodDimensions;
+    }
+
+    public FoodType getFoodType() {
+        return foodtype;
+    }
+
+    public Core.Obstacle.ObstacleType getObstacleType() {
+        return obstacletype;
+    }
+
+    /**
+     * Indica se os obstáculos rodaram desde a última verificação de colisão.
+     * 
+     * @return true se os obstáculos rodaram, caso contrário false.
+     */
+    boolean haveObstaclesMoved() {
+        return obstaclesMoved;
+    }
+
+    /**
+     * Obtém o número de ticks já simulados.
+     * 
+     * @return O número de ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Define a gravação que regista cada tick deste jogo.
+     * 
+     * @param recorder A gravação, ou null para deixar de gravar.
+     */
+    public void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+
     public void setMovementStrategy(MovementStrategy strategy) {
         this.movementStrategy = strategy;
     }
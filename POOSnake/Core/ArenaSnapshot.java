@@ -0,0 +1,185 @@
+package Core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import Geometry.Poligono;
+
+/**
+ * Fotografia imutável do estado da arena no fim de um tick.
+ *
+ * Quando há leitores registados (ver {@link Arena#attachSnapshotReader()}),
+ * a simulação cria uma fotografia nova em cada tick e publica-a na arena com
+ * uma única troca atómica de referência. Quem desenha lê sempre a última
+ * fotografia publicada, consistente e sem locks, enquanto a simulação continua
+ * a alterar a arena sem esperar pelo desenho.
+ *
+ * As formas dos obstáculos e da comida são partilhadas e não copiadas: a
+ * arena substitui-as por formas novas quando mudam, em vez de as alterar.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public final class ArenaSnapshot {
+    private final long tick;
+    private final int width;
+    private final int height;
+    private final int headDimensions;
+    // Células compactadas da cobra, da cabeça para a cauda
+    private final int[] snakeCells;
+    private final boolean selfCollision;
+    private final Shape food;
+    private final List<Poligono> obstacles;
+    private final int obstacleVersion;
+    private final int points;
+    private final GameOutcome outcome;
+
+    /**
+     * Constrói a fotografia do estado atual de uma arena.
+     *
+     * @param arena A arena.
+     * @param tick  O número de ticks já simulados.
+     */
+    ArenaSnapshot(Arena arena, long tick) {
+        this.tick = tick;
+        this.width = arena.getArenaDimensions()[0];
+        this.height = arena.getArenaDimensions()[1];
+        this.headDimensions = arena.getHeadDimensions();
+        Snake snake = arena.getS();
+        this.snakeCells = snake.toCellArray();
+        this.selfCollision = snake.checkSnakeSelfCollision();
+        this.food = arena.getFruit() == null ? null : arena.getFruit().getShape();
+        List<Poligono> formas = new ArrayList<>(arena.getObstacles().size());
+        for (Obstacle obstacle : arena.getObstacles()) {
+            // A caixa é calculada aqui, antes da publicação, e não por quem lê
+            obstacle.getObstacle().getCaixaEnvolvente();
+            formas.add(obstacle.getObstacle());
+        }
+        if (food != null) {
+            food.getCaixaEnvolvente();
+        }
+        this.obstacles = Collections.unmodifiableList(formas);
+        this.obstacleVersion = arena.getObstacleVersion();
+        this.points = arena.getPoints();
+        this.outcome = arena.getOutcome();
+    }
+
+    /**
+     * Obtém o número de ticks simulados quando a fotografia foi tirada.
+     *
+     * @return O número do tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Obtém a largura da arena em pixels.
+     *
+     * @return A largura da arena.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtém a altura da arena em pixels.
+     *
+     * @return A altura da arena.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Obtém as dimensões da cabeça da cobra (o lado de cada célula).
+     *
+     * @return As dimensões da cabeça.
+     */
+    public int getHeadDimensions() {
+        return headDimensions;
+    }
+
+    /**
+     * Obtém o número de quadrados da cobra.
+     *
+     * @return O tamanho da cobra.
+     */
+    public int getSnakeSize() {
+        return snakeCells.length;
+    }
+
+    /**
+     * Obtém a célula compactada de um quadrado da cobra.
+     *
+     * @param i O índice do quadrado, sendo 0 a cabeça.
+     * @return A célula compactada (ver {@link Snake#pack(int, int)}).
+     */
+    public int getSnakeCell(int i) {
+        return snakeCells[i];
+    }
+
+    /**
+     * Obtém a célula compactada da cabeça da cobra.
+     *
+     * @return A célula da cabeça.
+     */
+    public int getHeadCell() {
+        return snakeCells[0];
+    }
+
+    /**
+     * Indica se a cabeça da cobra está sobre o seu próprio corpo.
+     *
+     * @return true se a cobra colidiu consigo própria, caso contrário false.
+     */
+    public boolean isSelfCollision() {
+        return selfCollision;
+    }
+
+    /**
+     * Obtém a forma da comida.
+     *
+     * @return A forma da comida, ou null se não houver comida.
+     */
+    public Shape getFood() {
+        return food;
+    }
+
+    /**
+     * Obtém as formas dos obstáculos.
+     *
+     * @return Uma lista imutável com as formas dos obstáculos.
+     */
+    public List<Poligono> getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Obtém a versão dos obstáculos (ver {@link Arena#getObstacleVersion()}).
+     *
+     * @return A versão dos obstáculos.
+     */
+    public int getObstacleVersion() {
+        return obstacleVersion;
+    }
+
+    /**
+     * Obtém a pontuação.
+     *
+     * @return Os pontos do jogador.
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * Obtém o estado do jogo.
+     *
+     * @return O estado do jogo.
+     */
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+}
@@ -17,6 +17,9 @@ import Geometry.Ponto;
 public class AutomaticMovementStrategy implements MovementStrategy {
     private Arena arena;
     private Timer timer;
+    // Criados no primeiro tick, com o tamanho da grelha da arena
+    private GridPathfinder pathfinder;
+    private ReachabilityService reachability;
 
     /**
      * Construtor para criar uma estratégia de movimento automático para a cobra.
@@ -24,9 +27,23 @@ public class AutomaticMovementStrategy implements MovementStrategy {
      * @param arena A arena em que a cobra está se movendo.
      */
     public AutomaticMovementStrategy(Arena arena) {
+        this(arena, true);
+    }
+
+    /**
+     * Construtor para criar uma estratégia de movimento automático para a cobra.
+     * 
+     * @param arena       A arena em que a cobra está se movendo.
+     * @param temporizada true para avançar o jogo com um temporizador de 1
+     *                    segundo; false quando o jogo é conduzido pelo
+     *                    {@link GameEngine}.
+     */
+    public AutomaticMovementStrategy(Arena arena, boolean temporizada) {
         this.arena = arena;
-        this.timer = new Timer();
-        startTimer();
+        if (temporizada) {
+            this.timer = new Timer();
+            startTimer();
+        }
     }
 
     /**
@@ -48,93 +65,49 @@ public class AutomaticMovementStrategy implements MovementStrategy {
     }
 
     /**
-     * Calcula a melhor direção para a cobra se mover com base na posição da comida,
-     * evitando as bordas da arena, obstáculos e a própria cobra.
+     * Calcula a melhor direção para a cobra se mover: o primeiro passo do
+     * caminho mais curto até à comida, contornando os obstáculos, as bordas da
+     * arena e o corpo da cobra, desde que esse passo não feche a cobra numa
+     * região mais pequena do que o corpo sem acesso à cauda. Caso contrário,
+     * escolhe o passo seguro que deixa mais espaço livre à cobra.
      * 
      * @param currentDirection A direção atual da cobra.
      * @return A melhor direção para a cobra se mover.
      */
     public int calculateBestDirection(int currentDirection) {
-        Ponto headPosition = arena.getS().getSnake().get(0).calcularCentro();
-        Ponto foodPosition = arena.getFruit().getShape().getPosition();
-    
-        int bestDirection = currentDirection;
-    
-        double distanceX = Math.abs(headPosition.getX() - foodPosition.getX());
-        double distanceY = Math.abs(headPosition.getY() - foodPosition.getY());
-    
-        if (distanceX < distanceY) {
-            // Prioriza o movimento horizontal em direção à comida
-            if (headPosition.getX() < foodPosition.getX()) {
-                if (currentDirection != 270 && !isCollision(headPosition, 270)) {
-                    bestDirection = 90; // Direita
-                }
-            } else {
-                if (currentDirection != 90 && !isCollision(headPosition, 90)) {
-                    bestDirection = 270; // Esquerda
-                }
-            }
-        } else {
-            // Prioriza o movimento vertical em direção à comida
-            if (headPosition.getY() < foodPosition.getY()) {
-                if (currentDirection != 180 && !isCollision(headPosition, 180)) {
-                    bestDirection = 0; // Baixo
-                }
-            } else {
-                if (currentDirection != 0 && !isCollision(headPosition, 0)) {
-                    bestDirection = 180; // Cima
-                }
-            }
+        OccupancyGrid obstaculos = arena.getObstacleGrid();
+        if (pathfinder == null) {
+            pathfinder = new GridPathfinder(obstaculos.getCols(), obstaculos.getRows());
+            reachability = new ReachabilityService(obstaculos.getCols(), obstaculos.getRows());
         }
-    
-        // Evitar bordas da arena
-        if (headPosition.getX() == 0 && bestDirection == 270) {
-            bestDirection = 0; // Evita a borda esquerda, indo para cima
-        } else if (headPosition.getX() == arena.getArenaDimensions()[0] - 1 && bestDirection == 90) {
-            bestDirection = 180; // Evita a borda direita, indo para baixo
-        } else if (headPosition.getY() == 0 && bestDirection == 0) {
-            bestDirection = 270; // Evita a borda superior, indo para a esquerda
-        } else if (headPosition.getY() == arena.getArenaDimensions()[1] - 1 && bestDirection == 180) {
-            bestDirection = 90; // Evita a borda inferior, indo para a direita
+        Snake snake = arena.getS();
+        reachability.update(snake, obstaculos);
+        int comida = foodCell();
+        int bestDirection = comida == -1 ? -1 : pathfinder.findPath(snake, obstaculos, comida);
+        if (bestDirection == -1 || !reachability.isSafe(bestDirection)) {
+            bestDirection = reachability.safestDirection();
         }
-    
-        return bestDirection;
-    }
-    
-    // Método para verificar colisão em uma direção específica
-    private boolean isCollision(Ponto headPosition, int direction) {
-        // Calcula a próxima posição da cabeça da cobra na direção especificada
-        Ponto nextPosition = calculateNextPosition(headPosition, direction);
-        // Verifica se a próxima posição é uma colisão (com obstáculos ou com a própria cobra)
-        return isObstacle(nextPosition) || isSnakeCollision(nextPosition);
+        // Sem nenhum passo seguro, mantém a direção atual
+        return bestDirection == -1 ? currentDirection : bestDirection;
     }
 
-    // Método para calcular a próxima posição da cabeça da cobra em uma direção específica
-    private Ponto calculateNextPosition(Ponto currentPosition, int direction) {
-        switch (direction) {
-            case 0: // Cima
-                return new Ponto(currentPosition.getX(), currentPosition.getY() - 1);
-            case 90: // Direita
-                return new Ponto(currentPosition.getX() + 1, currentPosition.getY());
-            case 180: // Baixo
-                return new Ponto(currentPosition.getX(), currentPosition.getY() + 1);
-            case 270: // Esquerda
-                return new Ponto(currentPosition.getX() - 1, currentPosition.getY());
-            default:
-                return currentPosition;
+    /**
+     * Obtém a célula da comida na grelha da arena.
+     * 
+     * @return A célula compactada da comida, ou -1 se não houver comida.
+     */
+    protected int foodCell() {
+        AbstractFood<?> fruit = arena.getFruit();
+        if (fruit == null) {
+            return -1;
         }
-    }
-
-    // Método para verificar se uma posição contém um obstáculo
-    private boolean isObstacle(Ponto position) {
-        // Implemente a lógica para verificar se a posição contém um obstáculo
-        return false; // Exemplo: sempre retorna falso por enquanto
-    }
-
-    // Método para verificar se uma posição está em colisão com a própria cobra
-    private boolean isSnakeCollision(Ponto position) {
-        // Implemente a lógica para verificar se a posição está em colisão com a própria cobra
-        return false; // Exemplo: sempre retorna falso por enquanto
+        if (fruit.getCell() != -1) {
+            return fruit.getCell();
+        }
+        // Comida fora das células livres: usa a célula da sua posição
+        Ponto posicao = fruit.getShape().getPosition();
+        int lado = arena.getHeadDimensions();
+        return Snake.pack((int) Math.floor(posicao.getX() / lado), (int) Math.floor(posicao.getY() / lado));
     }
 
     /**
@@ -155,4 +128,16 @@ public class AutomaticMovementStrategy implements MovementStrategy {
     public void move() {
         arena.Frame();
     }
+
+    @Override
+    public int nextDirection(int currentDirection) {
+        return calculateBestDirection(currentDirection);
+    }
+
+    @Override
+    public void stop() {
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
 }
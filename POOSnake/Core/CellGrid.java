@@ -0,0 +1,186 @@
+package Core;
+
+import java.util.Arrays;
+
+/**
+ * Grelha de células da rasterização, guardada num único array de bytes.
+ *
+ * Cada célula ocupa um byte com o ordinal do seu {@link Cell}, e as células
+ * estão guardadas linha a linha ({@code y * width + x}), de forma que um
+ * segmento horizontal é um intervalo contíguo do array. Em relação a uma
+ * matriz de referências, ocupa um oitavo da memória e percorre-se sem saltar
+ * entre arrays.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public final class CellGrid {
+    private static final Cell[] VALORES = Cell.values();
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * Construtor para criar uma grelha com todas as células vazias.
+     *
+     * @param width  O número de colunas (coordenada x).
+     * @param height O número de linhas (coordenada y).
+     */
+    public CellGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        fill(Cell.EMPTY);
+    }
+
+    /**
+     * Obtém o número de colunas da grelha.
+     *
+     * @return O número de colunas.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtém o número de linhas da grelha.
+     *
+     * @return O número de linhas.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Verifica se uma posição está dentro da grelha.
+     *
+     * @param x A coluna.
+     * @param y A linha.
+     * @return true se a posição estiver dentro da grelha, caso contrário false.
+     */
+    public boolean isInside(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Obtém a célula numa posição.
+     *
+     * @param x A coluna.
+     * @param y A linha.
+     * @return A célula nessa posição.
+     */
+    public Cell get(int x, int y) {
+        return VALORES[cells[y * width + x]];
+    }
+
+    /**
+     * Altera a célula numa posição.
+     *
+     * @param x    A coluna.
+     * @param y    A linha.
+     * @param cell A nova célula.
+     */
+    public void set(int x, int y, Cell cell) {
+        cells[y * width + x] = (byte) cell.ordinal();
+    }
+
+    /**
+     * Preenche a grelha inteira com uma célula.
+     *
+     * @param cell A célula a usar.
+     */
+    public void fill(Cell cell) {
+        Arrays.fill(cells, (byte) cell.ordinal());
+    }
+
+    /**
+     * Preenche um segmento horizontal de uma linha.
+     *
+     * @param y      A linha.
+     * @param xStart A primeira coluna do segmento.
+     * @param xEnd   A coluna seguinte à última do segmento.
+     * @param cell   A célula a usar.
+     */
+    public void fillSpan(int y, int xStart, int xEnd, Cell cell) {
+        Arrays.fill(cells, y * width + xStart, y * width + xEnd, (byte) cell.ordinal());
+    }
+
+    /**
+     * Copia todas as células de outra grelha com as mesmas dimensões.
+     *
+     * @param other A grelha de origem.
+     */
+    public void copyFrom(CellGrid other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("Grelhas com dimensões diferentes");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    }
+
+    /**
+     * Verifica se uma linha é igual à mesma linha de outra grelha com a mesma
+     * largura.
+     *
+     * @param other A outra grelha.
+     * @param y     A linha a comparar.
+     * @return true se as linhas forem iguais, caso contrário false.
+     */
+    public boolean rowEquals(CellGrid other, int y) {
+        int inicio = y * width;
+        return Arrays.equals(cells, inicio, inicio + width, other.cells, inicio, inicio + width);
+    }
+
+    /**
+     * Copia uma linha de outra grelha com a mesma largura.
+     *
+     * @param other A grelha de origem.
+     * @param y     A linha a copiar.
+     */
+    public void copyRow(CellGrid other, int y) {
+        System.arraycopy(other.cells, y * width, cells, y * width, width);
+    }
+
+    /**
+     * Copia os ordinais das células, linha a linha ({@code y * width + x}),
+     * para um array, sem passar pelo {@link Cell} de cada célula.
+     *
+     * @param destino Um array com pelo menos width * height posições.
+     */
+    public void copyTo(byte[] destino) {
+        System.arraycopy(cells, 0, destino, 0, cells.length);
+    }
+
+    /**
+     * Copia as células para uma matriz indexada por [x][y], o formato usado
+     * antes desta classe.
+     *
+     * @return Uma nova matriz com as células da grelha.
+     */
+    public Cell[][] toArray() {
+        Cell[][] grid = new Cell[width][height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                grid[x][y] = get(x, y);
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CellGrid)) {
+            return false;
+        }
+        CellGrid other = (CellGrid) obj;
+        return width == other.width && height == other.height && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(cells);
+    }
+}
@@ -0,0 +1,134 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.Cell;
+import Core.CellGrid;
+import Core.FilledRasterizationTextual;
+import Core.FoodType;
+import Core.Obstacle.ObstacleType;
+import UI.AnsiDiffRenderer;
+import UI.TextUI;
+
+public class AnsiDiffRendererTest {
+    private static final String LIMPAR_ECRA = "\u001b[H\u001b[2J";
+    // Cursor abaixo da grelha de 3 colunas e resto do ecrã limpo
+    private static final String FIM = "\u001b[4;1H\u001b[J";
+
+    private ByteArrayOutputStream out;
+    private AnsiDiffRenderer renderer;
+    private CellGrid grid;
+
+    @BeforeEach
+    public void setUp() {
+        out = new ByteArrayOutputStream();
+        renderer = new AnsiDiffRenderer(out);
+        // Cada coluna x é uma linha do terminal, com 12 células
+        grid = new CellGrid(3, 12);
+    }
+
+    /**
+     * Escreve um frame e devolve só os bytes desse frame.
+     */
+    private String frame() {
+        out.reset();
+        renderer.render(grid);
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static int posicionamentos(String frame) {
+        return frame.split("\u001b\\[\\d+;\\d+H", -1).length - 1;
+    }
+
+    @Test
+    public void testPrimeiroFrameLimpaOEcra() {
+        String primeiro = frame();
+        assertTrue(primeiro.startsWith(LIMPAR_ECRA));
+        assertTrue(primeiro.endsWith(FIM));
+        // As três linhas são escritas inteiras, cada uma num só segmento
+        assertEquals(3 + 1, posicionamentos(primeiro));
+        assertEquals(36, primeiro.chars().filter(c -> c == '.').count());
+    }
+
+    @Test
+    public void testFrameIgualSoEscreveOFim() {
+        frame();
+        assertEquals(FIM, frame());
+    }
+
+    @Test
+    public void testUmaCelulaAlterada() {
+        frame();
+        grid.set(1, 5, Cell.HEAD);
+        assertEquals("\u001b[2;11HH " + FIM, frame());
+    }
+
+    @Test
+    public void testAlteracoesProximasNumSoSegmento() {
+        frame();
+        grid.set(2, 2, Cell.FOOD);
+        grid.set(2, 4, Cell.FOOD);
+        // A célula igual entre as duas é reescrita em vez de mover o cursor
+        assertEquals("\u001b[3;5HF . F " + FIM, frame());
+
+        grid.set(2, 0, Cell.OBSTACLE);
+        grid.set(2, 11, Cell.OBSTACLE);
+        String afastadas = frame();
+        assertEquals(2 + 1, posicionamentos(afastadas));
+        assertEquals("\u001b[3;1HO \u001b[3;23HO " + FIM, afastadas);
+    }
+
+    @Test
+    public void testInvalidateRedesenhaTudo() {
+        frame();
+        renderer.invalidate();
+        String completo = frame();
+        assertTrue(completo.startsWith(LIMPAR_ECRA));
+        assertEquals(36, completo.chars().filter(c -> c == '.').count());
+        assertEquals(FIM, frame());
+    }
+
+    @Test
+    public void testMudancaDeDimensoes() {
+        frame();
+        grid = new CellGrid(2, 3000);
+        grid.set(1, 2999, Cell.HEAD);
+        String novo = frame();
+        assertTrue(novo.startsWith(LIMPAR_ECRA));
+        // O frame não cabe no buffer inicial de 4096 bytes
+        assertTrue(novo.length() > 4096);
+        assertTrue(novo.contains("H \u001b[3;1H\u001b[J"));
+    }
+
+    @Test
+    public void testTextUIInvalidate() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream ecra = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(ecra, true));
+        try {
+            Arena arena = new Arena(8, 8, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1, 5L);
+            TextUI ui = new TextUI(new FilledRasterizationTextual(arena));
+            ui.render();
+            ecra.reset();
+            ui.render();
+            String igual = new String(ecra.toByteArray(), StandardCharsets.ISO_8859_1);
+            assertFalse(igual.contains(LIMPAR_ECRA));
+
+            ecra.reset();
+            ui.invalidate();
+            ui.render();
+            String completo = new String(ecra.toByteArray(), StandardCharsets.ISO_8859_1);
+            assertTrue(completo.startsWith(LIMPAR_ECRA));
+        } finally {
+            System.setOut(original);
+        }
+    }
+}
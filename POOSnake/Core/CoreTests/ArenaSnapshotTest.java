@@ -0,0 +1,68 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.ArenaSnapshot;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GameOutcome;
+import Core.Snake;
+import Core.Obstacle.ObstacleType;
+
+public class ArenaSnapshotTest {
+
+    @Test
+    public void testPublishedOnEveryTick() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.C, 0, ObstacleType.S, null, 0, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(0);
+        arena.attachSnapshotReader();
+
+        ArenaSnapshot inicial = arena.getSnapshot();
+        assertNotNull(inicial);
+        assertEquals(0, inicial.getTick());
+        assertEquals(arena.getS().getHeadCell(), inicial.getHeadCell());
+
+        engine.step();
+        ArenaSnapshot seguinte = arena.getSnapshot();
+        assertNotSame(inicial, seguinte);
+        assertEquals(1, seguinte.getTick());
+        assertEquals(arena.getS().getHeadCell(), seguinte.getHeadCell());
+        assertEquals(GameOutcome.RUNNING, seguinte.getOutcome());
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedBySimulation() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.C, 2, ObstacleType.D, null, 90, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(0);
+        arena.attachSnapshotReader();
+
+        ArenaSnapshot inicial = arena.getSnapshot();
+        int cabeca = inicial.getHeadCell();
+        int versao = inicial.getObstacleVersion();
+        engine.stepN(3);
+
+        assertEquals(cabeca, inicial.getHeadCell());
+        assertEquals(versao, inicial.getObstacleVersion());
+        assertEquals(Snake.cellX(cabeca), Snake.cellX(inicial.getSnakeCell(0)));
+        assertThrows(UnsupportedOperationException.class, () -> inicial.getObstacles().clear());
+    }
+
+    @Test
+    public void testNotPublishedWithoutReaders() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.C, 0, ObstacleType.S, null, 0, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(0);
+        engine.stepN(2);
+        assertNull(arena.getSnapshot());
+
+        arena.attachSnapshotReader();
+        assertEquals(2, arena.getSnapshot().getTick());
+        engine.step();
+        assertEquals(3, arena.getSnapshot().getTick());
+    }
+}
@@ -0,0 +1,75 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Cell;
+import Core.CellGrid;
+
+public class CellGridTest {
+
+    @Test
+    public void testSetGet() {
+        CellGrid grid = new CellGrid(5, 3);
+        assertEquals(Cell.EMPTY, grid.get(4, 2));
+
+        grid.set(4, 2, Cell.HEAD);
+        grid.set(0, 1, Cell.OBSTACLE);
+        assertEquals(Cell.HEAD, grid.get(4, 2));
+        assertEquals(Cell.OBSTACLE, grid.get(0, 1));
+        assertEquals(Cell.EMPTY, grid.get(1, 0));
+        assertTrue(grid.isInside(4, 2));
+        assertFalse(grid.isInside(5, 0));
+    }
+
+    @Test
+    public void testFillSpanECopia() {
+        CellGrid grid = new CellGrid(6, 4);
+        grid.fillSpan(2, 1, 4, Cell.FOOD);
+        for (int x = 0; x < 6; x++) {
+            assertEquals(x >= 1 && x < 4 ? Cell.FOOD : Cell.EMPTY, grid.get(x, 2));
+        }
+        assertEquals(Cell.EMPTY, grid.get(2, 1));
+
+        CellGrid copia = new CellGrid(6, 4);
+        assertNotEquals(grid, copia);
+        copia.copyFrom(grid);
+        assertEquals(grid, copia);
+        assertThrows(IllegalArgumentException.class, () -> copia.copyFrom(new CellGrid(4, 6)));
+    }
+
+    @Test
+    public void testLinhas() {
+        CellGrid grid = new CellGrid(4, 3);
+        CellGrid outra = new CellGrid(4, 3);
+        grid.set(3, 1, Cell.FOOD);
+        assertTrue(grid.rowEquals(outra, 0));
+        assertFalse(grid.rowEquals(outra, 1));
+
+        outra.copyRow(grid, 1);
+        assertTrue(grid.rowEquals(outra, 1));
+        assertEquals(grid, outra);
+    }
+
+    @Test
+    public void testToArray() {
+        CellGrid grid = new CellGrid(3, 2);
+        grid.set(2, 1, Cell.TAIL);
+        Cell[][] matriz = grid.toArray();
+        assertEquals(3, matriz.length);
+        assertEquals(2, matriz[0].length);
+        assertEquals(Cell.TAIL, matriz[2][1]);
+        assertEquals(Cell.EMPTY, matriz[1][1]);
+    }
+
+    @Test
+    public void testCopyTo() {
+        CellGrid grid = new CellGrid(3, 2);
+        grid.set(2, 1, Cell.FOOD);
+        byte[] celulas = new byte[6];
+        grid.copyTo(celulas);
+        assertEquals(Cell.FOOD.ordinal(), celulas[1 * 3 + 2]);
+        assertEquals(Cell.EMPTY.ordinal(), celulas[2]);
+    }
+}
@@ -9,9 +9,11 @@ import java.util.Scanner;
 import org.junit.jupiter.api.Test;
 
 import Core.Arena;
+import Core.AutomaticMovementStrategy;
 import Core.Cell;
 import Core.FilledRasterizationTextual;
 import Core.FoodType;
+import Core.GameEngine;
 import Core.RasterizationType;
 import Geometry.Ponto;
 import Geometry.Square;
@@ -53,6 +55,28 @@ public class FilledRasterizationTest {
 
     }
 
+    @Test
+    public void testIncrementalRenderMatchesFullRender() {
+        for (FoodType foodType : new FoodType[] { FoodType.C, FoodType.S }) {
+            for (Core.Obstacle.ObstacleType obstacleType : Core.Obstacle.ObstacleType.values()) {
+                for (int jogo = 0; jogo < 10; jogo++) {
+                    Arena arena = new Arena(40, 40, 4, 3, foodType, 2, obstacleType, null, 90, 1);
+                    GameEngine engine = new GameEngine(arena, new AutomaticMovementStrategy(arena, false));
+                    FilledRasterizationTextual incremental = new FilledRasterizationTextual(arena);
+
+                    // O piloto automático pode jogar indefinidamente, por isso o jogo é limitado
+                    for (int tick = 0; tick < 300 && !engine.getOutcome().isOver(); tick++) {
+                        incremental.render();
+                        FilledRasterizationTextual completa = new FilledRasterizationTextual(arena);
+                        completa.render();
+                        assertEquals(completa.getCells(), incremental.getCells());
+                        engine.step();
+                    }
+                }
+            }
+        }
+    }
+
     private void assertObjectRenderedCorrectly(Square object, Cell[][] grid) {
         List<Ponto> vertices = object.getPontos();
         for (int i = 0; i < vertices.size(); i++) {
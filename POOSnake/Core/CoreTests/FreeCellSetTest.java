@@ -0,0 +1,67 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.FreeCellSet;
+import Core.OccupancyGrid;
+
+public class FreeCellSetTest {
+
+    @Test
+    public void testAddRemove() {
+        FreeCellSet livres = new FreeCellSet(4, 3);
+        assertTrue(livres.isEmpty());
+
+        livres.add(1, 2);
+        livres.add(3, 0);
+        livres.add(1, 2);
+        livres.add(7, 7);
+        assertEquals(2, livres.size());
+        assertTrue(livres.contains(1, 2));
+        assertTrue(livres.contains(3, 0));
+        assertFalse(livres.contains(0, 0));
+
+        livres.remove(1, 2);
+        livres.remove(1, 2);
+        assertEquals(1, livres.size());
+        assertFalse(livres.contains(1, 2));
+        assertTrue(livres.contains(3, 0));
+    }
+
+    @Test
+    public void testSyncEUpdate() {
+        OccupancyGrid cobra = new OccupancyGrid(new int[] { 30, 20 }, 10);
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 30, 20 }, 10);
+        cobra.set(0, 0);
+        obstaculos.set(2, 1);
+        FreeCellSet livres = new FreeCellSet(cobra.getCols(), cobra.getRows());
+        livres.sync(cobra, obstaculos);
+        assertEquals(4, livres.size());
+        assertFalse(livres.contains(0, 0));
+        assertFalse(livres.contains(2, 1));
+
+        cobra.clear(0, 0);
+        cobra.set(1, 0);
+        livres.update(0, 0, cobra, obstaculos);
+        livres.update(1, 0, cobra, obstaculos);
+        assertTrue(livres.contains(0, 0));
+        assertFalse(livres.contains(1, 0));
+        assertEquals(4, livres.size());
+    }
+
+    @Test
+    public void testRandomCell() {
+        FreeCellSet livres = new FreeCellSet(5, 5);
+        livres.add(2, 3);
+        for (int i = 0; i < 20; i++) {
+            int cell = livres.randomCell();
+            assertEquals(2, livres.cellX(cell));
+            assertEquals(3, livres.cellY(cell));
+        }
+
+        livres.remove(2, 3);
+        assertThrows(IllegalStateException.class, livres::randomCell);
+    }
+}
@@ -0,0 +1,124 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.AutomaticMovementStrategy;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GameOutcome;
+import Core.Obstacle;
+import Core.Obstacle.ObstacleType;
+import Core.Snake;
+import Geometry.Poligono;
+import Geometry.Ponto;
+import Geometry.Square;
+
+public class GameEngineTest {
+
+    @Test
+    public void testStepUntilOutOfArena() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(0);
+
+        GameOutcome outcome = engine.stepN(100);
+
+        assertEquals(GameOutcome.OUT_OF_ARENA, outcome);
+        assertTrue(engine.getTicks() <= 21);
+    }
+
+    @Test
+    public void testStepAfterGameOver() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(180);
+        engine.stepN(100);
+        long ticks = engine.getTicks();
+
+        assertTrue(engine.step().isOver());
+        assertEquals(ticks, engine.getTicks());
+    }
+
+    @Test
+    public void testSeveralGamesInSameJvm() {
+        for (int i = 0; i < 10; i++) {
+            Arena arena = new Arena(20, 20, 2, 1, FoodType.S, 2, ObstacleType.S, null, 0, 1);
+            GameEngine engine = new GameEngine(arena, new AutomaticMovementStrategy(arena, false));
+            engine.stepN(1000);
+            assertTrue(engine.getTicks() > 0);
+        }
+    }
+
+    @Test
+    public void testSetDirectionIgnoresReversal() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1);
+        GameEngine engine = new GameEngine(arena);
+        arena.getS().setDirection(0);
+
+        engine.setDirection(180);
+        assertEquals(0, arena.getS().getDirection());
+
+        engine.setDirection(90);
+        assertEquals(90, arena.getS().getDirection());
+    }
+
+    @Test
+    public void testSameSeedSameGame() {
+        for (ObstacleType tipo : ObstacleType.values()) {
+            Arena a = new Arena(30, 30, 1, 1, FoodType.C, 4, tipo, null, 90, 1, 1234L);
+            Arena b = new Arena(30, 30, 1, 1, FoodType.C, 4, tipo, null, 90, 1, 1234L);
+            GameEngine ea = new GameEngine(a, new AutomaticMovementStrategy(a, false));
+            GameEngine eb = new GameEngine(b, new AutomaticMovementStrategy(b, false));
+            assertEquals(1234L, a.getSeed());
+            for (int i = 0; i < 300 && !ea.getOutcome().isOver(); i++) {
+                assertArrayEquals(a.getS().toCellArray(), b.getS().toCellArray());
+                assertEquals(a.getFruit().getCell(), b.getFruit().getCell());
+                assertEquals(ea.step(), eb.step());
+            }
+            assertEquals(a.getPoints(), b.getPoints());
+            assertEquals(a.getOutcome(), b.getOutcome());
+        }
+    }
+
+    private static Square quadrado(int cx, int cy) {
+        List<Ponto> pontos = new ArrayList<>();
+        pontos.add(new Ponto(cx, cy));
+        pontos.add(new Ponto(cx + 1, cy));
+        pontos.add(new Ponto(cx + 1, cy + 1));
+        pontos.add(new Ponto(cx, cy + 1));
+        return new Square(pontos);
+    }
+
+    @Test
+    public void testCantoVazioDoTrianguloNaoTerminaOJogo() {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1, 3L);
+        LinkedList<Square> corpo = new LinkedList<>();
+        corpo.add(quadrado(9, 11));
+        corpo.add(quadrado(9, 12));
+        arena.getS().setSnake(corpo);
+        arena.getS().setDirection(270);
+        // Triângulo de (5, 5), (10, 5) e (5, 10): a caixa vai da coluna 5 à 9,
+        // mas as células acima da hipotenusa, como (9, 9), estão vazias
+        arena.getObstacles().add(new Obstacle(ObstacleType.D, new Poligono("3 5 5 10 5 5 10"), null));
+        // Com um ângulo de 0 a rotação mantém o triângulo e atualiza a grelha
+        arena.obstaclesmove();
+        assertFalse(arena.getObstacleGrid().get(9, 9));
+        assertTrue(arena.getObstacleGrid().get(9, 5));
+
+        GameEngine engine = new GameEngine(arena);
+        // A cabeça sobe pela coluna 9, de (9, 10) até (9, 6), dentro da caixa
+        for (int i = 0; i < 5; i++) {
+            assertEquals(GameOutcome.RUNNING, engine.step(), "tick " + i);
+        }
+        assertEquals(Snake.pack(9, 6), arena.getS().getHeadCell());
+        // A célula (9, 5) é atravessada pelo triângulo
+        assertEquals(GameOutcome.OBSTACLE_COLLISION, engine.step());
+    }
+}
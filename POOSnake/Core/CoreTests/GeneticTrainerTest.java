@@ -0,0 +1,105 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import Core.Arena;
+import Core.FoodType;
+import Core.GeneticTrainer;
+import Core.Obstacle.ObstacleType;
+
+public class GeneticTrainerTest {
+
+    @TempDir
+    Path pasta;
+
+    private static GeneticTrainer treino(int threads) {
+        return new GeneticTrainer(
+                semente -> new Arena(10, 10, 1, 1, FoodType.S, 1, ObstacleType.S, null, 0, 1, semente),
+                400, threads, 5, 4, 11);
+    }
+
+    @Test
+    public void testDeterministaEMonotono() {
+        try (GeneticTrainer a = treino(1); GeneticTrainer b = treino(4)) {
+            double anterior = Double.NEGATIVE_INFINITY;
+            for (int g = 0; g < 3; g++) {
+                double aptidaoA = a.evolve();
+                double aptidaoB = b.evolve();
+                assertEquals(aptidaoA, aptidaoB);
+                // A elite é mantida e os jogos são sempre os mesmos
+                assertTrue(aptidaoA >= anterior);
+                anterior = aptidaoA;
+            }
+            assertEquals(3, a.getGeneration());
+            assertArrayEquals(a.getBest(), b.getBest());
+            assertEquals(anterior, a.getBestFitness());
+        }
+    }
+
+    @Test
+    public void testPontoDeControloEExportacao() throws IOException {
+        Path checkpoint = pasta.resolve("checkpoint.txt");
+        Path best = pasta.resolve("best.txt");
+        try (GeneticTrainer treino = treino(2)) {
+            treino.evolve();
+            treino.writeCheckpoint(checkpoint);
+            treino.exportBest(best);
+            assertArrayEquals(treino.getBest(), GeneticTrainer.readGenome(best));
+
+            try (GeneticTrainer retomado = treino(2)) {
+                retomado.loadCheckpoint(checkpoint);
+                assertEquals(1, retomado.getGeneration());
+                assertEquals(treino.getBestFitness(), retomado.getBestFitness());
+                assertArrayEquals(treino.getBest(), retomado.getBest());
+                double[][] esperada = treino.getPopulation();
+                double[][] lida = retomado.getPopulation();
+                assertEquals(esperada.length, lida.length);
+                for (int i = 0; i < esperada.length; i++) {
+                    assertArrayEquals(esperada[i], lida[i]);
+                }
+                // As duas continuações avaliam e criam as mesmas gerações
+                assertEquals(treino.evolve(), retomado.evolve());
+                esperada = treino.getPopulation();
+                lida = retomado.getPopulation();
+                for (int i = 0; i < esperada.length; i++) {
+                    assertArrayEquals(esperada[i], lida[i]);
+                }
+            }
+        }
+        assertFalse(Files.exists(pasta.resolve("checkpoint.txt.tmp")));
+    }
+
+    @Test
+    public void testFicheirosInvalidos() throws IOException {
+        Path genoma = pasta.resolve("genoma.txt");
+        Files.writeString(genoma, "1.0\n2.0\n");
+        assertThrows(IOException.class, () -> GeneticTrainer.readGenome(genoma));
+        Files.writeString(genoma, "1.0\nabc\n3.0\n4.0\n");
+        assertThrows(IOException.class, () -> GeneticTrainer.readGenome(genoma));
+
+        Path checkpoint = pasta.resolve("checkpoint.txt");
+        Files.writeString(checkpoint, "generation 1\nbest 2.0 1 2 3 4\n2.0 1 2\n");
+        try (GeneticTrainer treino = treino(1)) {
+            assertThrows(IOException.class, () -> treino.loadCheckpoint(checkpoint));
+            assertEquals(0, treino.getGeneration());
+
+            // População demasiado pequena para a elite
+            Files.writeString(checkpoint, "generation 1\nbest 2.0 1 2 3 4\n2.0 1 2 3 4\n1.0 1 2 3 4\n");
+            IOException erro = assertThrows(IOException.class, () -> treino.loadCheckpoint(checkpoint));
+            assertTrue(erro.getMessage().contains("2 genomas"));
+            // Melhor genoma com pesos a menos
+            Files.writeString(checkpoint,
+                    "generation 1\nbest 2.0 1 2\n2.0 1 2 3 4\n1.0 1 2 3 4\n0.5 1 2 3 4\n");
+            assertThrows(IOException.class, () -> treino.loadCheckpoint(checkpoint));
+            assertEquals(0, treino.getGeneration());
+            assertEquals(5, treino.getPopulation().length);
+        }
+    }
+}
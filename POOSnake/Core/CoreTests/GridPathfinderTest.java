@@ -0,0 +1,92 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.AutomaticMovementStrategy;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GridPathfinder;
+import Core.OccupancyGrid;
+import Core.Snake;
+import Core.Obstacle.ObstacleType;
+import Geometry.Ponto;
+import Geometry.Square;
+
+public class GridPathfinderTest {
+
+    private static Square quadrado(int cx, int cy) {
+        List<Ponto> pontos = new ArrayList<>();
+        pontos.add(new Ponto(cx, cy));
+        pontos.add(new Ponto(cx + 1, cy));
+        pontos.add(new Ponto(cx + 1, cy + 1));
+        pontos.add(new Ponto(cx, cy + 1));
+        return new Square(pontos);
+    }
+
+    private static Snake cobra(int lado, int... celulas) {
+        Snake snake = new Snake(new int[] { lado, lado }, 1);
+        LinkedList<Square> corpo = new LinkedList<>();
+        for (int i = 0; i < celulas.length; i += 2) {
+            corpo.add(quadrado(celulas[i], celulas[i + 1]));
+        }
+        snake.setSnake(corpo);
+        return snake;
+    }
+
+    @Test
+    public void testContornaParede() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        for (int y = 0; y < 4; y++) {
+            obstaculos.set(1, y);
+        }
+        GridPathfinder pathfinder = new GridPathfinder(5, 5);
+
+        assertEquals(90, pathfinder.findPath(cobra(5, 0, 0), obstaculos, Snake.pack(4, 0)));
+        assertEquals(12, pathfinder.getPathLength());
+    }
+
+    @Test
+    public void testSemCaminho() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        obstaculos.set(3, 4);
+        obstaculos.set(4, 3);
+        GridPathfinder pathfinder = new GridPathfinder(5, 5);
+        Snake snake = cobra(5, 0, 0);
+
+        assertEquals(-1, pathfinder.findPath(snake, obstaculos, Snake.pack(4, 4)));
+        assertEquals(-1, pathfinder.getPathLength());
+    }
+
+    @Test
+    public void testCorpoLibertaCelulas() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        GridPathfinder pathfinder = new GridPathfinder(5, 5);
+        // Cabeça em (1, 1), a olhar para a cauda em (1, 0)
+        Snake snake = cobra(5, 1, 1, 2, 1, 2, 0, 1, 0);
+
+        // A cauda liberta a sua célula já no primeiro movimento
+        assertEquals(270, pathfinder.findPath(snake, obstaculos, Snake.pack(1, 0)));
+        assertEquals(1, pathfinder.getPathLength());
+        // O pescoço ainda está ocupado no primeiro passo, por isso o caminho
+        // dá a volta
+        assertNotEquals(0, pathfinder.findPath(snake, obstaculos, Snake.pack(3, 1)));
+        assertEquals(4, pathfinder.getPathLength());
+    }
+
+    @Test
+    public void testJogosAutomaticosSobrevivem() {
+        for (long semente = 0; semente < 10; semente++) {
+            Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 4, ObstacleType.S, null, 0, 1, semente);
+            GameEngine engine = new GameEngine(arena, new AutomaticMovementStrategy(arena, false));
+            engine.stepN(5000);
+            assertTrue(arena.getPoints() >= 10, "semente " + semente + ": " + arena.getPoints() + " pontos");
+        }
+    }
+}
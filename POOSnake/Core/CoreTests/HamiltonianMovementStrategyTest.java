@@ -0,0 +1,50 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GameOutcome;
+import Core.HamiltonianMovementStrategy;
+import Core.Obstacle.ObstacleType;
+
+public class HamiltonianMovementStrategyTest {
+
+    @Test
+    public void testEncheArena() {
+        int[][] dimensoes = { { 10, 10 }, { 9, 10 }, { 10, 9 }, { 2, 2 } };
+        for (int[] d : dimensoes) {
+            for (long semente = 0; semente < 3; semente++) {
+                Arena arena = new Arena(d[0], d[1], 1, 1, FoodType.C, 0, ObstacleType.S, null, 0, 1, semente);
+                GameEngine engine = new GameEngine(arena, new HamiltonianMovementStrategy(arena, false));
+
+                assertEquals(GameOutcome.BOARD_FULL, engine.stepN(100000), d[0] + "x" + d[1]);
+                assertEquals(d[0] * d[1], arena.getS().size());
+            }
+        }
+    }
+
+    @Test
+    public void testCabecaMaior() {
+        Arena arena = new Arena(40, 40, 4, 3, FoodType.S, 0, ObstacleType.S, null, 0, 1, 7L);
+        GameEngine engine = new GameEngine(arena, new HamiltonianMovementStrategy(arena, false));
+
+        assertEquals(GameOutcome.BOARD_FULL, engine.stepN(100000));
+        assertEquals(100, arena.getS().size());
+    }
+
+    @Test
+    public void testSemCicloUsaProcuraDeCaminhos() {
+        // Com as duas dimensões ímpares, ou com obstáculos, não há ciclo
+        Arena impar = new Arena(9, 9, 1, 1, FoodType.C, 0, ObstacleType.S, null, 0, 1, 1L);
+        Arena obstaculos = new Arena(10, 10, 1, 1, FoodType.C, 3, ObstacleType.S, null, 0, 1, 1L);
+        for (Arena arena : new Arena[] { impar, obstaculos }) {
+            GameEngine engine = new GameEngine(arena, new HamiltonianMovementStrategy(arena, false));
+            engine.stepN(10000);
+            assertTrue(arena.getPoints() > 0);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.HeuristicMovementStrategy;
+import Core.Obstacle.ObstacleType;
+
+public class HeuristicMovementStrategyTest {
+
+    @Test
+    public void testPesosInvalidos() {
+        Arena arena = new Arena(12, 12, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new HeuristicMovementStrategy(arena, false, new double[] { 1, 2 }));
+    }
+
+    @Test
+    public void testPesosCopiados() {
+        Arena arena = new Arena(12, 12, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1, 1);
+        double[] pesos = HeuristicMovementStrategy.defaultWeights();
+        HeuristicMovementStrategy estrategia = new HeuristicMovementStrategy(arena, false, pesos);
+        pesos[HeuristicMovementStrategy.FOOD_DISTANCE] = 99;
+        assertArrayEquals(HeuristicMovementStrategy.defaultWeights(), estrategia.getWeights());
+    }
+
+    @Test
+    public void testJogosComPesosPorOmissao() {
+        for (long semente = 0; semente < 5; semente++) {
+            Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 4, ObstacleType.S, null, 0, 1, semente);
+            GameEngine engine = new GameEngine(arena,
+                    new HeuristicMovementStrategy(arena, false, HeuristicMovementStrategy.defaultWeights()));
+            engine.stepN(5000);
+            assertTrue(arena.getPoints() >= 10, "semente " + semente + ": " + arena.getPoints() + " pontos");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testVazio() {
+        LatencyHistogram histograma = new LatencyHistogram();
+        assertEquals(0, histograma.getCount());
+        assertEquals(0, histograma.getPercentile(50));
+        assertEquals(0.0, histograma.getMean());
+    }
+
+    @Test
+    public void testValoresPequenosExatos() {
+        LatencyHistogram histograma = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histograma.record(i);
+        }
+        assertEquals(5, histograma.getPercentile(50));
+        assertEquals(10, histograma.getPercentile(100));
+        assertEquals(5.5, histograma.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testPrecisaoRelativa() {
+        LatencyHistogram histograma = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histograma.record(i * 1000);
+        }
+        long[] percentis = { 50, 90, 99 };
+        for (long p : percentis) {
+            long esperado = p * 1000 * 1000;
+            long obtido = histograma.getPercentile(p);
+            assertTrue(obtido >= esperado, "p" + p + ": " + obtido);
+            assertTrue(obtido <= esperado + esperado / 16, "p" + p + ": " + obtido);
+        }
+        assertEquals(100000L * 1000, histograma.getMax());
+        assertEquals(100000L * 1000, histograma.getPercentile(100));
+    }
+
+    @Test
+    public void testMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        LatencyHistogram juntos = new LatencyHistogram();
+        for (long i = 0; i < 5000; i++) {
+            a.record(i * 37);
+            juntos.record(i * 37);
+            b.record(i * 91 + 5);
+            juntos.record(i * 91 + 5);
+        }
+        a.merge(b);
+        assertEquals(juntos.getCount(), a.getCount());
+        assertEquals(juntos.getMax(), a.getMax());
+        assertEquals(juntos.getMean(), a.getMean(), 1e-9);
+        assertEquals(juntos.getPercentile(50), a.getPercentile(50));
+        assertEquals(juntos.getPercentile(99.9), a.getPercentile(99.9));
+    }
+}
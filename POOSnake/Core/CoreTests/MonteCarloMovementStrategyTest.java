@@ -0,0 +1,53 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GameOutcome;
+import Core.MonteCarloMovementStrategy;
+import Core.Obstacle.ObstacleType;
+
+public class MonteCarloMovementStrategyTest {
+
+    private static Arena arena(long semente) {
+        return new Arena(12, 12, 1, 1, FoodType.S, 2, ObstacleType.S, null, 0, 1, semente);
+    }
+
+    @Test
+    public void testDeterministaComUmaThread() {
+        Arena a = arena(3);
+        Arena b = arena(3);
+        GameEngine motorA = new GameEngine(a, new MonteCarloMovementStrategy(a, false, 60000, 1, 150));
+        GameEngine motorB = new GameEngine(b, new MonteCarloMovementStrategy(b, false, 60000, 1, 150));
+        motorA.stepN(150);
+        motorB.stepN(150);
+
+        assertEquals(a.getPoints(), b.getPoints());
+        assertEquals(motorA.getTicks(), motorB.getTicks());
+        assertArrayEquals(a.getS().toCellArray(), b.getS().toCellArray());
+    }
+
+    @Test
+    public void testJogosSobrevivem() {
+        for (long semente = 0; semente < 3; semente++) {
+            Arena arena = arena(semente);
+            GameEngine engine = new GameEngine(arena, new MonteCarloMovementStrategy(arena, false, 60000, 1, 200));
+            engine.stepN(400);
+            assertEquals(GameOutcome.RUNNING, arena.getOutcome(), "semente " + semente);
+            assertTrue(arena.getPoints() >= 10, "semente " + semente + ": " + arena.getPoints() + " pontos");
+        }
+    }
+
+    @Test
+    public void testParaleloComOrcamento() {
+        Arena arena = arena(5);
+        GameEngine engine = new GameEngine(arena, new MonteCarloMovementStrategy(arena, false, 2, 4, Integer.MAX_VALUE));
+        engine.stepN(100);
+        assertEquals(GameOutcome.RUNNING, arena.getOutcome());
+        assertTrue(arena.getPoints() > 0);
+    }
+}
@@ -0,0 +1,101 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.OccupancyGrid;
+import Geometry.Circle;
+import Geometry.Poligono;
+import Geometry.Ponto;
+
+public class OccupancyGridTest {
+
+    @Test
+    public void testSetAndClear() {
+        OccupancyGrid grid = new OccupancyGrid(new int[] { 100, 100 }, 10);
+
+        assertFalse(grid.get(3, 7));
+        grid.set(3, 7);
+        assertTrue(grid.get(3, 7));
+        assertFalse(grid.get(7, 3));
+        grid.clear(3, 7);
+        assertFalse(grid.get(3, 7));
+    }
+
+    @Test
+    public void testOutsideCellsAreFree() {
+        OccupancyGrid grid = new OccupancyGrid(new int[] { 100, 100 }, 10);
+
+        grid.set(-1, 0);
+        grid.set(10, 0);
+
+        assertFalse(grid.isInside(10, 0));
+        assertFalse(grid.get(-1, 0));
+        assertFalse(grid.get(10, 0));
+    }
+
+    @Test
+    public void testFillPolygon() {
+        OccupancyGrid grid = new OccupancyGrid(new int[] { 100, 100 }, 10);
+
+        // Quadrado desalinhado que cobre quatro células
+        grid.fill(new Poligono("4 15 15 25 15 25 25 15 25"));
+
+        assertTrue(grid.get(1, 1));
+        assertTrue(grid.get(2, 1));
+        assertTrue(grid.get(1, 2));
+        assertTrue(grid.get(2, 2));
+        assertFalse(grid.get(3, 2));
+        assertFalse(grid.get(0, 0));
+    }
+
+    @Test
+    public void testIntersectsShape() {
+        OccupancyGrid grid = new OccupancyGrid(new int[] { 100, 100 }, 10);
+        grid.set(5, 5);
+
+        assertTrue(grid.intersects(new Circle(new Ponto(55, 55), 6)));
+        assertFalse(grid.intersects(new Circle(new Ponto(35, 55), 6)));
+        // Um quadrado alinhado cobre apenas a sua célula
+        assertFalse(grid.intersects(new Poligono("4 40 50 50 50 50 60 40 60")));
+    }
+
+    @Test
+    public void testIntersectsGrid() {
+        OccupancyGrid a = new OccupancyGrid(new int[] { 100, 100 }, 10);
+        OccupancyGrid b = new OccupancyGrid(new int[] { 100, 100 }, 10);
+        a.set(9, 9);
+        b.set(0, 0);
+
+        assertFalse(a.intersects(b));
+        b.set(9, 9);
+        assertTrue(a.intersects(b));
+    }
+
+    @Test
+    public void testFillTrianguloSoCobreAsCelulasDoTriangulo() {
+        OccupancyGrid grid = new OccupancyGrid(new int[] { 100, 100 }, 10);
+        // Triângulo retângulo com a hipotenusa de (50, 0) a (0, 50)
+        grid.fill(new Poligono("3 0 0 50 0 0 50"));
+
+        assertTrue(grid.get(0, 0));
+        assertTrue(grid.get(4, 0));
+        assertTrue(grid.get(0, 4));
+        // A hipotenusa atravessa estas células
+        assertTrue(grid.get(2, 2));
+        assertTrue(grid.get(1, 3));
+        // O canto vazio da caixa envolvente fica livre
+        assertFalse(grid.get(4, 4));
+        assertFalse(grid.get(3, 3));
+        // A hipotenusa só toca o canto destas células
+        assertFalse(grid.get(4, 1));
+        assertFalse(grid.get(2, 3));
+
+        OccupancyGrid outra = new OccupancyGrid(new int[] { 100, 100 }, 10);
+        outra.set(4, 4);
+        assertFalse(outra.intersects(new Poligono("3 0 0 50 0 0 50")));
+        outra.set(2, 2);
+        assertTrue(outra.intersects(new Poligono("3 0 0 50 0 0 50")));
+    }
+}
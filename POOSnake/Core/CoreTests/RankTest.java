@@ -2,9 +2,16 @@ package Core.CoreTests;
 
 import Core.Player;
 import Core.Rank;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RankTest {
@@ -12,6 +19,9 @@ public class RankTest {
     private Player player1;
     private Player player2;
 
+    @TempDir
+    Path pasta;
+
     @BeforeEach
     public void setUp() {
         player1 = new Player("Alice", 100);
@@ -19,7 +29,13 @@ public class RankTest {
         ArrayList<Player> players = new ArrayList<>();
         players.add(player1);
         players.add(player2);
-        rank = new Rank(players, 0);
+        // Nunca o rank.txt verdadeiro, que o rank reescreve em segundo plano
+        rank = new Rank(players, 0, pasta.resolve("rank.txt"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rank.close();
     }
 
     @Test
@@ -35,4 +51,59 @@ public class RankTest {
         rank.updateRank(player1.getName(), newScore);
         assertEquals(newScore, player1.getScore());
    }
-}
\ No newline at end of file
+
+    @Test
+    public void testMelhorPontuacaoEOrdem() {
+        Rank r = new Rank(new ArrayList<>(), 3, pasta.resolve("rank.txt"));
+        r.updateRank("Ana", 10);
+        r.updateRank("Rui", 30);
+        r.updateRank("Eva", 20);
+        r.updateRank("Ana", 5);
+        assertEquals(10, r.getBestScore("Ana"));
+        r.updateRank("Ana", 40);
+        assertEquals(40, r.getBestScore("Ana"));
+        assertEquals(-1, r.getBestScore("Ze"));
+
+        List<Player> top = r.getTop(2);
+        assertEquals(2, top.size());
+        assertEquals("Ana", top.get(0).getName());
+        assertEquals("Rui", top.get(1).getName());
+        // Pedir mais lugares do que jogadores não falha
+        assertEquals(3, r.getTop(10).size());
+        r.close();
+    }
+
+    @Test
+    public void testEscritaEmSegundoPlano() throws IOException {
+        Path ficheiro = pasta.resolve("rank.txt");
+        Files.write(ficheiro, List.of("Rui, 30", "Ana, 10"));
+        Rank r = new Rank(null, 10, ficheiro);
+        assertEquals(30, r.getBestScore("Rui"));
+
+        r.updateRank("Eva", 20);
+        r.updateRank("Ana", 50);
+        r.flush();
+        assertEquals(List.of("Ana, 50", "Rui, 30", "Eva, 20"), Files.readAllLines(ficheiro));
+
+        // Sem alterações por escrever, o arquivo não é reescrito
+        Files.delete(ficheiro);
+        r.flush();
+        assertFalse(Files.exists(ficheiro));
+
+        r.updateRank("Rui", 60);
+        r.close();
+        Rank lido = new Rank(null, 10, ficheiro);
+        assertEquals(60, lido.getBestScore("Rui"));
+        assertEquals(50, lido.getBestScore("Ana"));
+        assertEquals(20, lido.getBestScore("Eva"));
+    }
+
+    @Test
+    public void testLeaderboardComMenosJogadores() {
+        Rank r = new Rank(new ArrayList<>(), 5, pasta.resolve("vazio.txt"));
+        r.printLeaderboard();
+        r.updateRank("Ana", 1);
+        assertEquals(1, r.getTop(5).size());
+        r.close();
+    }
+}
@@ -0,0 +1,119 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Core.OccupancyGrid;
+import Core.ReachabilityService;
+import Core.Snake;
+import Geometry.Ponto;
+import Geometry.Square;
+
+public class ReachabilityServiceTest {
+
+    private static Square quadrado(int cx, int cy) {
+        List<Ponto> pontos = new ArrayList<>();
+        pontos.add(new Ponto(cx, cy));
+        pontos.add(new Ponto(cx + 1, cy));
+        pontos.add(new Ponto(cx + 1, cy + 1));
+        pontos.add(new Ponto(cx, cy + 1));
+        return new Square(pontos);
+    }
+
+    private static Snake cobra(int lado, int... celulas) {
+        Snake snake = new Snake(new int[] { lado, lado }, 1);
+        LinkedList<Square> corpo = new LinkedList<>();
+        for (int i = 0; i < celulas.length; i += 2) {
+            corpo.add(quadrado(celulas[i], celulas[i + 1]));
+        }
+        snake.setSnake(corpo);
+        return snake;
+    }
+
+    @Test
+    public void testRegioesSeparadasPorParede() {
+        // Parede na coluna 2, com a cabeça em (2, 2) no único buraco
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        for (int y = 0; y < 5; y++) {
+            if (y != 2) {
+                obstaculos.set(2, y);
+            }
+        }
+        ReachabilityService reachability = new ReachabilityService(5, 5);
+        reachability.update(cobra(5, 2, 2), obstaculos);
+
+        // A cabeça de uma cobra de um quadrado é também a cauda e liga as
+        // duas metades
+        assertEquals(21, reachability.regionSize(0));
+        assertEquals(21, reachability.regionSize(180));
+        assertEquals(0, reachability.regionSize(90));
+        assertEquals(0, reachability.regionSize(270));
+        assertFalse(reachability.isSafe(90));
+    }
+
+    @Test
+    public void testBolsoSemCauda() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        obstaculos.set(0, 1);
+        // Corpo na linha 1 a fechar o bolso da linha 0; cabeça em (1, 1)
+        Snake snake = cobra(5, 1, 1, 2, 1, 3, 1, 4, 1, 4, 2, 3, 2, 2, 2, 1, 2, 0, 2, 0, 3);
+        ReachabilityService reachability = new ReachabilityService(5, 5);
+        reachability.update(snake, obstaculos);
+
+        // Para cima: o bolso tem 5 células, menos do que as 10 do corpo, e a
+        // cauda não é alcançável
+        assertEquals(5, reachability.regionSize(270));
+        assertFalse(reachability.reachesTail(270));
+        assertFalse(reachability.isSafe(270));
+        assertEquals(0, reachability.regionSize(180));
+        assertEquals(0, reachability.regionSize(90));
+        // Sem passos seguros, escolhe o único passo sem colisão imediata
+        assertEquals(270, reachability.safestDirection());
+    }
+
+    @Test
+    public void testSeguirCauda() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        // Cobra a fechar o bolso da linha 0 pela esquerda, com a cauda em (0, 1)
+        Snake snake = cobra(5, 1, 1, 2, 1, 3, 1, 4, 1, 4, 2, 3, 2, 2, 2, 1, 2, 0, 2, 0, 1);
+        ReachabilityService reachability = new ReachabilityService(5, 5);
+        reachability.update(snake, obstaculos);
+
+        // O bolso é pequeno, mas a cauda liberta (0, 1) e continua alcançável
+        assertTrue(reachability.regionSize(270) < snake.size());
+        assertTrue(reachability.reachesTail(270));
+        assertTrue(reachability.isSafe(270));
+        assertTrue(reachability.isSafe(180));
+        assertFalse(reachability.isSafe(90));
+    }
+
+    @Test
+    public void testDirecaoInvalida() {
+        ReachabilityService reachability = new ReachabilityService(5, 5);
+        reachability.update(cobra(5, 2, 2), new OccupancyGrid(new int[] { 5, 5 }, 1));
+        assertThrows(IllegalArgumentException.class, () -> reachability.regionSize(45));
+    }
+
+    @Test
+    public void testSemCaminhoParaAComida() {
+        // A comida em (4, 4) está fechada pelos obstáculos, como no teste do
+        // GridPathfinder; a alternativa é o passo com mais espaço
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 5, 5 }, 1);
+        obstaculos.set(3, 4);
+        obstaculos.set(4, 3);
+        ReachabilityService reachability = new ReachabilityService(5, 5);
+        Snake snake = cobra(5, 0, 0);
+        reachability.update(snake, obstaculos);
+
+        int direcao = reachability.safestDirection();
+        assertTrue(direcao == 0 || direcao == 90);
+        assertTrue(reachability.isSafe(direcao));
+        assertEquals(0, reachability.regionSize(180));
+        assertEquals(0, reachability.regionSize(270));
+    }
+}
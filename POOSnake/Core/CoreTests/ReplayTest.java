@@ -0,0 +1,119 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import Core.Arena;
+import Core.AutomaticMovementStrategy;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.Obstacle;
+import Core.ReplayPlayer;
+import Core.ReplayRecorder;
+import Core.Obstacle.ObstacleType;
+
+public class ReplayTest {
+
+    @TempDir
+    Path pasta;
+
+    /**
+     * Estado de um tick, para comparar o jogo gravado com a reprodução.
+     */
+    private static String estado(Arena arena) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Arrays.toString(arena.getS().toCellArray())).append(' ').append(arena.getFruit().getCell())
+                .append(' ').append(arena.getPoints()).append(' ').append(arena.getOutcome());
+        for (Obstacle obstacle : arena.getObstacles()) {
+            sb.append(' ').append(obstacle.getObstacle().getX(0)).append(',').append(obstacle.getObstacle().getY(0));
+        }
+        return sb.toString();
+    }
+
+    private List<String> gravar(Arena arena, Path ficheiro, int intervalo) throws IOException {
+        List<String> estados = new ArrayList<>();
+        GameEngine engine = new GameEngine(arena, new AutomaticMovementStrategy(arena, false));
+        try (ReplayRecorder recorder = new ReplayRecorder(ficheiro, arena, intervalo)) {
+            arena.setRecorder(recorder);
+            estados.add(estado(arena));
+            while (!engine.getOutcome().isOver() && engine.getTicks() < 400) {
+                engine.step();
+                estados.add(estado(arena));
+            }
+        }
+        return estados;
+    }
+
+    @Test
+    public void testPlaybackMatchesRecordedGame() throws IOException {
+        for (ObstacleType tipo : ObstacleType.values()) {
+            for (int jogo = 0; jogo < 5; jogo++) {
+                Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 3, tipo, null, 90, 1);
+                Path ficheiro = pasta.resolve("jogo" + tipo + jogo + ".bin");
+                List<String> estados = gravar(arena, ficheiro, 7);
+
+                try (ReplayPlayer player = new ReplayPlayer(ficheiro)) {
+                    assertEquals(estados.size() - 1, player.getLastTick());
+                    assertEquals(estados.get(0), estado(player.getArena()));
+                    for (int i = 1; i < estados.size(); i++) {
+                        player.step();
+                        assertEquals(estados.get(i), estado(player.getArena()), "tick " + i);
+                    }
+                    assertFalse(player.hasNext());
+                    assertEquals(arena.getOutcome(), player.getArena().getOutcome());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSeekUsesKeyframes() throws IOException {
+        Arena arena = new Arena(30, 30, 1, 1, FoodType.C, 2, ObstacleType.D, null, 90, 1);
+        Path ficheiro = pasta.resolve("seek.bin");
+        List<String> estados = gravar(arena, ficheiro, 5);
+
+        try (ReplayPlayer player = new ReplayPlayer(ficheiro)) {
+            assertEquals(arena.getSeed(), player.getSeed());
+            assertTrue(player.getKeyframeCount() >= 1 + (estados.size() - 1) / 5);
+            for (int tick = estados.size() - 1; tick >= 0; tick -= 3) {
+                assertEquals(estados.get(tick), estado(player.seek(tick)), "tick " + tick);
+                assertEquals(tick, player.getTick());
+            }
+            assertThrows(IllegalArgumentException.class, () -> player.seek(estados.size()));
+        }
+    }
+
+    @Test
+    public void testUnfinishedRecordingIsScanned() throws IOException {
+        Arena arena = new Arena(20, 20, 1, 1, FoodType.S, 0, ObstacleType.S, null, 0, 1);
+        Path ficheiro = pasta.resolve("completo.bin");
+        List<String> estados = gravar(arena, ficheiro, 4);
+
+        // Sem o rodapé, o índice tem de ser reconstruído percorrendo o ficheiro
+        byte[] bytes = Files.readAllBytes(ficheiro);
+        Path cortado = pasta.resolve("cortado.bin");
+        Files.write(cortado, Arrays.copyOf(bytes, bytes.length - 8));
+
+        try (ReplayPlayer player = new ReplayPlayer(cortado)) {
+            assertEquals(estados.size() - 1, player.getLastTick());
+            int ultimo = estados.size() - 1;
+            assertEquals(estados.get(ultimo), estado(player.seek(ultimo)));
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        Path ficheiro = pasta.resolve("invalido.bin");
+        Files.write(ficheiro, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IOException.class, () -> new ReplayPlayer(ficheiro));
+    }
+}
@@ -0,0 +1,88 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import Core.ScanlineFill;
+import Geometry.Poligono;
+import Geometry.Ponto;
+
+public class ScanlineFillTest {
+
+    private static final int LADO = 40;
+
+    /**
+     * Preenche um polígono numa grelha LADO x LADO.
+     */
+    private static boolean[][] preencher(ScanlineFill scanline, Poligono poligono) {
+        boolean[][] grelha = new boolean[LADO][LADO];
+        scanline.fill(poligono, LADO, LADO, (y, xStart, xEnd) -> {
+            for (int x = xStart; x < xEnd; x++) {
+                assertFalse(grelha[x][y]);
+                grelha[x][y] = true;
+            }
+        });
+        return grelha;
+    }
+
+    /**
+     * Teste de paridade do raio horizontal, pixel a pixel, dentro da caixa
+     * envolvente truncada do polígono.
+     */
+    private static boolean[][] porPixel(Poligono poligono) {
+        boolean[][] grelha = new boolean[LADO][LADO];
+        int n = poligono.numPontos();
+        int minX = (int) poligono.getCaixaEnvolvente().getMinX();
+        int minY = (int) poligono.getCaixaEnvolvente().getMinY();
+        int maxX = (int) poligono.getCaixaEnvolvente().getMaxX();
+        int maxY = (int) poligono.getCaixaEnvolvente().getMaxY();
+        for (int x = Math.max(0, minX); x < Math.min(LADO, maxX); x++) {
+            for (int y = Math.max(0, minY); y < Math.min(LADO, maxY); y++) {
+                int cruzamentos = 0;
+                for (int i = 0; i < n; i++) {
+                    int j = (i + 1) % n;
+                    if ((poligono.getY(i) > y) != (poligono.getY(j) > y) && x < (poligono.getX(j) - poligono.getX(i))
+                            * (y - poligono.getY(i)) / (poligono.getY(j) - poligono.getY(i)) + poligono.getX(i)) {
+                        cruzamentos++;
+                    }
+                }
+                grelha[x][y] = cruzamentos % 2 == 1;
+            }
+        }
+        return grelha;
+    }
+
+    @Test
+    public void testQuadrado() {
+        boolean[][] grelha = preencher(new ScanlineFill(), new Poligono("4 2 3 6 3 6 7 2 7"));
+        for (int x = 0; x < LADO; x++) {
+            for (int y = 0; y < LADO; y++) {
+                assertEquals(x >= 2 && x < 6 && y >= 3 && y < 7, grelha[x][y]);
+            }
+        }
+    }
+
+    @Test
+    public void testPoligonosRodadosIguaisAoTesteDePixel() {
+        ScanlineFill scanline = new ScanlineFill();
+        Poligono[] poligonos = { new Poligono("3 5 5 25 8 12 30"), new Poligono("4 8 8 20 8 20 14 8 14"),
+                new Poligono("5 10 4 30 10 26 30 12 26 4 16") };
+        for (Poligono poligono : poligonos) {
+            for (int angulo = 0; angulo < 360; angulo += 15) {
+                Poligono rodado = poligono.rotacionar(angulo, new Ponto(18, 18));
+                assertArrayEquals(porPixel(rodado), preencher(scanline, rodado));
+            }
+        }
+    }
+
+    @Test
+    public void testRecorteNaBorda() {
+        ScanlineFill scanline = new ScanlineFill();
+        Poligono poligono = new Poligono("4 30 30 50 30 50 50 30 50");
+        boolean[][] grelha = preencher(scanline, poligono);
+        assertTrue(grelha[LADO - 1][LADO - 1]);
+        assertTrue(grelha[30][30]);
+        assertFalse(grelha[29][30]);
+    }
+}
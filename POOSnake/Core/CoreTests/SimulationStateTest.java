@@ -0,0 +1,111 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Core.GameOutcome;
+import Core.OccupancyGrid;
+import Core.SimulationState;
+import Core.Snake;
+import Geometry.Ponto;
+import Geometry.Square;
+
+public class SimulationStateTest {
+
+    private static Square quadrado(int cx, int cy) {
+        List<Ponto> pontos = new ArrayList<>();
+        pontos.add(new Ponto(cx, cy));
+        pontos.add(new Ponto(cx + 1, cy));
+        pontos.add(new Ponto(cx + 1, cy + 1));
+        pontos.add(new Ponto(cx, cy + 1));
+        return new Square(pontos);
+    }
+
+    private static SimulationState estado(OccupancyGrid obstaculos, int comida, int... celulas) {
+        Snake snake = new Snake(new int[] { 6, 6 }, 1);
+        LinkedList<Square> corpo = new LinkedList<>();
+        for (int i = 0; i < celulas.length; i += 2) {
+            corpo.add(quadrado(celulas[i], celulas[i + 1]));
+        }
+        snake.setSnake(corpo);
+        SimulationState estado = new SimulationState(6, 6);
+        estado.load(snake, obstaculos, comida);
+        estado.setSeed(7);
+        return estado;
+    }
+
+    @Test
+    public void testMoveECresce() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 6, 6 }, 1);
+        SimulationState estado = estado(obstaculos, Snake.pack(3, 2), 1, 2, 0, 2);
+
+        assertEquals(GameOutcome.RUNNING, estado.step(0));
+        assertEquals(2 * 6 + 2, estado.getHeadIndex());
+        assertEquals(2, estado.getLength());
+        assertEquals(GameOutcome.RUNNING, estado.step(0));
+        assertEquals(3, estado.getLength());
+        assertEquals(1, estado.getFoodEaten());
+        int comida = estado.getFoodIndex();
+        assertTrue(comida >= 0 && comida != 2 * 6 + 3 && comida != 2 * 6 + 2 && comida != 2 * 6 + 1);
+    }
+
+    @Test
+    public void testColisoes() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 6, 6 }, 1);
+        obstaculos.set(2, 1);
+
+        SimulationState parede = estado(obstaculos, -1, 5, 0);
+        assertFalse(parede.isSafe(0));
+        assertEquals(GameOutcome.OUT_OF_ARENA, parede.step(0));
+
+        SimulationState obstaculo = estado(obstaculos, -1, 2, 2);
+        assertFalse(obstaculo.isSafe(3));
+        assertEquals(GameOutcome.OBSTACLE_COLLISION, obstaculo.step(3));
+
+        // Cabeça em (1, 3), com o pescoço à direita
+        SimulationState corpo = estado(obstaculos, -1, 1, 3, 2, 3, 2, 4);
+        assertFalse(corpo.isSafe(0));
+        assertEquals(GameOutcome.SELF_COLLISION, corpo.step(0));
+        // O estado terminado não muda
+        assertEquals(GameOutcome.SELF_COLLISION, corpo.step(2));
+    }
+
+    @Test
+    public void testCaudaLibertaCelula() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 6, 6 }, 1);
+        // Quadrado de 2x2: a cabeça pode entrar na célula da cauda
+        SimulationState estado = estado(obstaculos, -1, 1, 1, 2, 1, 2, 2, 1, 2);
+        assertTrue(estado.isSafe(1));
+        assertEquals(GameOutcome.RUNNING, estado.step(1));
+    }
+
+    @Test
+    public void testCopiaIndependente() {
+        OccupancyGrid obstaculos = new OccupancyGrid(new int[] { 6, 6 }, 1);
+        SimulationState original = estado(obstaculos, Snake.pack(4, 4), 1, 4, 0, 4);
+        SimulationState a = new SimulationState(6, 6);
+        SimulationState b = new SimulationState(6, 6);
+        a.copyFrom(original);
+        b.copyFrom(original);
+
+        int[] passos = { 0, 0, 0, 3, 3, 2, 2, 1 };
+        for (int d : passos) {
+            a.step(d);
+            b.step(d);
+        }
+        assertEquals(GameOutcome.RUNNING, a.getOutcome());
+        assertEquals(a.getHeadIndex(), b.getHeadIndex());
+        assertEquals(a.getFoodIndex(), b.getFoodIndex());
+        assertEquals(a.getLength(), b.getLength());
+        assertEquals(1, a.getFoodEaten());
+        // O original não foi alterado pelas cópias
+        assertEquals(4 * 6 + 1, original.getHeadIndex());
+        assertEquals(2, original.getLength());
+        assertEquals(0, original.getFoodEaten());
+    }
+}
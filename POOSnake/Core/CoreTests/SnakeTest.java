@@ -162,4 +162,27 @@ public class SnakeTest {
         assertTrue(snake.checkSnakeObstacleColision(snake, A));
 
     }
+
+    @Test
+    public void testLongSnakeMove() {
+        Snake snake = new Snake(new int[] { 100, 100 }, 1);
+        snake.setDirection(0);
+        int cabeca = snake.getHeadCell();
+
+        // Cresce para além da capacidade inicial do buffer circular
+        for (int i = 0; i < 40; i++) {
+            snake.move();
+            snake.grow();
+        }
+        assertEquals(41, snake.size());
+        assertEquals(Snake.cellX(cabeca) + 40, Snake.cellX(snake.getHeadCell()));
+        assertEquals(cabeca, snake.getTailCell());
+
+        // O corpo segue a cabeça, célula a célula
+        for (int i = 1; i < snake.size(); i++) {
+            assertEquals(Snake.cellX(snake.getCell(i - 1)) - 1, Snake.cellX(snake.getCell(i)));
+        }
+        assertEquals(snake.size() - 1, snake.getTailCoordinates().size());
+        assertFalse(snake.checkSnakeSelfCollision());
+    }
 }
@@ -0,0 +1,79 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.AutomaticMovementStrategy;
+import Core.FoodType;
+import Core.Tournament;
+import Core.TournamentResult;
+import Core.Obstacle.ObstacleType;
+
+public class TournamentTest {
+
+    private static Tournament torneio(int threads) {
+        return new Tournament(
+                semente -> new Arena(12, 12, 1, 1, FoodType.S, 2, ObstacleType.S, null, 0, 1, semente),
+                2000, threads);
+    }
+
+    private static TournamentResult correr(int threads) {
+        try (Tournament torneio = torneio(threads)) {
+            return torneio.run("automatic", arena -> new AutomaticMovementStrategy(arena, false), 100, 8);
+        }
+    }
+
+    @Test
+    public void testResultadosDeterministas() {
+        TournamentResult sequencial = correr(1);
+        TournamentResult paralelo = correr(4);
+
+        List<TournamentResult.Game> a = sequencial.getGames();
+        List<TournamentResult.Game> b = paralelo.getGames();
+        assertEquals(8, a.size());
+        assertEquals(8, b.size());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(100 + i, a.get(i).getSeed());
+            assertEquals(a.get(i).getSeed(), b.get(i).getSeed());
+            assertEquals(a.get(i).getScore(), b.get(i).getScore());
+            assertEquals(a.get(i).getLength(), b.get(i).getLength());
+            assertEquals(a.get(i).getTicks(), b.get(i).getTicks());
+            assertEquals(a.get(i).getOutcome(), b.get(i).getOutcome());
+        }
+    }
+
+    @Test
+    public void testUmaLatenciaPorTick() {
+        TournamentResult resultado = correr(2);
+        long ticks = 0;
+        for (TournamentResult.Game jogo : resultado.getGames()) {
+            assertTrue(jogo.getTicks() > 0);
+            assertTrue(jogo.getTicks() <= 2000);
+            ticks += jogo.getTicks();
+        }
+        assertEquals(ticks, resultado.getLatencies().getCount());
+        assertEquals(8, resultado.getOutcomeCounts().values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testRelatorios() throws IOException {
+        TournamentResult resultado = correr(2);
+        StringBuilder csv = new StringBuilder();
+        resultado.writeCsv(csv);
+        String[] linhas = csv.toString().split("\n");
+        assertEquals(8, linhas.length);
+        assertEquals(TournamentResult.csvHeader().split(",").length, linhas[0].split(",").length);
+        assertTrue(linhas[0].startsWith("automatic,100,"));
+
+        String json = resultado.toJson();
+        assertTrue(json.startsWith("{\"strategy\":\"automatic\""));
+        assertTrue(json.contains("\"games\":8"));
+        assertTrue(json.contains("\"p99\":"));
+        assertTrue(json.endsWith("}"));
+    }
+}
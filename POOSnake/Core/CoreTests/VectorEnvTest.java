@@ -0,0 +1,266 @@
+package Core.CoreTests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import Core.Arena;
+import Core.FoodType;
+import Core.GameEngine;
+import Core.GameOutcome;
+import Core.Obstacle.ObstacleType;
+import Core.SimulationState;
+import Core.Snake;
+import Core.VectorEnv;
+import Core.VectorEnv.ObservationMode;
+
+public class VectorEnvTest {
+
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    /**
+     * Procura uma célula com um valor na observação em grelha de um jogo.
+     */
+    private static int procurar(VectorEnv env, int jogo, byte valor) {
+        ByteBuffer buffer = env.buffer();
+        int inicio = env.observationOffset(jogo);
+        for (int i = 0; i < env.observationSize(); i++) {
+            if (buffer.get(inicio + i) == valor) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int contar(VectorEnv env, int jogo, byte valor) {
+        ByteBuffer buffer = env.buffer();
+        int inicio = env.observationOffset(jogo);
+        int total = 0;
+        for (int i = 0; i < env.observationSize(); i++) {
+            if (buffer.get(inicio + i) == valor) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Escolhe, a partir da observação, um passo livre que aproxima a cabeça
+     * da comida.
+     */
+    private static int guloso(VectorEnv env, int jogo) {
+        int cols = env.getCols();
+        int cabeca = procurar(env, jogo, VectorEnv.HEAD);
+        int comida = procurar(env, jogo, VectorEnv.FOOD);
+        int melhor = 0;
+        int melhorDistancia = Integer.MAX_VALUE;
+        for (int d = 0; d < 4; d++) {
+            int x = cabeca % cols + DX[d];
+            int y = cabeca / cols + DY[d];
+            if (x < 0 || y < 0 || x >= cols || y >= env.getRows()) {
+                continue;
+            }
+            byte valor = env.buffer().get(env.observationOffset(jogo) + y * cols + x);
+            if (valor != VectorEnv.EMPTY && valor != VectorEnv.FOOD) {
+                continue;
+            }
+            int distancia = Math.abs(x - comida % cols) + Math.abs(y - comida / cols);
+            if (distancia < melhorDistancia) {
+                melhorDistancia = distancia;
+                melhor = d;
+            }
+        }
+        return melhor;
+    }
+
+    @Test
+    public void testLayoutDoBuffer() {
+        VectorEnv env = new VectorEnv(5, 12, 10, 2, 1000, 1, ObservationMode.GRID, 0);
+        ByteBuffer buffer = env.buffer();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(ByteOrder.nativeOrder(), buffer.order());
+        assertEquals(0, env.rewardOffset());
+        assertEquals(20, env.doneOffset());
+        assertEquals(120, env.observationSize());
+        assertEquals(0, env.observationOffset(0) % 8);
+        assertTrue(env.observationOffset(0) >= env.doneOffset() + 5);
+        assertEquals(env.observationOffset(4) + 120, buffer.capacity());
+        for (int k = 0; k < 5; k++) {
+            assertEquals(1, contar(env, k, VectorEnv.HEAD));
+            assertEquals(1, contar(env, k, VectorEnv.FOOD));
+            assertTrue(contar(env, k, VectorEnv.OBSTACLE) > 0);
+            assertEquals(0, buffer.get(env.doneOffset() + k));
+        }
+    }
+
+    @Test
+    public void testDeterminista() {
+        VectorEnv a = new VectorEnv(4, 10, 10, 1, 200, 7, ObservationMode.GRID, 0);
+        VectorEnv b = new VectorEnv(4, 10, 10, 1, 200, 7, ObservationMode.GRID, 0);
+        int[] acoes = new int[4];
+        for (int passo = 0; passo < 300; passo++) {
+            for (int k = 0; k < 4; k++) {
+                acoes[k] = guloso(a, k);
+            }
+            a.step(acoes);
+            b.step(acoes);
+            assertEquals(a.buffer(), b.buffer(), "passo " + passo);
+        }
+    }
+
+    @Test
+    public void testRecompensasEFins() {
+        VectorEnv env = new VectorEnv(8, 10, 10, 1, 100000, 3, ObservationMode.GRID, 0);
+        int[] acoes = new int[8];
+        int comidas = 0;
+        for (int passo = 0; passo < 200; passo++) {
+            for (int k = 0; k < 8; k++) {
+                acoes[k] = guloso(env, k);
+            }
+            env.step(acoes);
+            for (int k = 0; k < 8; k++) {
+                float recompensa = env.buffer().getFloat(env.rewardOffset() + 4 * k);
+                if (recompensa == 1) {
+                    comidas++;
+                    assertTrue(env.getScore(k) > 0 || env.buffer().get(env.doneOffset() + k) != 0);
+                }
+            }
+        }
+        assertTrue(comidas >= 8 * 5, comidas + " comidas");
+    }
+
+    @Test
+    public void testColisaoComParedeRecomeca() {
+        VectorEnv env = new VectorEnv(1, 6, 6, 0, 1000, 5, ObservationMode.GRID, 0);
+        int[] acoes = { 0 };
+        // A andar sempre para a direita, a cobra sai da arena em no máximo 6 ticks
+        for (int passo = 0; passo < 6; passo++) {
+            env.step(acoes);
+            if (env.buffer().get(env.doneOffset()) != 0) {
+                assertEquals(VectorEnv.TERMINATED, env.buffer().get(env.doneOffset()));
+                assertEquals(-1f, env.buffer().getFloat(env.rewardOffset()));
+                assertEquals(0, env.getTicks(0));
+                assertEquals(1, contar(env, 0, VectorEnv.HEAD));
+                return;
+            }
+        }
+        fail("A cobra não saiu da arena");
+    }
+
+    @Test
+    public void testLimiteDeTicks() {
+        VectorEnv env = new VectorEnv(1, 6, 6, 0, 1, 5, ObservationMode.GRID, 0);
+        int cabeca = procurar(env, 0, VectorEnv.HEAD);
+        // Um passo para dentro da arena
+        int acao = cabeca % 6 < 3 ? 0 : 2;
+        env.step(new int[] { acao });
+        byte fim = env.buffer().get(env.doneOffset());
+        assertTrue(fim == VectorEnv.TRUNCATED || env.buffer().getFloat(env.rewardOffset()) == 1);
+        assertEquals(0, env.getTicks(0));
+    }
+
+    @Test
+    public void testRecorteCentradoNaCabeca() {
+        VectorEnv env = new VectorEnv(3, 10, 10, 1, 1000, 9, ObservationMode.CROP, 3);
+        assertEquals(49, env.observationSize());
+        for (int k = 0; k < 3; k++) {
+            assertEquals(VectorEnv.HEAD, env.buffer().get(env.observationOffset(k) + 24));
+            assertEquals(1, contar(env, k, VectorEnv.HEAD));
+        }
+        // Um recorte maior do que a arena tem sempre células de fora
+        VectorEnv grande = new VectorEnv(1, 4, 4, 0, 1000, 9, ObservationMode.CROP, 4);
+        assertEquals(81 - 16, contar(grande, 0, VectorEnv.OBSTACLE));
+        assertEquals(1, contar(grande, 0, VectorEnv.FOOD));
+    }
+
+    @Test
+    public void testAcoesInvalidas() {
+        VectorEnv env = new VectorEnv(2, 6, 6, 0, 1000, 5, ObservationMode.GRID, 0);
+        assertThrows(IllegalArgumentException.class, () -> env.step(new int[] { 0 }));
+        assertThrows(IllegalArgumentException.class, () -> env.step(new int[] { 0, 4 }));
+        assertEquals(0, env.getTicks(0));
+    }
+
+    /**
+     * Cria a arena do jogo atual de um ambiente, com a comida na mesma célula.
+     */
+    private static Arena arenaDoJogo(VectorEnv env) {
+        Arena arena = new Arena(env.getCols(), env.getRows(), 1, 1, FoodType.S, 2, ObstacleType.S, null, 0, 1,
+                env.getSeed(0));
+        int comida = procurar(env, 0, VectorEnv.FOOD);
+        arena.getFruit().placeAt(comida % env.getCols(), comida / env.getCols());
+        return arena;
+    }
+
+    @Test
+    public void testMesmasRegrasQueArenaESimulationState() {
+        int cols = 12;
+        VectorEnv env = new VectorEnv(1, cols, 10, 2, 100000, 11, ObservationMode.GRID, 0);
+        Arena arena = arenaDoJogo(env);
+        GameEngine engine = new GameEngine(arena);
+        SimulationState simulacao = new SimulationState(cols, 10);
+        simulacao.load(arena.getS(), arena.getObstacleGrid(), arena.getFruit().getCell());
+        int pontosAntes = 0;
+        Random aleatorio = new Random(5);
+        int fins = 0;
+        int comidas = 0;
+
+        for (int passo = 0; passo < 5000; passo++) {
+            String onde = "passo " + passo;
+            int inicial = procurar(env, 0, VectorEnv.HEAD);
+            assertEquals(Snake.pack(inicial % cols, inicial / cols), arena.getS().getHeadCell(), onde);
+            assertEquals(inicial, simulacao.getHeadIndex(), onde);
+
+            // Umas vezes ao acaso, para que também haja colisões
+            int acao = aleatorio.nextInt(20) == 0 ? aleatorio.nextInt(4) : guloso(env, 0);
+            arena.getS().setDirection(acao * 90);
+            GameOutcome outcome = engine.step();
+            GameOutcome simulado = simulacao.step(acao);
+            env.step(new int[] { acao });
+            float recompensa = env.buffer().getFloat(env.rewardOffset());
+            byte fim = env.buffer().get(env.doneOffset());
+
+            assertEquals(outcome, simulado, onde);
+            assertEquals(outcome.isOver(), fim != 0, onde);
+            if (outcome.isOver()) {
+                assertEquals(VectorEnv.TERMINATED, fim, onde);
+                assertEquals(outcome == GameOutcome.BOARD_FULL ? 1f : -1f, recompensa, onde);
+                fins++;
+                // O ambiente já recomeçou: a arena segue-o
+                arena = arenaDoJogo(env);
+                engine = new GameEngine(arena);
+                simulacao.load(arena.getS(), arena.getObstacleGrid(), arena.getFruit().getCell());
+                pontosAntes = 0;
+                continue;
+            }
+
+            int cabeca = arena.getS().getHeadCell();
+            int indice = Snake.cellY(cabeca) * cols + Snake.cellX(cabeca);
+            assertEquals(indice, procurar(env, 0, VectorEnv.HEAD), onde);
+            assertEquals(indice, simulacao.getHeadIndex(), onde);
+            assertEquals(arena.getS().size(), env.getLength(0), onde);
+            assertEquals(arena.getS().size(), simulacao.getLength(), onde);
+            assertEquals(arena.getPoints(), env.getScore(0), onde);
+            assertEquals(arena.getPoints(), pontosAntes + simulacao.getFoodEaten(), onde);
+            assertEquals(arena.getPoints() > pontosAntes ? 1f : 0f, recompensa, onde);
+
+            if (recompensa == 1) {
+                comidas++;
+                // Cada implementação sorteia a comida à sua maneira: todas
+                // passam a usar a do ambiente
+                int comida = procurar(env, 0, VectorEnv.FOOD);
+                arena.getFruit().placeAt(comida % cols, comida / cols);
+                pontosAntes = arena.getPoints();
+                simulacao.load(arena.getS(), arena.getObstacleGrid(), arena.getFruit().getCell());
+            }
+        }
+        assertTrue(fins > 0, "nenhum jogo terminou");
+        assertTrue(comidas > 0, "nenhuma comida apanhada");
+    }
+}
@@ -1,12 +1,9 @@
 package Core;
 
-import java.util.List;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 
+import Geometry.CaixaEnvolvente;
 import Geometry.Poligono;
-import Geometry.Ponto;
-import Geometry.Square;
 
 /**
  * Estratégia de rasterização preenchida para renderizar objetos na arena do
@@ -17,8 +14,40 @@ import Geometry.Square;
  */
 public class FilledRasterizationTextual implements RasterizationStrategy {
 
-    Cell[][] grid;
+    CellGrid grid;
     Arena arena;
+    // Camada de fundo com os obstáculos, redesenhada só quando estes rodam
+    private CellGrid fundo;
+    // Versão dos obstáculos desenhada no fundo (-1 obriga a um desenho completo)
+    private int versaoObstaculos = -1;
+    // Células da cobra pintadas no último frame, à resolução da cabeça
+    private OccupancyGrid pintadas;
+    // Células da cobra na fotografia a desenhar
+    private OccupancyGrid atuais;
+    // Fotografia da arena a desenhar neste frame
+    private ArenaSnapshot estado;
+    private int[] anteriores = new int[16];
+    private int numAnteriores;
+    private int cabecaAnterior;
+    private boolean cabecaAnteriorColidiu;
+    // Segmentos da comida pintados no último frame (linha, início, fim)
+    private int[] comidaAnterior = new int[48];
+    private int numComidaAnterior;
+    // Forma da comida e o polígono usado para a desenhar
+    private Shape formaComida;
+    private Poligono poligonoComida;
+    private final ScanlineFill scanline = new ScanlineFill();
+    private final ScanlineFill.SpanConsumer pintarObstaculo = (y, xStart, xEnd) -> fundo.fillSpan(y, xStart,
+            xEnd, Cell.OBSTACLE);
+    private final ScanlineFill.SpanConsumer pintarComida = (y, xStart, xEnd) -> {
+        if (numComidaAnterior + 3 > comidaAnterior.length) {
+            comidaAnterior = Arrays.copyOf(comidaAnterior, comidaAnterior.length * 2);
+        }
+        comidaAnterior[numComidaAnterior++] = y;
+        comidaAnterior[numComidaAnterior++] = xStart;
+        comidaAnterior[numComidaAnterior++] = xEnd;
+        grid.fillSpan(y, xStart, xEnd, Cell.FOOD);
+    };
 
     public Arena getArena() {
         return arena;
@@ -30,221 +59,193 @@ public class FilledRasterizationTextual implements RasterizationStrategy {
      * @param arena A arena em que os objetos serão renderizados.
      */
     public FilledRasterizationTextual(Arena arena) {
-        this.grid = new Cell[arena.getArenaDimensions()[0]][arena.getArenaDimensions()[1]];
+        this.grid = new CellGrid(arena.getArenaDimensions()[0], arena.getArenaDimensions()[1]);
+        this.fundo = new CellGrid(grid.getWidth(), grid.getHeight());
+        this.pintadas = new OccupancyGrid(arena.getArenaDimensions(), arena.getHeadDimensions());
+        this.atuais = new OccupancyGrid(arena.getArenaDimensions(), arena.getHeadDimensions());
         this.arena = arena;
-        initializeArena();
+        arena.attachSnapshotReader();
     }
 
+    /**
+     * Renderiza a arena de forma incremental: só são repintadas as células da
+     * cobra que mudaram desde o último frame e os pixels da comida. A arena só
+     * é redesenhada por completo quando os obstáculos são criados ou rodados.
+     * 
+     * Lê apenas a última fotografia publicada pela arena, pelo que pode correr
+     * numa thread diferente da simulação.
+     */
     @Override
     public void render() {
-        initializeArena();
-
-
-        List<Ponto> headPoints;
-        List<Ponto> foodPoints;
-        List<Ponto> cardinalPoints;
-
-        // Desenha a cabeça da cobra
-        headPoints=drawObject(arena.getS().getHead(), "HEAD");
-
-        // Desenha a cauda da cobra
-        LinkedList<Square> tail = arena.getS().getTailCoordinates();
-        for (Square square : tail) {
-            drawObject(square, "TAIL");
+        estado = arena.getSnapshot();
+        if (versaoObstaculos != estado.getObstacleVersion()) {
+            redesenharFundo();
         }
 
-        // Desenha os obstáculos
-        for (Obstacle obstacle : arena.getObstacles()) {
-            drawObject(obstacle.getObstacle(), "OBSTACLE");
+        // Repõe o fundo por baixo da comida anterior
+        for (int i = 0; i < numComidaAnterior; i += 3) {
+            int y = comidaAnterior[i];
+            for (int x = comidaAnterior[i + 1]; x < comidaAnterior[i + 2]; x++) {
+                grid.set(x, y, valorBase(x, y));
+            }
         }
+        numComidaAnterior = 0;
 
-        // Desenha a fruta
-        if (arena.getFruit() != null) {
-            Poligono a = new Poligono(arena.getFruit().getShape().getAllCoordinates());
-            foodPoints = drawObjectFood(a, "FOOD");
-        }else{foodPoints=null;}
-
-        cardinalPoints=findCommonPoints(headPoints, foodPoints);
+        atualizarCobra();
 
-        for (Ponto point : cardinalPoints) {
-            if (point.getX() >= 0 && point.getX() < grid.length &&
-                point.getY() >= 0 && point.getY() < grid[0].length) {
-                grid[(int)point.getX()][(int)point.getY()] = Cell.BOTH;
+        // Desenha a fruta
+        if (estado.getFood() != null) {
+            Shape shape = estado.getFood();
+            if (shape != formaComida) {
+                // A comida quadrada já é um polígono; o círculo é aproximado pelos seus pontos
+                poligonoComida = shape instanceof Poligono ? (Poligono) shape
+                        : new Poligono(shape.getAllCoordinates());
+                formaComida = shape;
+            }
+            if (dentroDaGrelha(poligonoComida.getCaixaEnvolvente())) {
+                scanline.fill(poligonoComida, grid.getWidth(), grid.getHeight(), pintarComida);
             }
         }
 
+        // Os pixels da comida dentro da cabeça ficam com ambos
+        int lado = estado.getHeadDimensions();
+        int cabeca = estado.getHeadCell();
+        int minX = Snake.cellX(cabeca) * lado;
+        int minY = Snake.cellY(cabeca) * lado;
+        if (minX + lado <= grid.getWidth() && minY + lado <= grid.getHeight()) {
+            for (int i = 0; i < numComidaAnterior; i += 3) {
+                int y = comidaAnterior[i];
+                if (y >= minY && y < minY + lado) {
+                    int xStart = Math.max(minX, comidaAnterior[i + 1]);
+                    int xEnd = Math.min(minX + lado, comidaAnterior[i + 2]);
+                    if (xStart < xEnd) {
+                        grid.fillSpan(y, xStart, xEnd, Cell.BOTH);
+                    }
+                }
+            }
+        }
     }
 
     /**
-     * Compara duas listas de pontos e retorna uma nova lista contendo apenas os pontos
-     * que são iguais em ambas as listas.
-     * 
-     * @param list1 A primeira lista de pontos.
-     * @param list2 A segunda lista de pontos.
-     * @return Uma nova lista contendo os pontos iguais nas duas listas.
+     * Redesenha os obstáculos na camada de fundo e copia-a para a grelha,
+     * esquecendo tudo o que foi pintado nos frames anteriores.
      */
-    private List<Ponto> findCommonPoints(List<Ponto> list1, List<Ponto> list2) {
-        List<Ponto> commonPoints = new ArrayList<>();
-        for (Ponto point1 : list1) {
-            for (Ponto point2 : list2) {
-                if (point1.equals(point2)) {
-                    commonPoints.add(point1);
-                    break;
-                }
+    private void redesenharFundo() {
+        fundo.fill(Cell.EMPTY);
+        for (Poligono obstaculo : estado.getObstacles()) {
+            if (dentroDaGrelha(obstaculo.getCaixaEnvolvente())) {
+                scanline.fill(obstaculo, fundo.getWidth(), fundo.getHeight(), pintarObstaculo);
             }
         }
-        return commonPoints;
+        grid.copyFrom(fundo);
+        pintadas.clearAll();
+        numAnteriores = 0;
+        numComidaAnterior = 0;
+        versaoObstaculos = estado.getObstacleVersion();
     }
 
     /**
-     * Desenha um objeto na grade da arena.
-     * 
-     * @param object   O objeto a ser desenhado.
-     * @param cellType O tipo de célula associado ao objeto.
+     * Repinta as células da cobra que mudaram desde o último frame: apaga as
+     * que a cobra deixou, pinta as novas e troca a cabeça anterior por cauda.
      */
-    private List<Ponto> drawObjectFood(Poligono object, String cellType) {
-        List<Ponto> filledCells = new ArrayList<>();
-        List<Ponto> vertices = object.getPontos();
-    
-        // Verifica se todos os pontos do objeto estão dentro dos limites do grid
-        if (checkIfWithinBounds(vertices)) {
-            // Encontra os limites do objeto
-            int minX = Integer.MAX_VALUE;
-            int minY = Integer.MAX_VALUE;
-            int maxX = Integer.MIN_VALUE;
-            int maxY = Integer.MIN_VALUE;
-            for (Ponto p : vertices) {
-                minX = (int) Math.min(minX, p.getX());
-                minY = (int) Math.min(minY, p.getY());
-                maxX = (int) Math.max(maxX, p.getX());
-                maxY = (int) Math.max(maxY, p.getY());
-            }
-    
-            // Para cada linha na faixa de Y
-            for (int y = minY; y <= maxY; y++) {
-                List<Integer> nodeX = new ArrayList<>();
-    
-                // Encontrar todas as interseções com as arestas do polígono
-                int numVertices = vertices.size();
-                for (int i = 0; i < numVertices; i++) {
-                    Ponto v1 = vertices.get(i);
-                    Ponto v2 = vertices.get((i + 1) % numVertices);
-    
-                    if ((v1.getY() < y && v2.getY() >= y) || (v2.getY() < y && v1.getY() >= y)) {
-                        if (v1.getY() != v2.getY()) {
-                            int x = (int) (v1.getX() + (y - v1.getY()) * (v2.getX() - v1.getX()) / (v2.getY() - v1.getY()));
-                            nodeX.add(x);
-                        }
-                    }
-                }
-    
-                // Ordenar os pontos de interseção
-                nodeX.sort(Integer::compare);
-    
-                // Preencher os pixels entre os pares de interseção
-                for (int i = 0; i < nodeX.size(); i += 2) {
-                    if (i + 1 < nodeX.size()) {
-                        int x1 = nodeX.get(i);
-                        int x2 = nodeX.get(i + 1);
-                        for (int x = x1; x <= x2; x++) {  // Inclusivo em x2
-                            if (x >= 0 && x < grid.length && y >= 0 && y < grid[0].length) {
-                                grid[x][y] = Cell.valueOf(cellType);
-                                filledCells.add(new Ponto(x, y));
-                            }
-                        }
-                    }
-                }
-            }
+    private void atualizarCobra() {
+        int tamanho = estado.getSnakeSize();
+        for (int i = 0; i < tamanho; i++) {
+            atuais.set(Snake.cellX(estado.getSnakeCell(i)), Snake.cellY(estado.getSnakeCell(i)));
         }
-        return filledCells;
-    }
-    
-    private List<Ponto> drawObject(Poligono object, String cellType) {
-        List<Ponto> filledCells = new ArrayList<>();
-        List<Ponto> vertices = object.getPontos();
-
-        // Verifica se todos os pontos do objeto estão dentro dos limites do grid
-        if (checkIfWithinBounds(vertices)) {
-            // Encontra os limites do objeto
-            int minX = Integer.MAX_VALUE;
-            int minY = Integer.MAX_VALUE;
-            int maxX = Integer.MIN_VALUE;
-            int maxY = Integer.MIN_VALUE;
-            for (Ponto p : vertices) {
-                minX = (int) Math.min(minX, p.getX());
-                minY = (int) Math.min(minY, p.getY());
-                maxX = (int) Math.max(maxX, p.getX());
-                maxY = (int) Math.max(maxY, p.getY());
+
+        // Apaga as células que deixaram de ser cobra
+        for (int i = 0; i < numAnteriores; i++) {
+            int cx = Snake.cellX(anteriores[i]);
+            int cy = Snake.cellY(anteriores[i]);
+            if (!atuais.get(cx, cy) && pintadas.get(cx, cy)) {
+                pintadas.clear(cx, cy);
+                pintarCelula(cx, cy, Cell.EMPTY);
             }
+        }
 
-            // Preenche as células dentro do polígono definido pelos vértices
-            for (int x = minX; x < maxX; x++) {
-                for (int y = minY; y < maxY; y++) {
-                    if (x >= 0 && x < grid.length && y >= 0 && y < grid[0].length &&
-                            isInsidePolygon(x, y, vertices)) {
-                        // Ajusta as coordenadas para o índice da matriz
-                        grid[x][y] = Cell.valueOf(cellType);
-                        filledCells.add(new Ponto(x, y));
-                    }
-                }
+        // Pinta as células novas da cauda
+        if (anteriores.length < tamanho) {
+            anteriores = new int[Integer.highestOneBit(tamanho) << 1];
+        }
+        for (int i = 1; i < tamanho; i++) {
+            int cell = estado.getSnakeCell(i);
+            int cx = Snake.cellX(cell);
+            int cy = Snake.cellY(cell);
+            if (!pintadas.get(cx, cy) || cell == cabecaAnterior) {
+                pintadas.set(cx, cy);
+                pintarCelula(cx, cy, Cell.TAIL);
             }
+            anteriores[i] = cell;
         }
-        return filledCells;
-    }
 
-    
+        // A cabeça é sempre repintada; numa colisão consigo própria fica a cauda
+        int cabeca = estado.getHeadCell();
+        pintadas.set(Snake.cellX(cabeca), Snake.cellY(cabeca));
+        pintarCelula(Snake.cellX(cabeca), Snake.cellY(cabeca), estado.isSelfCollision() ? Cell.TAIL : Cell.HEAD);
+        anteriores[0] = cabeca;
+        numAnteriores = tamanho;
+        cabecaAnterior = cabeca;
+        cabecaAnteriorColidiu = estado.isSelfCollision();
+
+        for (int i = 0; i < tamanho; i++) {
+            atuais.clear(Snake.cellX(estado.getSnakeCell(i)), Snake.cellY(estado.getSnakeCell(i)));
+        }
+    }
 
     /**
-     * Verifica se todos os pontos de um objeto estão dentro dos limites do grid.
+     * Pinta os pixels de uma célula da cobra, sem tapar os obstáculos.
      * 
-     * @param vertices Os vértices do objeto.
-     * @return true se todos os pontos estiverem dentro dos limites, caso contrário,
-     *         false.
+     * @param cx    A coluna da célula.
+     * @param cy    A linha da célula.
+     * @param valor O valor a pintar.
      */
-    private boolean checkIfWithinBounds(List<Ponto> vertices) {
-        for (Ponto p : vertices) {
-            if (p.getX() > grid.length || p.getY() > grid[0].length) {
-                return false;
+    private void pintarCelula(int cx, int cy, Cell valor) {
+        int lado = estado.getHeadDimensions();
+        int minX = Math.max(0, cx * lado);
+        int minY = Math.max(0, cy * lado);
+        int maxX = Math.min(grid.getWidth(), (cx + 1) * lado);
+        int maxY = Math.min(grid.getHeight(), (cy + 1) * lado);
+        for (int y = minY; y < maxY; y++) {
+            for (int x = minX; x < maxX; x++) {
+                grid.set(x, y, fundo.get(x, y) == Cell.OBSTACLE ? Cell.OBSTACLE : valor);
             }
         }
-        return true;
     }
 
     /**
-     * Verifica se um ponto está dentro de um polígono.
+     * Obtém o valor de um pixel sem a comida: obstáculo, cobra ou vazio.
      * 
-     * @param x        A coordenada x do ponto.
-     * @param y        A coordenada y do ponto.
-     * @param vertices Os vértices do polígono.
-     * @return true se o ponto estiver dentro do polígono, caso contrário, false.
+     * @param x A coordenada x do pixel.
+     * @param y A coordenada y do pixel.
+     * @return O valor do pixel.
      */
-    private boolean isInsidePolygon(int x, int y, List<Ponto> vertices) {
-        int intersectCount = 0;
-        int numVertices = vertices.size();
-        for (int i = 0; i < numVertices; i++) {
-            Ponto v1 = vertices.get(i);
-            Ponto v2 = vertices.get((i + 1) % numVertices);
-            if ((v1.getY() > y) != (v2.getY() > y) &&
-                    x < (v2.getX() - v1.getX()) * (y - v1.getY()) / (v2.getY() - v1.getY()) + v1.getX()) {
-                intersectCount++;
-            }
+    private Cell valorBase(int x, int y) {
+        if (fundo.get(x, y) == Cell.OBSTACLE) {
+            return Cell.OBSTACLE;
+        }
+        int lado = estado.getHeadDimensions();
+        int cx = x / lado;
+        int cy = y / lado;
+        if (!pintadas.get(cx, cy)) {
+            return Cell.EMPTY;
         }
-        return intersectCount % 2 == 1;
+        return Snake.pack(cx, cy) == cabecaAnterior && !cabecaAnteriorColidiu ? Cell.HEAD : Cell.TAIL;
     }
 
     /**
-     * Inicializa a grade da arena com células vazias.
+     * Verifica se uma caixa envolvente não ultrapassa a grelha pela direita nem
+     * por baixo; os objetos que a ultrapassam não são desenhados.
+     * 
+     * @param caixa A caixa envolvente do objeto.
+     * @return true se o objeto deve ser desenhado, caso contrário false.
      */
-    private void initializeArena() {
-        for (int i = 0; i < grid.length; i++) {
-            for (int j = 0; j < grid[i].length; j++) {
-                grid[i][j] = Cell.EMPTY;
-            }
-        }
+    private boolean dentroDaGrelha(CaixaEnvolvente caixa) {
+        return caixa.getMaxX() <= grid.getWidth() && caixa.getMaxY() <= grid.getHeight();
     }
 
     @Override
-    public Cell[][] getGrid() {
+    public CellGrid getCells() {
         return grid;
     }
 }
@@ -30,7 +30,6 @@ public class FoodCircle extends AbstractFood<Circle> {
         super(color, type, arena);
         this.diametro = diametro;
         spawnFood(arena);
-        System.out.println("FRUTA NO CENTRO - " + position);
     }
 
     /**
@@ -60,8 +59,8 @@ public class FoodCircle extends AbstractFood<Circle> {
         maxY -= maxJump; // Subtrai o salto máximo à posição máxima Y
 
         // Gera aleatoriamente uma posição dentro desses limites ajustados
-        int x = (int) (Math.random() * (maxX - minX + 1)) + minX; // Gera um valor aleatório para X dentro dos limites
-        int y = (int) (Math.random() * (maxY - minY + 1)) + minY; // Gera um valor aleatório para Y dentro dos limites
+        int x = (int) (arena.getRandom().nextDouble() * (maxX - minX + 1)) + minX; // Gera um valor aleatório para X dentro dos limites
+        int y = (int) (arena.getRandom().nextDouble() * (maxY - minY + 1)) + minY; // Gera um valor aleatório para Y dentro dos limites
         x += diametro;
         y += diametro;
 
@@ -70,40 +69,27 @@ public class FoodCircle extends AbstractFood<Circle> {
 
     @Override
     public void spawnFood(Arena arena) {
-        int maxTries = 10000;
-        int tries = 0;
-        int movementIncrement = arena.getHeadDimensions();
-        while (tries < maxTries) {
-            int x = (int) (Math.random() * (arena.getArenaDimensions()[0] - diametro)) + diametro/2;
-            int y = (int) (Math.random() * (arena.getArenaDimensions()[1] - diametro)) + diametro/2;
-            boolean reachableBySnake = (x % movementIncrement == 0) && (y % movementIncrement == 0);
-            boolean intersectsObstacle = false; // Flag para verificar interseção com obstáculo
-            x += diametro/2;
-            y += diametro/2;
-            if (reachableBySnake) {
-                Ponto a = new Ponto(x, y);
-                this.shape = new Circle(a, diametro);
-                this.position = a;
-
-                // Verificar se a comida não intersecta com nenhum obstáculo
-                for (Obstacle obstacle : arena.getObstacles()) {
-                    if (this.shape.intersect(obstacle.getObstacle())) {
-                        intersectsObstacle = true;
-                        break;
-                    }
-                }
-                if (!intersectsObstacle) {
-                    return;
-                }
-            }
-            tries++;
-
+        FreeCellSet freeCells = arena.getFreeCells();
+        if (freeCells == null || freeCells.isEmpty()) {
+            // Sem células livres, gera uma posição aleatória
+            this.cell = -1;
+            this.position = generatePosition(arena.getHeadDimensions());
+            this.shape = new Circle(position, diametro);
+            return;
         }
+        int sorteada = freeCells.randomCell(arena.getRandom());
+        placeAt(freeCells.cellX(sorteada), freeCells.cellY(sorteada));
+    }
 
-        // Se não encontrar uma posição válida, gerar uma posição aleatória fora dos
-        // obstáculos
-        this.position = generatePosition(arena.getHeadDimensions());
+    @Override
+    public void placeAt(int cx, int cy) {
+        // O círculo fica centrado na célula
+        int headSize = arena.getHeadDimensions();
+        int x = cx * headSize + headSize / 2;
+        int y = cy * headSize + headSize / 2;
+        this.position = new Ponto(x, y);
         this.shape = new Circle(position, diametro);
+        this.cell = Snake.pack(cx, cy);
     }
 
     @Override
@@ -33,36 +33,29 @@ public class FoodSquare extends AbstractFood<Poligono> {
 
     @Override
     public void spawnFood(Arena arena) {
-        int maxTries = 10000;
-        int tries = 0;
-        int movementIncrement = arena.getHeadDimensions();
-        while (tries < maxTries) {
-            int x = (int) (Math.random() * (arena.getArenaDimensions()[0] - sideLength));
-            int y = (int) (Math.random() * (arena.getArenaDimensions()[1] - sideLength));
-            boolean reachableBySnake = (x % movementIncrement == 0) && (y % movementIncrement == 0);
-            boolean intersectsObstacle = false; // Flag para verificar interseção com obstáculo
-            if (reachableBySnake) {
-                List<Ponto> pontos = new ArrayList<>();
-                pontos.add(new Ponto(x, y));
-                pontos.add(new Ponto(x + sideLength, y));
-                pontos.add(new Ponto(x + sideLength, y + sideLength));
-                pontos.add(new Ponto(x, y + sideLength));
-                p = new Poligono(pontos);
-                // Verificar se a comida não intersecta com nenhum obstáculo
-                for (Obstacle obstacle : arena.getObstacles()) {
-                    if (p.intersect(obstacle.getObstacle())) {
-                        intersectsObstacle = true;
-                        break;
-                    }
-                }
-                if (!intersectsObstacle) {
-                    return;
-                }
-            }
-            tries++;
+        FreeCellSet freeCells = arena.getFreeCells();
+        if (freeCells == null || freeCells.isEmpty()) {
+            // Sem células livres, gera uma posição aleatória
+            this.cell = -1;
+            this.p = generatePosition(arena.getHeadDimensions());
+            return;
         }
-        // Se não encontrar uma posição válida, gera uma posição aleatória fora dos obstáculos
-        this.p = generatePosition(arena.getHeadDimensions());
+        int sorteada = freeCells.randomCell(arena.getRandom());
+        placeAt(freeCells.cellX(sorteada), freeCells.cellY(sorteada));
+    }
+
+    @Override
+    public void placeAt(int cx, int cy) {
+        // O quadrado fica no canto da célula, alinhado com a cobra
+        int x = cx * arena.getHeadDimensions();
+        int y = cy * arena.getHeadDimensions();
+        List<Ponto> pontos = new ArrayList<>();
+        pontos.add(new Ponto(x, y));
+        pontos.add(new Ponto(x + sideLength, y));
+        pontos.add(new Ponto(x + sideLength, y + sideLength));
+        pontos.add(new Ponto(x, y + sideLength));
+        p = new Poligono(pontos);
+        this.cell = Snake.pack(cx, cy);
     }
     
     @Override
@@ -87,8 +80,8 @@ public class FoodSquare extends AbstractFood<Poligono> {
         int maxX = arenaDimensions[0] - headSize;
         int minY = headSize;
         int maxY = arenaDimensions[1] - headSize;
-        int x = (int) (Math.random() * (maxX - minX + 1)) + minX;
-        int y = (int) (Math.random() * (maxY - minY + 1)) + minY;
+        int x = (int) (arena.getRandom().nextDouble() * (maxX - minX + 1)) + minX;
+        int y = (int) (arena.getRandom().nextDouble() * (maxY - minY + 1)) + minY;
         List<Ponto> pontos = new ArrayList<>();
         pontos.add(new Ponto(x, y));
         pontos.add(new Ponto(x + sideLength, y));
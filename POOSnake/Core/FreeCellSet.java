@@ -0,0 +1,213 @@
+package Core;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Conjunto das células livres da arena, à resolução da cabeça da cobra.
+ *
+ * As células livres estão guardadas de forma contígua num array denso, e um
+ * segundo array guarda a posição de cada célula nesse array (ou -1 se a célula
+ * estiver ocupada). Acrescentar, retirar e sortear uma célula são operações em
+ * O(1): ao retirar, a última célula do array denso ocupa o lugar da retirada.
+ *
+ * As células são identificadas pelo índice linear {@code cy * cols + cx}, o
+ * mesmo usado pela {@link OccupancyGrid}.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class FreeCellSet {
+    private final int cols;
+    private final int rows;
+    // Células livres, de forma contígua nas primeiras posições
+    private final int[] livres;
+    // Posição de cada célula em livres, ou -1 se a célula estiver ocupada
+    private final int[] posicao;
+    private int tamanho;
+
+    /**
+     * Construtor para criar um conjunto vazio (todas as células ocupadas).
+     *
+     * @param cols O número de colunas da arena.
+     * @param rows O número de linhas da arena.
+     */
+    public FreeCellSet(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        this.livres = new int[cols * rows];
+        this.posicao = new int[cols * rows];
+        Arrays.fill(posicao, -1);
+    }
+
+    /**
+     * Acrescenta uma célula ao conjunto. Células fora da arena ou já livres são
+     * ignoradas.
+     *
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     */
+    public void add(int cx, int cy) {
+        if (isInside(cx, cy)) {
+            adicionar(cy * cols + cx);
+        }
+    }
+
+    /**
+     * Retira uma célula do conjunto. Células fora da arena ou já ocupadas são
+     * ignoradas.
+     *
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     */
+    public void remove(int cx, int cy) {
+        if (isInside(cx, cy)) {
+            retirar(cy * cols + cx);
+        }
+    }
+
+    /**
+     * Verifica se uma célula está livre. Células fora da arena nunca estão.
+     *
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     * @return true se a célula estiver no conjunto, caso contrário false.
+     */
+    public boolean contains(int cx, int cy) {
+        return isInside(cx, cy) && posicao[cy * cols + cx] != -1;
+    }
+
+    /**
+     * Acerta o estado de uma célula com as grelhas de ocupação: a célula fica
+     * livre se não estiver ocupada em nenhuma delas.
+     *
+     * @param cx    A coluna da célula.
+     * @param cy    A linha da célula.
+     * @param grids As grelhas de ocupação (cobra, obstáculos).
+     */
+    public void update(int cx, int cy, OccupancyGrid... grids) {
+        for (OccupancyGrid grid : grids) {
+            if (grid.get(cx, cy)) {
+                remove(cx, cy);
+                return;
+            }
+        }
+        add(cx, cy);
+    }
+
+    /**
+     * Acerta o conjunto inteiro com as grelhas de ocupação, que devem ter as
+     * mesmas dimensões. As células cujo estado não mudou mantêm o seu lugar.
+     *
+     * @param grids As grelhas de ocupação (cobra, obstáculos).
+     */
+    public void sync(OccupancyGrid... grids) {
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < cols; cx++) {
+                update(cx, cy, grids);
+            }
+        }
+    }
+
+    /**
+     * Obtém o número de células livres.
+     *
+     * @return O número de células livres.
+     */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Verifica se não existe nenhuma célula livre (arena cheia).
+     *
+     * @return true se o conjunto estiver vazio, caso contrário false.
+     */
+    public boolean isEmpty() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Sorteia uma célula livre com probabilidade uniforme, usando o gerador da
+     * thread atual.
+     *
+     * @return O índice linear da célula sorteada.
+     * @throws IllegalStateException se não existir nenhuma célula livre.
+     */
+    public int randomCell() {
+        return randomCell(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Sorteia uma célula livre com probabilidade uniforme.
+     *
+     * @param random O gerador a usar.
+     * @return O índice linear da célula sorteada.
+     * @throws IllegalStateException se não existir nenhuma célula livre.
+     */
+    public int randomCell(RandomGenerator random) {
+        if (tamanho == 0) {
+            throw new IllegalStateException("Não existem células livres");
+        }
+        return livres[random.nextInt(tamanho)];
+    }
+
+    /**
+     * Obtém a coluna de uma célula dada pelo seu índice linear.
+     *
+     * @param cell O índice linear da célula.
+     * @return A coluna da célula.
+     */
+    public int cellX(int cell) {
+        return cell % cols;
+    }
+
+    /**
+     * Obtém a linha de uma célula dada pelo seu índice linear.
+     *
+     * @param cell O índice linear da célula.
+     * @return A linha da célula.
+     */
+    public int cellY(int cell) {
+        return cell / cols;
+    }
+
+    /**
+     * Verifica se uma célula está dentro dos limites da arena.
+     *
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     * @return true se a célula estiver dentro da arena, caso contrário false.
+     */
+    private boolean isInside(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows;
+    }
+
+    /**
+     * Acrescenta uma célula ao fim do array denso.
+     *
+     * @param i O índice linear da célula.
+     */
+    private void adicionar(int i) {
+        if (posicao[i] == -1) {
+            livres[tamanho] = i;
+            posicao[i] = tamanho++;
+        }
+    }
+
+    /**
+     * Retira uma célula, movendo a última célula livre para o seu lugar.
+     *
+     * @param i O índice linear da célula.
+     */
+    private void retirar(int i) {
+        int p = posicao[i];
+        if (p != -1) {
+            int ultima = livres[--tamanho];
+            livres[p] = ultima;
+            posicao[ultima] = p;
+            posicao[i] = -1;
+        }
+    }
+}
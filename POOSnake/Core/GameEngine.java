@@ -0,0 +1,122 @@
+package Core;
+
+/**
+ * Motor de simulação sem interface (headless) para o jogo POOSnake.
+ * 
+ * Cada chamada a {@link #step()} avança a arena exatamente um tick de duração
+ * fixa, sem temporizadores, sem escrever no ecrã e sem terminar a aplicação.
+ * Desta forma é possível correr vários jogos na mesma JVM, tão depressa quanto
+ * o processador permitir, por exemplo para avaliar estratégias automáticas.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class GameEngine {
+    private final Arena arena;
+    private final MovementStrategy movementStrategy;
+    private long ticks;
+
+    /**
+     * Construtor para um motor conduzido apenas por {@link #setDirection(int)}.
+     * 
+     * @param arena A arena a simular.
+     */
+    public GameEngine(Arena arena) {
+        this(arena, null);
+    }
+
+    /**
+     * Construtor para um motor em que a direção de cada tick é decidida por uma
+     * estratégia de movimento.
+     * 
+     * @param arena            A arena a simular.
+     * @param movementStrategy A estratégia que escolhe a direção em cada tick, ou
+     *                         null para manter a direção atual.
+     */
+    public GameEngine(Arena arena, MovementStrategy movementStrategy) {
+        this.arena = arena;
+        this.movementStrategy = movementStrategy;
+    }
+
+    /**
+     * Avança a simulação um tick.
+     * 
+     * @return O estado do jogo após o tick.
+     */
+    public GameOutcome step() {
+        if (arena.getOutcome().isOver()) {
+            return arena.getOutcome();
+        }
+        if (movementStrategy != null) {
+            Snake snake = arena.getS();
+            snake.setDirection(movementStrategy.nextDirection(snake.getDirection()));
+        }
+        ticks++;
+        return arena.tick();
+    }
+
+    /**
+     * Avança a simulação até n ticks, parando mais cedo se o jogo terminar.
+     * 
+     * @param n O número máximo de ticks a simular.
+     * @return O estado do jogo após o último tick simulado.
+     */
+    public GameOutcome stepN(int n) {
+        GameOutcome outcome = arena.getOutcome();
+        for (int i = 0; i < n && !outcome.isOver(); i++) {
+            outcome = step();
+        }
+        return outcome;
+    }
+
+    /**
+     * Define a direção da cobra para o próximo tick, ignorando inversões de 180
+     * graus, tal como no modo manual.
+     * 
+     * @param direction A nova direção em graus (0, 90, 180 ou 270).
+     */
+    public void setDirection(int direction) {
+        Snake snake = arena.getS();
+        int oldDirection = snake.getDirection();
+        if ((oldDirection % 360 == (direction + 180) % 360) || (direction % 360 == (oldDirection + 180) % 360)) {
+            return;
+        }
+        snake.setDirection(direction);
+    }
+
+    /**
+     * Obtém a arena simulada.
+     * 
+     * @return A arena.
+     */
+    public Arena getArena() {
+        return arena;
+    }
+
+    /**
+     * Obtém o número de ticks simulados por este motor.
+     * 
+     * @return O número de ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Obtém o estado atual do jogo.
+     * 
+     * @return O estado do jogo.
+     */
+    public GameOutcome getOutcome() {
+        return arena.getOutcome();
+    }
+
+    /**
+     * Obtém a pontuação atual do jogo.
+     * 
+     * @return A pontuação.
+     */
+    public int getScore() {
+        return arena.getPoints();
+    }
+}
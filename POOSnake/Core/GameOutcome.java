@@ -0,0 +1,46 @@
+package Core;
+
+/**
+ * Enumeração que representa o estado de um jogo após cada tick da simulação.
+ * 
+ * Substitui a terminação da aplicação no fim do jogo, permitindo que quem
+ * conduz a simulação decida o que fazer quando o jogo acaba.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public enum GameOutcome {
+    /**
+     * O jogo continua a decorrer.
+     */
+    RUNNING,
+
+    /**
+     * A cobra colidiu com um obstáculo.
+     */
+    OBSTACLE_COLLISION,
+
+    /**
+     * A cobra saiu dos limites da arena.
+     */
+    OUT_OF_ARENA,
+
+    /**
+     * A cobra colidiu com o próprio corpo.
+     */
+    SELF_COLLISION,
+
+    /**
+     * Não existe espaço livre para gerar comida (pontuação máxima atingida).
+     */
+    BOARD_FULL;
+
+    /**
+     * Verifica se o jogo terminou.
+     * 
+     * @return true se o jogo terminou, caso contrário false.
+     */
+    public boolean isOver() {
+        return this != RUNNING;
+    }
+}
@@ -0,0 +1,401 @@
+package Core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Treino dos pesos da {@link HeuristicMovementStrategy} com um algoritmo
+ * genético.
+ *
+ * Cada genoma é um vetor de pesos. Em cada geração, todos os genomas são
+ * avaliados num {@link Tournament} com os mesmos jogos (as mesmas sementes), e
+ * a aptidão é a pontuação média. Os jogos correm em paralelo e cada um tem a
+ * sua arena e a sua estratégia, com uma cópia dos pesos, pelo que não há
+ * estado partilhado entre jogos. A geração seguinte mantém os melhores genomas
+ * e completa-se com filhos de pais escolhidos por torneio, com cruzamento
+ * uniforme e mutação gaussiana.
+ *
+ * Depois de cada geração pode ser escrito um ponto de controlo, a partir do
+ * qual o treino pode continuar, e o melhor genoma pode ser exportado para ser
+ * lido com {@link #readGenome(Path)}.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class GeneticTrainer implements AutoCloseable {
+    // Genomas copiados sem alterações para a geração seguinte
+    private static final int ELITE = 2;
+    // Candidatos de cada torneio de seleção
+    private static final int TORNEIO = 3;
+    private static final double PROBABILIDADE_MUTACAO = 0.3;
+    private static final double DESVIO_MUTACAO = 0.25;
+
+    private final Tournament torneio;
+    private final int jogos;
+    private final long primeiraSemente;
+    // Gerador da geração atual, derivado da semente e do número da geração
+    private SplittableRandom random;
+    private double[][] populacao;
+    // Aptidão de cada genoma, ou NaN se ainda não foi avaliado
+    private double[] aptidao;
+    private int geracao;
+    private double[] melhor;
+    private double melhorAptidao = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Construtor do treino, com uma população inicial formada pelos pesos por
+     * omissão e por mutações deles.
+     *
+     * @param arenas         Cria a arena de um jogo a partir da sua semente.
+     * @param maxTicks       O número máximo de ticks de cada jogo.
+     * @param parallelism    O número de jogos a correr ao mesmo tempo.
+     * @param populationSize O número de genomas de cada geração.
+     * @param gamesPerGenome O número de jogos usados para avaliar cada genoma.
+     * @param seed           A semente do treino e do primeiro jogo.
+     */
+    public GeneticTrainer(LongFunction<Arena> arenas, int maxTicks, int parallelism, int populationSize,
+            int gamesPerGenome, long seed) {
+        if (populationSize <= ELITE) {
+            throw new IllegalArgumentException("A população deve ter mais de " + ELITE + " genomas");
+        }
+        this.torneio = new Tournament(arenas, maxTicks, parallelism);
+        this.jogos = gamesPerGenome;
+        this.primeiraSemente = seed;
+        this.random = new SplittableRandom(seed);
+        this.populacao = new double[populationSize][];
+        populacao[0] = HeuristicMovementStrategy.defaultWeights();
+        for (int i = 1; i < populationSize; i++) {
+            populacao[i] = mutar(HeuristicMovementStrategy.defaultWeights(), 1.0);
+        }
+        this.aptidao = new double[populationSize];
+        Arrays.fill(aptidao, Double.NaN);
+    }
+
+    /**
+     * Avalia a geração atual, se ainda não foi avaliada, e cria a seguinte.
+     *
+     * @return A melhor aptidão da geração avaliada.
+     */
+    public double evolve() {
+        avaliar();
+        double melhorGeracao = Double.NEGATIVE_INFINITY;
+        Integer[] ordem = new Integer[populacao.length];
+        for (int i = 0; i < ordem.length; i++) {
+            ordem[i] = i;
+            melhorGeracao = Math.max(melhorGeracao, aptidao[i]);
+        }
+        Arrays.sort(ordem, (a, b) -> Double.compare(aptidao[b], aptidao[a]));
+
+        // O gerador depende só da semente e da geração, para que um treino
+        // retomado de um ponto de controlo siga o mesmo caminho
+        random = geradorDaGeracao(geracao);
+        double[][] seguinte = new double[populacao.length][];
+        double[] aptidaoSeguinte = new double[populacao.length];
+        Arrays.fill(aptidaoSeguinte, Double.NaN);
+        for (int i = 0; i < ELITE; i++) {
+            // Os jogos são sempre os mesmos, por isso a aptidão da elite mantém-se
+            seguinte[i] = populacao[ordem[i]];
+            aptidaoSeguinte[i] = aptidao[ordem[i]];
+        }
+        for (int i = ELITE; i < seguinte.length; i++) {
+            double[] pai = populacao[selecionar()];
+            double[] mae = populacao[selecionar()];
+            double[] filho = new double[pai.length];
+            for (int k = 0; k < filho.length; k++) {
+                filho[k] = random.nextBoolean() ? pai[k] : mae[k];
+            }
+            seguinte[i] = mutar(filho, DESVIO_MUTACAO);
+        }
+        populacao = seguinte;
+        aptidao = aptidaoSeguinte;
+        geracao++;
+        return melhorGeracao;
+    }
+
+    private SplittableRandom geradorDaGeracao(int g) {
+        return new SplittableRandom(primeiraSemente + 0x9E3779B97F4A7C15L * (g + 1L));
+    }
+
+    /**
+     * Avalia os genomas ainda sem aptidão e atualiza o melhor genoma.
+     */
+    private void avaliar() {
+        for (int i = 0; i < populacao.length; i++) {
+            if (!Double.isNaN(aptidao[i])) {
+                continue;
+            }
+            double[] pesos = populacao[i];
+            TournamentResult resultado = torneio.run("genome-" + i,
+                    arena -> new HeuristicMovementStrategy(arena, false, pesos), primeiraSemente, jogos);
+            aptidao[i] = resultado.getMeanScore();
+            if (aptidao[i] > melhorAptidao) {
+                melhorAptidao = aptidao[i];
+                melhor = pesos.clone();
+            }
+        }
+    }
+
+    /**
+     * Escolhe um pai por torneio entre genomas sorteados.
+     *
+     * @return O índice do genoma escolhido.
+     */
+    private int selecionar() {
+        int escolhido = random.nextInt(populacao.length);
+        for (int i = 1; i < TORNEIO; i++) {
+            int candidato = random.nextInt(populacao.length);
+            if (aptidao[candidato] > aptidao[escolhido]) {
+                escolhido = candidato;
+            }
+        }
+        return escolhido;
+    }
+
+    /**
+     * Soma ruído gaussiano a alguns pesos de um genoma.
+     *
+     * @param genoma O genoma, alterado no próprio array.
+     * @param desvio O desvio padrão do ruído.
+     * @return O genoma.
+     */
+    private double[] mutar(double[] genoma, double desvio) {
+        for (int k = 0; k < genoma.length; k++) {
+            if (random.nextDouble() < PROBABILIDADE_MUTACAO) {
+                genoma[k] += desvio * random.nextGaussian();
+            }
+        }
+        return genoma;
+    }
+
+    /**
+     * Escreve o estado do treino: a geração, a melhor aptidão e o melhor
+     * genoma, e uma linha por genoma com a aptidão (NaN se não foi avaliado)
+     * e os pesos. O ficheiro é escrito ao lado e depois movido, para que um
+     * ponto de controlo interrompido não substitua o anterior.
+     *
+     * @param ficheiro O ficheiro de destino.
+     * @throws IOException Se não for possível escrever o ficheiro.
+     */
+    public void writeCheckpoint(Path ficheiro) throws IOException {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("generation " + geracao);
+        linhas.add("best " + formatar(melhorAptidao, melhor));
+        for (int i = 0; i < populacao.length; i++) {
+            linhas.add(formatar(aptidao[i], populacao[i]));
+        }
+        escrever(ficheiro, linhas);
+    }
+
+    /**
+     * Continua o treino a partir de um ponto de controlo escrito por
+     * {@link #writeCheckpoint(Path)}. A população do ficheiro substitui a
+     * atual; os jogos usados na avaliação continuam a ser os deste treino.
+     * Como os sorteios de cada geração dependem só da semente e do número da
+     * geração, um treino com a mesma semente continua exatamente como o
+     * treino que escreveu o ponto de controlo.
+     *
+     * @param ficheiro O ponto de controlo.
+     * @throws IOException Se não for possível ler o ficheiro ou se o formato
+     *                     for inválido.
+     */
+    public void loadCheckpoint(Path ficheiro) throws IOException {
+        List<String> linhas = Files.readAllLines(ficheiro);
+        if (linhas.size() < 3 || !linhas.get(0).startsWith("generation ") || !linhas.get(1).startsWith("best ")) {
+            throw new IOException("Ponto de controlo inválido: " + ficheiro);
+        }
+        try {
+            int novaGeracao = Integer.parseInt(linhas.get(0).substring("generation ".length()).trim());
+            double[] melhorLido = lerLinha(linhas.get(1).substring("best ".length()));
+            if (!Double.isInfinite(melhorLido[0]) && melhorLido.length != HeuristicMovementStrategy.WEIGHTS + 1) {
+                throw new IOException("Melhor genoma com " + (melhorLido.length - 1) + " pesos em vez de "
+                        + HeuristicMovementStrategy.WEIGHTS + ": " + ficheiro);
+            }
+            double[][] novaPopulacao = new double[linhas.size() - 2][];
+            if (novaPopulacao.length <= ELITE) {
+                throw new IOException("Ponto de controlo com " + novaPopulacao.length
+                        + " genomas; a população deve ter mais de " + ELITE + ": " + ficheiro);
+            }
+            double[] novaAptidao = new double[novaPopulacao.length];
+            for (int i = 0; i < novaPopulacao.length; i++) {
+                double[] valores = lerLinha(linhas.get(i + 2));
+                if (valores.length != HeuristicMovementStrategy.WEIGHTS + 1) {
+                    throw new IOException("Genoma com " + (valores.length - 1) + " pesos em vez de "
+                            + HeuristicMovementStrategy.WEIGHTS + " na linha " + (i + 3) + " de " + ficheiro);
+                }
+                novaAptidao[i] = valores[0];
+                novaPopulacao[i] = Arrays.copyOfRange(valores, 1, valores.length);
+            }
+            geracao = novaGeracao;
+            melhorAptidao = melhorLido[0];
+            melhor = Double.isInfinite(melhorAptidao) ? null : Arrays.copyOfRange(melhorLido, 1, melhorLido.length);
+            populacao = novaPopulacao;
+            aptidao = novaAptidao;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Ponto de controlo inválido: " + ficheiro, e);
+        }
+    }
+
+    /**
+     * Exporta os pesos do melhor genoma, um por linha.
+     *
+     * @param ficheiro O ficheiro de destino.
+     * @throws IOException Se não for possível escrever o ficheiro ou se ainda
+     *                     nenhum genoma foi avaliado.
+     */
+    public void exportBest(Path ficheiro) throws IOException {
+        if (melhor == null) {
+            throw new IOException("Nenhum genoma foi avaliado");
+        }
+        List<String> linhas = new ArrayList<>();
+        for (double peso : melhor) {
+            linhas.add(Double.toString(peso));
+        }
+        escrever(ficheiro, linhas);
+    }
+
+    /**
+     * Lê um genoma exportado por {@link #exportBest(Path)}.
+     *
+     * @param ficheiro O ficheiro.
+     * @return Os pesos.
+     * @throws IOException Se não for possível ler o ficheiro ou se o número de
+     *                     pesos não for {@link HeuristicMovementStrategy#WEIGHTS}.
+     */
+    public static double[] readGenome(Path ficheiro) throws IOException {
+        List<String> linhas = Files.readAllLines(ficheiro);
+        double[] pesos = new double[HeuristicMovementStrategy.WEIGHTS];
+        int n = 0;
+        for (String linha : linhas) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (n == pesos.length) {
+                throw new IOException("Genoma com pesos a mais: " + ficheiro);
+            }
+            try {
+                pesos[n++] = Double.parseDouble(linha.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Peso inválido em " + ficheiro + ": " + linha, e);
+            }
+        }
+        if (n != pesos.length) {
+            throw new IOException("Genoma com pesos a menos: " + ficheiro);
+        }
+        return pesos;
+    }
+
+    private static String formatar(double aptidao, double[] genoma) {
+        StringBuilder sb = new StringBuilder(Double.toString(aptidao));
+        if (genoma != null) {
+            for (double peso : genoma) {
+                sb.append(' ').append(peso);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double[] lerLinha(String linha) {
+        String[] partes = linha.trim().split("\\s+");
+        double[] valores = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Double.parseDouble(partes[i]);
+        }
+        return valores;
+    }
+
+    private static void escrever(Path ficheiro, List<String> linhas) throws IOException {
+        Path temporario = ficheiro.resolveSibling(ficheiro.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(temporario)) {
+            for (String linha : linhas) {
+                out.write(linha);
+                out.write('\n');
+            }
+        }
+        try {
+            Files.move(temporario, ficheiro, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario, ficheiro, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public int getGeneration() {
+        return geracao;
+    }
+
+    /**
+     * Obtém uma cópia do melhor genoma avaliado até agora.
+     *
+     * @return Os pesos, ou null se nenhum genoma foi avaliado.
+     */
+    public double[] getBest() {
+        return melhor == null ? null : melhor.clone();
+    }
+
+    public double getBestFitness() {
+        return melhorAptidao;
+    }
+
+    /**
+     * Obtém uma cópia da população atual.
+     *
+     * @return Os genomas.
+     */
+    public double[][] getPopulation() {
+        double[][] copia = new double[populacao.length][];
+        for (int i = 0; i < populacao.length; i++) {
+            copia[i] = populacao[i].clone();
+        }
+        return copia;
+    }
+
+    /**
+     * Termina as threads do torneio.
+     */
+    @Override
+    public void close() {
+        torneio.close();
+    }
+
+    /**
+     * Treina os pesos numa arena de 20x20 com 4 obstáculos estáticos.
+     *
+     * Argumentos (todos opcionais): número de gerações, tamanho da população,
+     * jogos por genoma, pasta de saída e ponto de controlo a continuar.
+     *
+     * @param args Os argumentos da linha de comandos.
+     * @throws IOException Se não for possível ler ou escrever os ficheiros.
+     */
+    public static void main(String[] args) throws IOException {
+        int geracoes = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int tamanho = args.length > 1 ? Integer.parseInt(args[1]) : 24;
+        int jogos = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        Path pasta = Paths.get(args.length > 3 ? args[3] : "training");
+        try (GeneticTrainer trainer = new GeneticTrainer(
+                semente -> new Arena(20, 20, 1, 1, FoodType.S, 4, Obstacle.ObstacleType.S, null, 0, 1, semente),
+                10000, Runtime.getRuntime().availableProcessors(), tamanho, jogos, 0)) {
+            if (args.length > 4) {
+                trainer.loadCheckpoint(Paths.get(args[4]));
+            }
+            Files.createDirectories(pasta);
+            for (int i = 0; i < geracoes; i++) {
+                double aptidao = trainer.evolve();
+                trainer.writeCheckpoint(pasta.resolve("checkpoint.txt"));
+                trainer.exportBest(pasta.resolve("best.txt"));
+                System.out.println(String.format(Locale.ROOT, "geração %d: %.2f (melhor %.2f) %s",
+                        trainer.getGeneration(), aptidao, trainer.getBestFitness(),
+                        Arrays.toString(trainer.getBest())));
+            }
+        }
+    }
+}
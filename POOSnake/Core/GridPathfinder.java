@@ -0,0 +1,227 @@
+package Core;
+
+/**
+ * Procura de caminhos (A*) na grelha da arena, à resolução da cabeça da cobra.
+ *
+ * Todos os arrays são criados uma única vez, com o tamanho da grelha, e
+ * reutilizados em cada procura: em vez de serem limpos, cada procura usa uma
+ * geração nova e só conta as marcas com essa geração. A fila de prioridade é
+ * um heap binário de longs com a prioridade nos 32 bits superiores e a célula
+ * nos inferiores. Assim, uma procura por tick não cria nenhum objeto.
+ *
+ * O corpo da cobra não é tratado como uma parede fixa: o quadrado de índice i
+ * (sendo 0 a cabeça) liberta a sua célula ao fim de tamanho - i movimentos, e
+ * por isso uma célula do corpo só é atravessada se o caminho lá chegar depois
+ * de ela ficar livre.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class GridPathfinder {
+    // Direções pela ordem usada nos arrays de deslocamento
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final int cols;
+    private final int rows;
+    private int geracao;
+
+    // Ticks até cada célula do corpo ficar livre, válidos se marcados na geração
+    private final int[] corpoGeracao;
+    private final int[] corpoLiberta;
+    // Custo conhecido e primeiro passo do melhor caminho até cada célula
+    private final int[] abertoGeracao;
+    private final int[] custo;
+    private final byte[] primeiroPasso;
+    // Células já expandidas
+    private final int[] fechadoGeracao;
+    // Fila de prioridade do A*
+    private final long[] heap;
+    private int heapSize;
+    private int comprimento = -1;
+
+    /**
+     * Construtor para uma grelha com as dimensões dadas.
+     *
+     * @param cols O número de colunas.
+     * @param rows O número de linhas.
+     */
+    public GridPathfinder(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        int n = cols * rows;
+        this.corpoGeracao = new int[n];
+        this.corpoLiberta = new int[n];
+        this.abertoGeracao = new int[n];
+        this.custo = new int[n];
+        this.primeiroPasso = new byte[n];
+        this.fechadoGeracao = new int[n];
+        // Cada célula entra no heap no máximo uma vez por vizinho
+        this.heap = new long[4 * n + 1];
+    }
+
+    /**
+     * Procura o caminho mais curto da cabeça da cobra até uma célula.
+     *
+     * @param snake      A cobra.
+     * @param obstaculos A grelha dos obstáculos.
+     * @param alvo       A célula de destino, compactada (ver
+     *                   {@link Snake#pack(int, int)}).
+     * @return A direção do primeiro passo do caminho (0, 90, 180 ou 270), ou -1
+     *         se não existir caminho.
+     */
+    public int findPath(Snake snake, OccupancyGrid obstaculos, int alvo) {
+        comprimento = -1;
+        int ax = Snake.cellX(alvo);
+        int ay = Snake.cellY(alvo);
+        if (!isInside(ax, ay) || obstaculos.get(ax, ay)) {
+            return -1;
+        }
+        marcarCorpo(snake);
+        int destino = ay * cols + ax;
+        int cabeca = snake.getHeadCell();
+        int hx = Snake.cellX(cabeca);
+        int hy = Snake.cellY(cabeca);
+        if (!isInside(hx, hy)) {
+            return -1;
+        }
+
+        heapSize = 0;
+        int inicio = hy * cols + hx;
+        abertoGeracao[inicio] = geracao;
+        custo[inicio] = 0;
+        push(distancia(hx, hy, ax, ay), inicio);
+        while (heapSize > 0) {
+            int atual = (int) pop();
+            if (fechadoGeracao[atual] == geracao) {
+                continue;
+            }
+            fechadoGeracao[atual] = geracao;
+            if (atual == destino) {
+                comprimento = custo[atual];
+                return DIRECOES[primeiroPasso[atual]];
+            }
+            int cx = atual % cols;
+            int cy = atual / cols;
+            int passo = custo[atual] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!isFree(nx, ny, passo, obstaculos)) {
+                    continue;
+                }
+                int vizinho = ny * cols + nx;
+                if (fechadoGeracao[vizinho] == geracao
+                        || (abertoGeracao[vizinho] == geracao && custo[vizinho] <= passo)) {
+                    continue;
+                }
+                abertoGeracao[vizinho] = geracao;
+                custo[vizinho] = passo;
+                primeiroPasso[vizinho] = atual == inicio ? (byte) d : primeiroPasso[atual];
+                push(passo + distancia(nx, ny, ax, ay), vizinho);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Começa uma geração nova e marca as células do corpo da cobra com o número
+     * de movimentos até ficarem livres.
+     *
+     * @param snake A cobra.
+     */
+    private void marcarCorpo(Snake snake) {
+        geracao++;
+        int tamanho = snake.size();
+        for (int i = 0; i < tamanho; i++) {
+            int cell = snake.getCell(i);
+            int cx = Snake.cellX(cell);
+            int cy = Snake.cellY(cell);
+            if (isInside(cx, cy)) {
+                int indice = cy * cols + cx;
+                corpoGeracao[indice] = geracao;
+                corpoLiberta[indice] = tamanho - i;
+            }
+        }
+    }
+
+    /**
+     * Verifica se a cabeça pode estar numa célula ao fim de um número de passos.
+     *
+     * @param cx         A coluna.
+     * @param cy         A linha.
+     * @param passo      O número de passos desde a posição atual.
+     * @param obstaculos A grelha dos obstáculos.
+     * @return true se a célula estiver livre nesse passo, caso contrário false.
+     */
+    private boolean isFree(int cx, int cy, int passo, OccupancyGrid obstaculos) {
+        if (!isInside(cx, cy) || obstaculos.get(cx, cy)) {
+            return false;
+        }
+        int indice = cy * cols + cx;
+        return corpoGeracao[indice] != geracao || corpoLiberta[indice] <= passo;
+    }
+
+    private boolean isInside(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows;
+    }
+
+    private static int distancia(int x1, int y1, int x2, int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
+    }
+
+    /**
+     * Acrescenta uma célula ao heap.
+     *
+     * @param prioridade A prioridade (custo mais estimativa).
+     * @param cell       O índice linear da célula.
+     */
+    private void push(int prioridade, int cell) {
+        long valor = ((long) prioridade << 32) | cell;
+        int i = heapSize++;
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (heap[pai] <= valor) {
+                break;
+            }
+            heap[i] = heap[pai];
+            i = pai;
+        }
+        heap[i] = valor;
+    }
+
+    /**
+     * Retira do heap a entrada com menor prioridade.
+     *
+     * @return A entrada retirada; a célula está nos 32 bits inferiores.
+     */
+    private long pop() {
+        long topo = heap[0];
+        long ultimo = heap[--heapSize];
+        int i = 0;
+        int metade = heapSize >>> 1;
+        while (i < metade) {
+            int filho = 2 * i + 1;
+            if (filho + 1 < heapSize && heap[filho + 1] < heap[filho]) {
+                filho++;
+            }
+            if (ultimo <= heap[filho]) {
+                break;
+            }
+            heap[i] = heap[filho];
+            i = filho;
+        }
+        heap[i] = ultimo;
+        return topo & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Obtém o número de passos do último caminho encontrado.
+     *
+     * @return O comprimento do caminho, ou -1 se a última procura falhou.
+     */
+    public int getPathLength() {
+        return comprimento;
+    }
+}
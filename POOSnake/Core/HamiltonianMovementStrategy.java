@@ -0,0 +1,164 @@
+package Core;
+
+/**
+ * Estratégia de movimento automático que segue um ciclo hamiltoniano da
+ * grelha da arena, à resolução da cabeça da cobra.
+ *
+ * O ciclo passa uma vez por cada célula, por isso seguir o ciclo nunca leva a
+ * uma colisão e permite encher a arena inteira. Para chegar mais depressa à
+ * comida, a cobra pode cortar caminho para uma célula vizinha mais à frente no
+ * ciclo, mas só se essa célula ficar antes da cauda na ordem do ciclo: o corpo
+ * continua ordenado da cauda para a cabeça e o ciclo à frente da cabeça
+ * continua livre. Os atalhos deixam de ser usados quando a cobra ocupa metade
+ * da arena.
+ *
+ * O ciclo é calculado uma única vez; cada decisão consulta apenas a cabeça, a
+ * cauda, a comida e os quatro vizinhos, em O(1). Se a grelha não tiver ciclo
+ * hamiltoniano (as duas dimensões ímpares) ou tiver obstáculos, usa a procura
+ * de caminhos da estratégia automática.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class HamiltonianMovementStrategy extends AutomaticMovementStrategy {
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final Arena arena;
+    private int cols;
+    private int rows;
+    // Posição de cada célula no ciclo, ou null se o ciclo não puder ser usado
+    private int[] ordem;
+    private boolean calculado;
+
+    /**
+     * Construtor para criar a estratégia, avançando o jogo com um temporizador.
+     *
+     * @param arena A arena em que a cobra está se movendo.
+     */
+    public HamiltonianMovementStrategy(Arena arena) {
+        this(arena, true);
+    }
+
+    /**
+     * Construtor para criar a estratégia.
+     *
+     * @param arena       A arena em que a cobra está se movendo.
+     * @param temporizada true para avançar o jogo com um temporizador; false
+     *                    quando o jogo é conduzido pelo {@link GameEngine}.
+     */
+    public HamiltonianMovementStrategy(Arena arena, boolean temporizada) {
+        super(arena, temporizada);
+        this.arena = arena;
+    }
+
+    /**
+     * Calcula o ciclo hamiltoniano da grelha: a coluna 0 fica reservada para o
+     * regresso e as restantes colunas são percorridas em serpentina, linha a
+     * linha. Se o número de linhas for ímpar, o mesmo é feito com as linhas e
+     * as colunas trocadas.
+     */
+    private void calcularCiclo() {
+        calculado = true;
+        OccupancyGrid obstaculos = arena.getObstacleGrid();
+        cols = obstaculos.getCols();
+        rows = obstaculos.getRows();
+        if (!arena.getObstacles().isEmpty() || cols < 2 || rows < 2 || (cols % 2 != 0 && rows % 2 != 0)) {
+            return;
+        }
+        boolean trocado = rows % 2 != 0;
+        // Dimensões do percurso: a linha de regresso tem "largura" células
+        int largura = trocado ? rows : cols;
+        int altura = trocado ? cols : rows;
+        ordem = new int[cols * rows];
+        int posicao = 0;
+        for (int b = 0; b < altura; b++) {
+            for (int i = 1; i < largura; i++) {
+                int a = b % 2 == 0 ? i : largura - i;
+                ordem[indice(a, b, trocado)] = posicao++;
+            }
+        }
+        for (int b = altura - 1; b >= 0; b--) {
+            ordem[indice(0, b, trocado)] = posicao++;
+        }
+    }
+
+    /**
+     * Converte coordenadas do percurso no índice linear da célula.
+     */
+    private int indice(int a, int b, boolean trocado) {
+        return trocado ? a * cols + b : b * cols + a;
+    }
+
+    /**
+     * Calcula a distância, no sentido do ciclo, entre duas células.
+     *
+     * @param de   O índice linear da célula de partida.
+     * @param para O índice linear da célula de chegada.
+     * @return O número de passos no ciclo.
+     */
+    private int distancia(int de, int para) {
+        int d = ordem[para] - ordem[de];
+        return d < 0 ? d + ordem.length : d;
+    }
+
+    private int indice(int cell) {
+        return Snake.cellY(cell) * cols + Snake.cellX(cell);
+    }
+
+    @Override
+    public int calculateBestDirection(int currentDirection) {
+        if (!calculado) {
+            calcularCiclo();
+        }
+        if (ordem == null) {
+            return super.calculateBestDirection(currentDirection);
+        }
+        Snake snake = arena.getS();
+        int cabeca = snake.getHeadCell();
+        int hx = Snake.cellX(cabeca);
+        int hy = Snake.cellY(cabeca);
+        if (hx < 0 || hy < 0 || hx >= cols || hy >= rows) {
+            return currentDirection;
+        }
+        int h = indice(cabeca);
+        int n = ordem.length;
+
+        // O avanço máximo no ciclo que não ultrapassa a cauda; com um só
+        // quadrado a cauda é a própria cabeça e não limita o avanço
+        int paraCauda = snake.size() > 1 ? distancia(h, indice(snake.getTailCell())) : n;
+        int limite = paraCauda - 1;
+        if (snake.size() * 2 > n) {
+            // Com a arena meio cheia, segue apenas o ciclo
+            limite = 1;
+        }
+        AbstractFood<?> fruit = arena.getFruit();
+        if (fruit != null && fruit.getCell() != -1) {
+            int paraComida = distancia(h, indice(fruit.getCell()));
+            if (paraComida > 0 && paraComida < limite) {
+                limite = paraComida;
+            }
+        }
+
+        int melhor = -1;
+        int melhorAvanco = 0;
+        OccupancyGrid corpo = snake.getOccupancy();
+        for (int d = 0; d < 4; d++) {
+            int nx = hx + DX[d];
+            int ny = hy + DY[d];
+            if (nx < 0 || ny < 0 || nx >= cols || ny >= rows) {
+                continue;
+            }
+            int vizinho = ny * cols + nx;
+            int avanco = distancia(h, vizinho);
+            // O passo seguinte do ciclo (avanço 1) é sempre permitido
+            if (avanco > melhorAvanco && (avanco <= limite || avanco == 1)
+                    && (!corpo.get(nx, ny) || vizinho == indice(snake.getTailCell()))) {
+                melhor = DIRECOES[d];
+                melhorAvanco = avanco;
+            }
+        }
+        return melhor == -1 ? super.calculateBestDirection(currentDirection) : melhor;
+    }
+}
@@ -0,0 +1,146 @@
+package Core;
+
+import java.util.Arrays;
+
+/**
+ * Estratégia de movimento automático parametrizada por um vetor de pesos.
+ *
+ * Em cada tick, cada passo que não leva a uma colisão imediata é avaliado por
+ * quatro características da célula em que a cabeça entra, todas entre 0 e 1:
+ * a proximidade da comida (pelo caminho mais curto, contornando obstáculos e
+ * corpo), o espaço livre da região (ver {@link ReachabilityService}), a
+ * distância à cauda e o número de vizinhos bloqueados. A cobra escolhe o passo com a maior soma pesada. Os pesos podem
+ * ser afinados com o {@link GeneticTrainer}.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class HeuristicMovementStrategy extends AutomaticMovementStrategy {
+    /** Índice do peso da proximidade da comida. */
+    public static final int FOOD_DISTANCE = 0;
+    /** Índice do peso do espaço livre. */
+    public static final int FREE_SPACE = 1;
+    /** Índice do peso da distância à cauda. */
+    public static final int TAIL_DISTANCE = 2;
+    /** Índice do peso dos vizinhos bloqueados. */
+    public static final int OBSTACLE_PROXIMITY = 3;
+    /** Número de pesos da heurística. */
+    public static final int WEIGHTS = 4;
+
+    private static final double[] PESOS_OMISSAO = { 1.0, 4.0, -0.05, -0.02 };
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final Arena arena;
+    private final double[] pesos;
+    private ReachabilityService reachability;
+
+    /**
+     * Construtor para criar a estratégia com os pesos por omissão, avançando o
+     * jogo com um temporizador.
+     *
+     * @param arena A arena em que a cobra está se movendo.
+     */
+    public HeuristicMovementStrategy(Arena arena) {
+        this(arena, true, defaultWeights());
+    }
+
+    /**
+     * Construtor para criar a estratégia.
+     *
+     * @param arena       A arena em que a cobra está se movendo.
+     * @param temporizada true para avançar o jogo com um temporizador; false
+     *                    quando o jogo é conduzido pelo {@link GameEngine}.
+     * @param weights     Os pesos, pela ordem dos índices desta classe; o
+     *                    array é copiado.
+     */
+    public HeuristicMovementStrategy(Arena arena, boolean temporizada, double[] weights) {
+        super(arena, temporizada);
+        if (weights.length != WEIGHTS) {
+            throw new IllegalArgumentException("São necessários " + WEIGHTS + " pesos");
+        }
+        this.arena = arena;
+        this.pesos = weights.clone();
+    }
+
+    /**
+     * Obtém uma cópia dos pesos por omissão.
+     *
+     * @return Os pesos por omissão.
+     */
+    public static double[] defaultWeights() {
+        return PESOS_OMISSAO.clone();
+    }
+
+    /**
+     * Obtém uma cópia dos pesos da estratégia.
+     *
+     * @return Os pesos.
+     */
+    public double[] getWeights() {
+        return pesos.clone();
+    }
+
+    @Override
+    public int calculateBestDirection(int currentDirection) {
+        OccupancyGrid obstaculos = arena.getObstacleGrid();
+        int cols = obstaculos.getCols();
+        int rows = obstaculos.getRows();
+        if (reachability == null) {
+            reachability = new ReachabilityService(cols, rows);
+        }
+        Snake snake = arena.getS();
+        reachability.update(snake, obstaculos);
+        int comida = foodCell();
+        if (comida != -1) {
+            reachability.updateDistances(comida, obstaculos);
+        }
+
+        int cabeca = snake.getHeadCell();
+        int hx = Snake.cellX(cabeca);
+        int hy = Snake.cellY(cabeca);
+        int cauda = snake.getTailCell();
+        double perimetro = cols + rows;
+        double area = cols * rows;
+        OccupancyGrid corpo = snake.getOccupancy();
+
+        int melhor = -1;
+        double melhorValor = Double.NEGATIVE_INFINITY;
+        for (int d = 0; d < 4; d++) {
+            int regiao = reachability.regionSize(DIRECOES[d]);
+            if (regiao == 0) {
+                continue;
+            }
+            int nx = hx + DX[d];
+            int ny = hy + DY[d];
+            double valor = pesos[FREE_SPACE] * (regiao / area);
+            int distancia = comida == -1 ? -1 : reachability.distanceAfter(DIRECOES[d]);
+            if (distancia != -1) {
+                valor += pesos[FOOD_DISTANCE] * Math.max(0, 1 - distancia / perimetro);
+            }
+            int paraCauda = Math.abs(nx - Snake.cellX(cauda)) + Math.abs(ny - Snake.cellY(cauda));
+            valor += pesos[TAIL_DISTANCE] * (paraCauda / perimetro);
+            int bloqueados = 0;
+            for (int v = 0; v < 4; v++) {
+                int vx = nx + DX[v];
+                int vy = ny + DY[v];
+                if (vx < 0 || vy < 0 || vx >= cols || vy >= rows || obstaculos.get(vx, vy) || corpo.get(vx, vy)) {
+                    bloqueados++;
+                }
+            }
+            valor += pesos[OBSTACLE_PROXIMITY] * (bloqueados / 4.0);
+            if (valor > melhorValor) {
+                melhorValor = valor;
+                melhor = DIRECOES[d];
+            }
+        }
+        // Sem nenhum passo sem colisão, mantém a direção atual
+        return melhor == -1 ? currentDirection : melhor;
+    }
+
+    @Override
+    public String toString() {
+        return "HeuristicMovementStrategy" + Arrays.toString(pesos);
+    }
+}
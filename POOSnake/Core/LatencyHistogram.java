@@ -0,0 +1,134 @@
+package Core;
+
+/**
+ * Histograma de latências com precisão relativa fixa, para calcular
+ * percentis sem guardar todas as amostras.
+ *
+ * Os valores até 15 têm um balde cada. A partir daí, cada potência de 2 é
+ * dividida em 16 baldes iguais, pelo que o erro de um percentil é no máximo
+ * 1/16 do valor. Os histogramas de vários jogos podem ser somados.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class LatencyHistogram {
+    // Bits de cada potência de 2 usados para escolher o balde
+    private static final int SUB = 4;
+
+    private final long[] contagens = new long[64 << SUB];
+    private long total;
+    private long soma;
+    private long max;
+
+    /**
+     * Regista um valor.
+     *
+     * @param valor O valor, normalmente em nanossegundos; valores negativos
+     *              contam como 0.
+     */
+    public void record(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        contagens[indice(valor)]++;
+        total++;
+        soma += valor;
+        if (valor > max) {
+            max = valor;
+        }
+    }
+
+    /**
+     * Soma a este histograma as amostras de outro.
+     *
+     * @param outro O outro histograma.
+     */
+    public void merge(LatencyHistogram outro) {
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        soma += outro.soma;
+        max = Math.max(max, outro.max);
+    }
+
+    /**
+     * Calcula o balde de um valor.
+     *
+     * @param valor O valor, não negativo.
+     * @return O índice do balde.
+     */
+    static int indice(long valor) {
+        if (valor < (1 << SUB)) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (expoente - SUB)) & ((1 << SUB) - 1);
+        return ((expoente - SUB + 1) << SUB) | sub;
+    }
+
+    /**
+     * Calcula o maior valor que cabe num balde.
+     *
+     * @param indice O índice do balde.
+     * @return O limite superior do balde.
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < (1 << SUB)) {
+            return indice;
+        }
+        int expoente = (indice >> SUB) + SUB - 1;
+        int sub = indice & ((1 << SUB) - 1);
+        long inferior = (1L << expoente) | ((long) sub << (expoente - SUB));
+        return inferior + (1L << (expoente - SUB)) - 1;
+    }
+
+    /**
+     * Calcula um percentil.
+     *
+     * @param percentil O percentil, entre 0 e 100.
+     * @return O limite superior do balde onde está o percentil (nunca maior
+     *         do que o máximo registado), ou 0 se o histograma estiver vazio.
+     */
+    public long getPercentile(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Obtém o número de amostras registadas.
+     *
+     * @return O número de amostras.
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Obtém o maior valor registado.
+     *
+     * @return O valor máximo.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Calcula a média dos valores registados.
+     *
+     * @return A média, ou 0 se o histograma estiver vazio.
+     */
+    public double getMean() {
+        return total == 0 ? 0 : (double) soma / total;
+    }
+}
@@ -0,0 +1,330 @@
+package Core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Estratégia de movimento automático por procura em árvore de Monte Carlo
+ * (MCTS).
+ *
+ * Em cada tick, o estado da arena é copiado para um {@link SimulationState} e
+ * são feitas tantas simulações quantas couberem no orçamento de tempo. Cada
+ * simulação desce a árvore pelo critério UCT, acrescenta um nó e joga ao acaso
+ * (com preferência pela comida) até um horizonte de alguns movimentos. A
+ * recompensa, entre 0 e 1, vale metade pela sobrevivência e metade pela comida
+ * apanhada, descontada pelo tempo que demorou a apanhar.
+ *
+ * As simulações são repartidas por várias threads com paralelismo na raiz:
+ * cada thread tem a sua árvore e o seu estado, e no fim somam-se as visitas
+ * dos filhos da raiz. Todos os arrays são criados no primeiro tick e
+ * reutilizados, pelo que as simulações não criam objetos. Os obstáculos
+ * dinâmicos são simulados parados na posição atual.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class MonteCarloMovementStrategy extends AutomaticMovementStrategy {
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+    // Orçamento por omissão, em milissegundos, para o temporizador de 1 segundo
+    private static final long ORCAMENTO = 100;
+    // Nós de cada árvore; quando se esgotam, as simulações só jogam ao acaso
+    private static final int MAX_NOS = 1 << 16;
+    // Constante de exploração do UCT, para recompensas entre 0 e 1
+    private static final double EXPLORACAO = 0.4;
+    // Desconto por tick da comida apanhada
+    private static final double DESCONTO = 0.9;
+
+    private final Arena arena;
+    private final long orcamentoNanos;
+    private final int threads;
+    private final int maxIteracoes;
+    private SimulationState raiz;
+    private Arvore[] arvores;
+
+    /**
+     * Construtor para criar a estratégia, avançando o jogo com um temporizador.
+     *
+     * @param arena A arena em que a cobra está se movendo.
+     */
+    public MonteCarloMovementStrategy(Arena arena) {
+        this(arena, true);
+    }
+
+    /**
+     * Construtor para criar a estratégia com um orçamento de 100 ms por tick,
+     * usando todos os processadores.
+     *
+     * @param arena       A arena em que a cobra está se movendo.
+     * @param temporizada true para avançar o jogo com um temporizador; false
+     *                    quando o jogo é conduzido pelo {@link GameEngine}.
+     */
+    public MonteCarloMovementStrategy(Arena arena, boolean temporizada) {
+        this(arena, temporizada, ORCAMENTO, Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construtor para criar a estratégia.
+     *
+     * @param arena         A arena em que a cobra está se movendo.
+     * @param temporizada   true para avançar o jogo com um temporizador; false
+     *                      quando o jogo é conduzido pelo {@link GameEngine}.
+     * @param budgetMillis  O tempo de procura por tick, em milissegundos.
+     * @param threads       O número de árvores procuradas em paralelo.
+     * @param maxIterations O número máximo de simulações por árvore e por tick;
+     *                      com uma só thread e um orçamento folgado, as
+     *                      decisões ficam deterministas.
+     */
+    public MonteCarloMovementStrategy(Arena arena, boolean temporizada, long budgetMillis, int threads,
+            int maxIterations) {
+        super(arena, temporizada);
+        if (threads < 1) {
+            throw new IllegalArgumentException("O número de threads deve ser positivo");
+        }
+        this.arena = arena;
+        this.orcamentoNanos = budgetMillis * 1_000_000L;
+        this.threads = threads;
+        this.maxIteracoes = maxIterations;
+    }
+
+    @Override
+    public int calculateBestDirection(int currentDirection) {
+        OccupancyGrid obstaculos = arena.getObstacleGrid();
+        if (raiz == null) {
+            raiz = new SimulationState(obstaculos.getCols(), obstaculos.getRows());
+            arvores = new Arvore[threads];
+            for (int i = 0; i < threads; i++) {
+                arvores[i] = new Arvore(obstaculos.getCols(), obstaculos.getRows());
+            }
+        }
+        raiz.load(arena.getS(), obstaculos, foodCell());
+        if (raiz.getOutcome() != GameOutcome.RUNNING) {
+            return super.calculateBestDirection(currentDirection);
+        }
+        long prazo = System.nanoTime() + orcamentoNanos;
+        long base = arena.getSeed() * 0x9E3779B97F4A7C15L + arena.getTicks();
+        if (threads == 1) {
+            arvores[0].procurar(raiz, base, prazo, maxIteracoes);
+        } else {
+            List<Callable<Void>> tarefas = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                Arvore arvore = arvores[i];
+                long semente = base + i * 0xBF58476D1CE4E5B9L;
+                tarefas.add(() -> {
+                    arvore.procurar(raiz, semente, prazo, maxIteracoes);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> futuro : ForkJoinPool.commonPool().invokeAll(tarefas)) {
+                    futuro.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return super.calculateBestDirection(currentDirection);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro na procura de Monte Carlo", e.getCause());
+            }
+        }
+
+        // Escolhe o filho da raiz mais visitado no conjunto das árvores
+        int melhor = -1;
+        long melhorVisitas = 0;
+        for (int d = 0; d < 4; d++) {
+            long visitas = 0;
+            for (Arvore arvore : arvores) {
+                visitas += arvore.visitasRaiz(d);
+            }
+            if (visitas > melhorVisitas) {
+                melhorVisitas = visitas;
+                melhor = d;
+            }
+        }
+        return melhor == -1 ? super.calculateBestDirection(currentDirection) : DIRECOES[melhor];
+    }
+
+    /**
+     * Árvore de procura de uma thread, guardada em arrays paralelos. Os quatro
+     * filhos de um nó ocupam posições seguidas, pela ordem das direções.
+     */
+    private static final class Arvore {
+        private final int[] visitas = new int[MAX_NOS];
+        private final double[] valor = new double[MAX_NOS];
+        // Índice do primeiro filho, ou -1 se o nó ainda não foi expandido
+        private final int[] filhos = new int[MAX_NOS];
+        private int usados;
+        private final int[] caminho;
+        private final SimulationState estado;
+        private final int horizonte;
+        private final int cols;
+        private long semente;
+        // Semente da comida, igual em todas as simulações de um tick
+        private long sementeComida;
+
+        private Arvore(int cols, int rows) {
+            this.cols = cols;
+            this.estado = new SimulationState(cols, rows);
+            this.horizonte = cols + rows;
+            this.caminho = new int[horizonte + 1];
+        }
+
+        private int visitasRaiz(int d) {
+            return filhos[0] == -1 ? 0 : visitas[filhos[0] + d];
+        }
+
+        /**
+         * Faz simulações a partir da raiz até acabar o tempo ou as iterações.
+         */
+        private void procurar(SimulationState raiz, long sementeBase, long prazo, int maxIteracoes) {
+            semente = sementeBase == 0 ? 1 : sementeBase;
+            sementeComida = proximo();
+            usados = 1;
+            visitas[0] = 0;
+            valor[0] = 0;
+            filhos[0] = -1;
+            for (int i = 0; i < maxIteracoes && (i == 0 || System.nanoTime() < prazo); i++) {
+                simular(raiz);
+            }
+        }
+
+        private void simular(SimulationState raiz) {
+            estado.copyFrom(raiz);
+            estado.setSeed(sementeComida);
+            int no = 0;
+            int profundidade = 0;
+            caminho[0] = 0;
+            double ganho = 0;
+            double peso = 1;
+            int comidas = 0;
+
+            // Seleção e expansão
+            while (estado.getOutcome() == GameOutcome.RUNNING && profundidade < horizonte) {
+                if (filhos[no] == -1) {
+                    if ((visitas[no] == 0 && no != 0) || usados + 4 > MAX_NOS) {
+                        break;
+                    }
+                    filhos[no] = usados;
+                    for (int d = 0; d < 4; d++) {
+                        visitas[usados + d] = 0;
+                        valor[usados + d] = 0;
+                        filhos[usados + d] = -1;
+                    }
+                    usados += 4;
+                }
+                int d = escolherFilho(no);
+                no = filhos[no] + d;
+                estado.step(d);
+                caminho[++profundidade] = no;
+                peso *= DESCONTO;
+                if (estado.getFoodEaten() > comidas) {
+                    comidas = estado.getFoodEaten();
+                    ganho += peso;
+                }
+            }
+
+            // Jogo ao acaso até ao horizonte
+            int passos = profundidade;
+            while (estado.getOutcome() == GameOutcome.RUNNING && passos < horizonte) {
+                estado.step(passoAleatorio());
+                passos++;
+                peso *= DESCONTO;
+                if (estado.getFoodEaten() > comidas) {
+                    comidas = estado.getFoodEaten();
+                    ganho += peso;
+                }
+            }
+
+            GameOutcome fim = estado.getOutcome();
+            double sobrevivencia = fim == GameOutcome.RUNNING || fim == GameOutcome.BOARD_FULL ? 1
+                    : (double) (passos - 1) / horizonte;
+            double recompensa = 0.5 * sobrevivencia + 0.5 * ganho / (1 + ganho);
+            for (int i = 0; i <= profundidade; i++) {
+                visitas[caminho[i]]++;
+                valor[caminho[i]] += recompensa;
+            }
+        }
+
+        /**
+         * Escolhe o filho pelo critério UCT entre os passos seguros; os filhos
+         * por visitar vêm primeiro. Sem passos seguros, escolhe a direção 0.
+         */
+        private int escolherFilho(int no) {
+            int primeiro = filhos[no];
+            double logPai = Math.log(Math.max(1, visitas[no]));
+            int melhor = 0;
+            double melhorValor = Double.NEGATIVE_INFINITY;
+            int inicio = proximoInt(4);
+            for (int k = 0; k < 4; k++) {
+                int d = (inicio + k) & 3;
+                if (!estado.isSafe(d)) {
+                    continue;
+                }
+                int filho = primeiro + d;
+                if (visitas[filho] == 0) {
+                    return d;
+                }
+                double uct = valor[filho] / visitas[filho] + EXPLORACAO * Math.sqrt(logPai / visitas[filho]);
+                if (uct > melhorValor) {
+                    melhorValor = uct;
+                    melhor = d;
+                }
+            }
+            return melhor;
+        }
+
+        /**
+         * Escolhe um passo seguro, quase sempre o que mais aproxima a cabeça da
+         * comida; sem passos seguros, mantém a direção.
+         */
+        private int passoAleatorio() {
+            int cabeca = estado.getHeadIndex();
+            int comida = estado.getFoodIndex();
+            int seguros = 0;
+            int escolhido = -1;
+            int melhor = -1;
+            int melhorDistancia = Integer.MAX_VALUE;
+            int inicio = proximoInt(4);
+            for (int k = 0; k < 4; k++) {
+                int d = (inicio + k) & 3;
+                if (!estado.isSafe(d)) {
+                    continue;
+                }
+                // Amostragem de reservatório entre os passos seguros
+                seguros++;
+                if (proximoInt(seguros) == 0) {
+                    escolhido = d;
+                }
+                if (comida != -1) {
+                    int x = cabeca % cols + (d == 0 ? 1 : d == 2 ? -1 : 0);
+                    int y = cabeca / cols + (d == 1 ? 1 : d == 3 ? -1 : 0);
+                    int distancia = Math.abs(x - comida % cols) + Math.abs(y - comida / cols);
+                    if (distancia < melhorDistancia) {
+                        melhorDistancia = distancia;
+                        melhor = d;
+                    }
+                }
+            }
+            if (escolhido == -1) {
+                return (estado.getDirection() / 90) & 3;
+            }
+            return melhor != -1 && proximoInt(4) != 0 ? melhor : escolhido;
+        }
+
+        /**
+         * Gerador xorshift64* da árvore.
+         */
+        private long proximo() {
+            semente ^= semente >>> 12;
+            semente ^= semente << 25;
+            semente ^= semente >>> 27;
+            return semente * 0x2545F4914F6CDD1DL;
+        }
+
+        private int proximoInt(int limite) {
+            return (int) (((proximo() >>> 33) * limite) >>> 31);
+        }
+    }
+}
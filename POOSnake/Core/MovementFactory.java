@@ -14,7 +14,7 @@ public class MovementFactory {
     /**
      * Método estático para obter uma estratégia de movimento com base no tipo especificado.
      * 
-     * @param type    O tipo de estratégia de movimento ("automatic" para movimento automático, "manual" para movimento manual).
+     * @param type    O tipo de estratégia de movimento ("automatic" para movimento automático, "hamiltonian" para o ciclo hamiltoniano, "montecarlo" para a procura de Monte Carlo, "heuristic" para a heurística com pesos, "manual" para movimento manual).
      * @param scanner O scanner para entrada do usuário (usado apenas para movimento manual).
      * @param arena   A arena do jogo.
      * @return A estratégia de movimento criada.
@@ -23,6 +23,12 @@ public class MovementFactory {
     public static MovementStrategy getMovementStrategy(String type, Scanner scanner, Arena arena) {
         if (type.equals("automatic")) {
             return new AutomaticMovementStrategy(arena);
+        } else if (type.equals("hamiltonian")) {
+            return new HamiltonianMovementStrategy(arena);
+        } else if (type.equals("montecarlo")) {
+            return new MonteCarloMovementStrategy(arena);
+        } else if (type.equals("heuristic")) {
+            return new HeuristicMovementStrategy(arena);
         } else if (type.equals("manual")) {
             return new ManualMovementStrategy(scanner, arena);
         }
@@ -16,4 +16,21 @@ public interface MovementStrategy {
     void setDirectionG(int i);
 
     void move();
+
+    /**
+     * Calcula a direção que a cobra deve seguir no próximo tick, sem avançar o
+     * jogo. Usado pelo {@link GameEngine}; por omissão mantém a direção atual.
+     * 
+     * @param currentDirection A direção atual da cobra.
+     * @return A direção para o próximo tick.
+     */
+    default int nextDirection(int currentDirection) {
+        return currentDirection;
+    }
+
+    /**
+     * Para qualquer temporizador associado à estratégia, no fim do jogo.
+     */
+    default void stop() {
+    }
 }
@@ -121,6 +121,15 @@ public class Obstacle {
         
     }
 
+    /**
+     * Obtém o ponto de rotação do obstáculo.
+     * 
+     * @return O ponto de rotação, ou null se o obstáculo roda sobre o seu centro.
+     */
+    public Ponto getRotacao() {
+        return rotacao;
+    }
+
     /**
      * Define o poligono do obstáculo.
      * 
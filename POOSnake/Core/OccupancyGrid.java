@@ -0,0 +1,345 @@
+package Core;
+
+import java.util.Arrays;
+import java.util.List;
+
+import Geometry.CaixaEnvolvente;
+import Geometry.Circle;
+import Geometry.Poligono;
+import Geometry.Ponto;
+
+/**
+ * Grelha de ocupação (bitboard) da arena, à resolução da cabeça da cobra.
+ * 
+ * Cada célula corresponde a um quadrado de lado igual às dimensões da cabeça e
+ * é representada por um bit num array de longs. As consultas de colisão
+ * passam a ser um teste de bit em O(1), em vez de testes entre polígonos.
+ * 
+ * As coordenadas recebidas pelos métodos são coordenadas de célula (coluna e
+ * linha), exceto nos métodos que recebem formas, que trabalham em pixels.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class OccupancyGrid {
+    private final int cols;
+    private final int rows;
+    private final int cellSize;
+    private final long[] bits;
+
+    /**
+     * Construtor para criar uma grelha de ocupação vazia.
+     * 
+     * @param arenaDimensions As dimensões da arena em pixels.
+     * @param cellSize        O lado de cada célula em pixels (dimensões da cabeça).
+     */
+    public OccupancyGrid(int[] arenaDimensions, int cellSize) {
+        this.cellSize = cellSize;
+        this.cols = (arenaDimensions[0] + cellSize - 1) / cellSize;
+        this.rows = (arenaDimensions[1] + cellSize - 1) / cellSize;
+        this.bits = new long[(cols * rows + 63) >>> 6];
+    }
+
+    /**
+     * Verifica se uma célula está dentro dos limites da grelha.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     * @return true se a célula estiver dentro da grelha, caso contrário false.
+     */
+    public boolean isInside(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows;
+    }
+
+    /**
+     * Verifica se uma célula está ocupada. Células fora da grelha são
+     * consideradas livres.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     * @return true se a célula estiver ocupada, caso contrário false.
+     */
+    public boolean get(int cx, int cy) {
+        if (!isInside(cx, cy)) {
+            return false;
+        }
+        int i = cy * cols + cx;
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Marca uma célula como ocupada. Células fora da grelha são ignoradas.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     */
+    public void set(int cx, int cy) {
+        if (isInside(cx, cy)) {
+            int i = cy * cols + cx;
+            bits[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Marca uma célula como livre. Células fora da grelha são ignoradas.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     */
+    public void clear(int cx, int cy) {
+        if (isInside(cx, cy)) {
+            int i = cy * cols + cx;
+            bits[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * Marca todas as células como livres.
+     */
+    public void clearAll() {
+        Arrays.fill(bits, 0L);
+    }
+
+    /**
+     * Verifica se esta grelha e outra com as mesmas dimensões têm alguma célula
+     * ocupada em comum.
+     * 
+     * @param other A outra grelha.
+     * @return true se existir alguma célula ocupada em ambas, caso contrário
+     *         false.
+     */
+    public boolean intersects(OccupancyGrid other) {
+        int n = Math.min(bits.length, other.bits.length);
+        for (int i = 0; i < n; i++) {
+            if ((bits[i] & other.bits[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marca como ocupadas todas as células cobertas por uma forma. Uma célula
+     * só é coberta se a forma a sobrepuser com área positiva; as células da
+     * caixa envolvente por onde a forma não passa (por exemplo, o canto vazio
+     * de um triângulo) ficam livres.
+     * 
+     * @param shape A forma (polígono ou círculo), em pixels.
+     */
+    public void fill(Shape shape) {
+        Cobertura cobertura = new Cobertura(shape);
+        CaixaEnvolvente caixa = shape.getCaixaEnvolvente();
+        int minCx = firstCell(caixa.getMinX());
+        int minCy = firstCell(caixa.getMinY());
+        int maxCx = lastCell(caixa.getMinX(), caixa.getMaxX());
+        int maxCy = lastCell(caixa.getMinY(), caixa.getMaxY());
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                if (isInside(cx, cy) && cobertura.cobre(cx, cy)) {
+                    set(cx, cy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica se alguma das células cobertas por uma forma (ver
+     * {@link #fill(Shape)}) está ocupada.
+     * 
+     * @param shape A forma (polígono ou círculo), em pixels.
+     * @return true se alguma dessas células estiver ocupada, caso contrário
+     *         false.
+     */
+    public boolean intersects(Shape shape) {
+        Cobertura cobertura = null;
+        CaixaEnvolvente caixa = shape.getCaixaEnvolvente();
+        int minCx = firstCell(caixa.getMinX());
+        int minCy = firstCell(caixa.getMinY());
+        int maxCx = lastCell(caixa.getMinX(), caixa.getMaxX());
+        int maxCy = lastCell(caixa.getMinY(), caixa.getMaxY());
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                if (!get(cx, cy)) {
+                    continue;
+                }
+                // O teste geométrico só é preparado quando há uma célula ocupada
+                if (cobertura == null) {
+                    cobertura = new Cobertura(shape);
+                }
+                if (cobertura.cobre(cx, cy)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Teste de cobertura das células por uma forma. Um círculo cobre uma
+     * célula se o ponto da célula mais próximo do centro estiver a menos de um
+     * raio; um polígono cobre-a se o recorte do polígono pela célula
+     * (Sutherland-Hodgman) tiver área positiva.
+     */
+    private final class Cobertura {
+        private final Circle circulo;
+        private final double[] xs;
+        private final double[] ys;
+        // Buffers do recorte, aumentados se um recorte precisar de mais vértices
+        private double[] ax;
+        private double[] ay;
+        private double[] bx;
+        private double[] by;
+
+        private Cobertura(Shape shape) {
+            if (shape instanceof Circle) {
+                circulo = (Circle) shape;
+                xs = null;
+                ys = null;
+                return;
+            }
+            circulo = null;
+            List<Ponto> pontos = shape instanceof Poligono ? ((Poligono) shape).getPontos() : null;
+            if (pontos == null || pontos.size() < 3) {
+                // Forma desconhecida: cobre toda a caixa envolvente
+                xs = null;
+                ys = null;
+                return;
+            }
+            int n = pontos.size();
+            xs = new double[n];
+            ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = pontos.get(i).getX();
+                ys[i] = pontos.get(i).getY();
+            }
+            ax = new double[n + 4];
+            ay = new double[n + 4];
+            bx = new double[n + 4];
+            by = new double[n + 4];
+        }
+
+        private boolean cobre(int cx, int cy) {
+            double x0 = (double) cx * cellSize;
+            double y0 = (double) cy * cellSize;
+            double x1 = x0 + cellSize;
+            double y1 = y0 + cellSize;
+            if (circulo != null) {
+                Ponto centro = circulo.getCentro();
+                double dx = centro.getX() - Math.max(x0, Math.min(centro.getX(), x1));
+                double dy = centro.getY() - Math.max(y0, Math.min(centro.getY(), y1));
+                double raio = circulo.getRaio();
+                return dx * dx + dy * dy < raio * raio;
+            }
+            if (xs == null) {
+                return true;
+            }
+            int n = xs.length;
+            System.arraycopy(xs, 0, ax, 0, n);
+            System.arraycopy(ys, 0, ay, 0, n);
+            // Recorta pelos quatro lados: x >= x0, x <= x1, y >= y0, y <= y1
+            n = recortar(n, 0, x0, 1);
+            n = recortar(n, 0, x1, -1);
+            n = recortar(n, 1, y0, 1);
+            n = recortar(n, 1, y1, -1);
+            double area = 0;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                area += ax[j] * ay[i] - ax[i] * ay[j];
+            }
+            // Tolerância para as arestas que só tocam a célula
+            return Math.abs(area) / 2 > 1e-9 * cellSize * cellSize;
+        }
+
+        /**
+         * Recorta o polígono em ax/ay por um semiplano, deixando o resultado
+         * em ax/ay.
+         *
+         * @param n      O número de vértices.
+         * @param eixo   0 para um limite em x, 1 para um limite em y.
+         * @param limite A coordenada do limite.
+         * @param sinal  1 para manter o lado maior ou igual, -1 para o menor ou
+         *               igual.
+         * @return O número de vértices do polígono recortado.
+         */
+        private int recortar(int n, int eixo, double limite, int sinal) {
+            // Cada aresta produz no máximo dois vértices
+            if (bx.length < 2 * n) {
+                bx = new double[2 * n];
+                by = new double[2 * n];
+            }
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int j = i == 0 ? n - 1 : i - 1;
+                double di = sinal * ((eixo == 0 ? ax[i] : ay[i]) - limite);
+                double dj = sinal * ((eixo == 0 ? ax[j] : ay[j]) - limite);
+                if ((di >= 0) != (dj >= 0)) {
+                    double t = dj / (dj - di);
+                    bx[m] = ax[j] + t * (ax[i] - ax[j]);
+                    by[m] = ay[j] + t * (ay[i] - ay[j]);
+                    m++;
+                }
+                if (di >= 0) {
+                    bx[m] = ax[i];
+                    by[m] = ay[i];
+                    m++;
+                }
+            }
+            double[] tx = ax;
+            double[] ty = ay;
+            ax = bx;
+            ay = by;
+            bx = tx;
+            by = ty;
+            return m;
+        }
+    }
+
+    /**
+     * Obtém a célula que contém uma coordenada em pixels.
+     * 
+     * @param min A coordenada mínima da caixa, em pixels.
+     * @return O índice da primeira célula coberta.
+     */
+    private int firstCell(double min) {
+        return (int) Math.floor(min / cellSize);
+    }
+
+    /**
+     * Obtém a última célula coberta por um intervalo em pixels. Uma célula só é
+     * coberta se o intervalo a sobrepuser com área positiva; um intervalo
+     * degenerado cobre a célula que contém o seu início.
+     * 
+     * @param min A coordenada mínima do intervalo, em pixels.
+     * @param max A coordenada máxima do intervalo, em pixels.
+     * @return O índice da última célula coberta.
+     */
+    private int lastCell(double min, double max) {
+        return Math.max(firstCell(min), (int) Math.ceil(max / cellSize) - 1);
+    }
+
+    /**
+     * Obtém o número de colunas da grelha.
+     * 
+     * @return O número de colunas.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Obtém o número de linhas da grelha.
+     * 
+     * @return O número de linhas.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtém o lado de cada célula em pixels.
+     * 
+     * @return O lado de cada célula.
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+}
@@ -1,11 +1,9 @@
 package Core;
 
 import java.util.List;
-import java.util.LinkedList;
 
 import Geometry.Poligono;
 import Geometry.Ponto;
-import Geometry.Square;
 
 /**
  * Classe responsável por realizar a rasterização do contorno dos objetos na
@@ -21,7 +19,7 @@ import Geometry.Square;
 public class OutlineRasterizationTextual implements RasterizationStrategy {
 
     // Grid que representa a arena
-    Cell[][] grid;
+    CellGrid grid;
     // Referência para a arena
     Arena arena;
 
@@ -31,8 +29,9 @@ public class OutlineRasterizationTextual implements RasterizationStrategy {
      * @param arena A arena onde a rasterização será realizada.
      */
     public OutlineRasterizationTextual(Arena arena) {
-        this.grid = new Cell[arena.getArenaDimensions()[0]][arena.getArenaDimensions()[1]];
+        this.grid = new CellGrid(arena.getArenaDimensions()[0], arena.getArenaDimensions()[1]);
         this.arena = arena;
+        arena.attachSnapshotReader();
         initializeArena();
     }
 
@@ -40,31 +39,51 @@ public class OutlineRasterizationTextual implements RasterizationStrategy {
         return arena;
     }
 
+    /**
+     * Desenha os contornos a partir da última fotografia publicada pela arena,
+     * pelo que pode correr numa thread diferente da simulação.
+     */
     @Override
     public void render() {
         initializeArena();
+        ArenaSnapshot estado = arena.getSnapshot();
 
-        // Desenha o contorno da cabeça da cobra
-        drawObject(arena.getS().getHead(), "HEAD");
-
-        // Desenha o contorno da cauda da cobra
-        LinkedList<Square> tail = arena.getS().getTailCoordinates();
-        for (Square square : tail) {
-            drawObject(square, "TAIL");
+        // Desenha o contorno da cabeça e da cauda da cobra
+        for (int i = 0; i < estado.getSnakeSize(); i++) {
+            drawCell(estado.getSnakeCell(i), estado.getHeadDimensions(), i == 0 ? "HEAD" : "TAIL");
         }
 
         // Desenha o contorno dos obstáculos
-        for (Obstacle obstacle : arena.getObstacles()) {
-            drawObject(obstacle.getObstacle(), "OBSTACLE");
+        for (Poligono obstacle : estado.getObstacles()) {
+            drawObject(obstacle, "OBSTACLE");
         }
 
         // Desenha o contorno da fruta
-        if (arena.getFruit() != null) {
-            Poligono fruitPolygon = new Poligono(arena.getFruit().getShape().getAllCoordinates());
+        if (estado.getFood() != null) {
+            Shape food = estado.getFood();
+            // A comida quadrada já é um polígono; o círculo é aproximado pelos seus pontos
+            Poligono fruitPolygon = food instanceof Poligono ? (Poligono) food
+                    : new Poligono(food.getAllCoordinates());
             drawObject(fruitPolygon, "FOOD");
         }
     }
 
+    /**
+     * Desenha o contorno do quadrado de uma célula da cobra.
+     * 
+     * @param cell     A célula compactada.
+     * @param lado     O lado da célula em pixels.
+     * @param cellType O tipo de célula que será desenhada.
+     */
+    private void drawCell(int cell, int lado, String cellType) {
+        int x = Snake.cellX(cell) * lado;
+        int y = Snake.cellY(cell) * lado;
+        drawLine(x, y, x + lado, y, cellType);
+        drawLine(x + lado, y, x + lado, y + lado, cellType);
+        drawLine(x + lado, y + lado, x, y + lado, cellType);
+        drawLine(x, y + lado, x, y, cellType);
+    }
+
     /**
      * Desenha o contorno de um objeto na arena.
      * 
@@ -104,8 +123,8 @@ public class OutlineRasterizationTextual implements RasterizationStrategy {
         int err = (dx > dy ? dx : -dy) / 2, e2;
     
         while (true) {
-            if (x1 >= 0 && x1 < grid.length && y1 >= 0 && y1 < grid[0].length) {
-                grid[x1][y1] = Cell.valueOf(cellType);
+            if (grid.isInside(x1, y1)) {
+                grid.set(x1, y1, Cell.valueOf(cellType));
             }
             if (x1 == x2 && y1 == y2) {
                 break;
@@ -127,15 +146,11 @@ public class OutlineRasterizationTextual implements RasterizationStrategy {
      * Inicializa a arena, preenchendo o grid com células vazias.
      */
     private void initializeArena() {
-        for (int i = 0; i < grid.length; i++) {
-            for (int j = 0; j < grid[i].length; j++) {
-                grid[i][j] = Cell.EMPTY;
-            }
-        }
+        grid.fill(Cell.EMPTY);
     }
 
     @Override
-    public Cell[][] getGrid() {
+    public CellGrid getCells() {
         return grid;
     }
 }
@@ -1,46 +1,111 @@
 package Core;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Classe que gerencia o ranking dos jogadores.
- * 
+ *
  * Esta classe permite adicionar novos jogadores, atualizar o ranking com base nos pontos dos jogadores
  * e escrever o ranking atualizado em um arquivo.
- * Também fornece métodos para ler o ranking do arquivo e imprimir a leaderboard.
- * 
- * O ranking é armazenado em um arquivo de texto chamado "rank.txt".
+ * Também fornece métodos para consultar e imprimir a leaderboard.
+ *
+ * O ranking é armazenado por omissão em um arquivo de texto chamado "rank.txt".
  * Cada linha do arquivo representa um jogador no formato "nome, pontuação".
  * A pontuação dos jogadores é classificada em ordem decrescente.
- * 
+ *
+ * O arquivo é lido uma única vez, na construção. Depois disso, o ranking vive
+ * em memória: um mapa do nome para o jogador, com a melhor pontuação, e um
+ * índice ordenado por pontuação. Uma atualização custa O(log n) e os N
+ * primeiros lugares obtêm-se em O(N). As alterações são escritas no arquivo
+ * em segundo plano, agrupadas, algum tempo depois da primeira alteração por
+ * escrever, e também no fim da JVM ou em {@link #close()}.
+ *
  * @author Luís Rosa, José Lima, Pedro Ferreira, José Lima, Pedro Ferreira
  * @version Versão 1.0 10/05/2024
  */
-public class Rank {
+public class Rank implements AutoCloseable {
+
+    // Arquivo por omissão do ranking
+    private static final String FICHEIRO = "rank.txt";
+    // Tempo, em milissegundos, entre a primeira alteração e a escrita
+    private static final long ATRASO = 500;
+    // Ordem da leaderboard: pontuação decrescente e, no empate, nome
+    private static final Comparator<Player> ORDEM = Comparator.comparingInt(Player::getScore).reversed()
+            .thenComparing(Player::getName);
+    // Thread partilhada que escreve os rankings em segundo plano
+    private static final ScheduledExecutorService ESCRITOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rank-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     // Lista de jogadores no ranking
     private List<Player> Players;
     int nleader;
+    private final Path ficheiro;
+    // Melhor jogador de cada nome; os mesmos objetos estão no índice
+    private final Map<String, Player> porNome = new HashMap<>();
+    private final TreeSet<Player> indice = new TreeSet<>(ORDEM);
+    // Há alterações por escrever e uma escrita agendada
+    private boolean agendado;
+    // Garante que as escritas não se cruzam e saem pela ordem dos instantâneos
+    private final Object escrita = new Object();
+    private Thread aoTerminar;
+
     /**
-     * Construtor para criar um objeto Rank com uma lista de jogadores.
-     * 
+     * Construtor para criar um objeto Rank com uma lista de jogadores,
+     * guardado no arquivo "rank.txt".
+     *
      * @param p A lista de jogadores.
+     * @param nleader O número de lugares mostrados na leaderboard.
      */
     public Rank(List<Player> p, int nleader) {
-        this.Players = p;
-        this.nleader= nleader;
+        this(p, nleader, Paths.get(FICHEIRO));
+    }
+
+    /**
+     * Construtor para criar um objeto Rank com uma lista de jogadores,
+     * guardado num arquivo dado. Os jogadores do arquivo e da lista são
+     * juntados, ficando a melhor pontuação de cada nome.
+     *
+     * @param p        A lista de jogadores, ou null para uma lista vazia.
+     * @param nleader  O número de lugares mostrados na leaderboard.
+     * @param ficheiro O arquivo do ranking.
+     */
+    public Rank(List<Player> p, int nleader, Path ficheiro) {
+        this.Players = p == null ? new ArrayList<>() : p;
+        this.nleader = nleader;
+        this.ficheiro = ficheiro;
+        for (Player player : readRankFromFile(ficheiro)) {
+            registar(player);
+        }
+        for (Player player : Players) {
+            registar(player);
+        }
     }
 
     /**
      * Obtém a lista de jogadores do ranking.
-     * 
+     *
      * @return A lista de jogadores.
      */
     public List<Player> getPlayers() {
@@ -49,111 +114,225 @@ public class Rank {
 
     /**
      * Adiciona um jogador à lista de jogadores do ranking.
-     * 
+     *
      * @param p O jogador a ser adicionado.
      */
-    public void addPlayer(Player p) {
+    public synchronized void addPlayer(Player p) {
         Players.add(p);
+        registar(p);
     }
 
     /**
-     * Atualiza o ranking com o nome e os pontos do jogador.
-     * 
+     * Junta um jogador ao índice, ficando a melhor pontuação do nome no
+     * objeto mais recente.
+     */
+    private void registar(Player p) {
+        Player anterior = porNome.get(p.getName());
+        if (anterior == p) {
+            return;
+        }
+        if (anterior != null) {
+            indice.remove(anterior);
+            if (anterior.getScore() > p.getScore()) {
+                p.setScore(anterior.getScore());
+            }
+        }
+        porNome.put(p.getName(), p);
+        indice.add(p);
+    }
+
+    /**
+     * Atualiza o ranking com o nome e os pontos do jogador. O arquivo é
+     * escrito mais tarde, em segundo plano.
+     *
      * @param namePlayer O nome do jogador.
      * @param points     Os pontos do jogador.
      */
     public void updateRank(String namePlayer, int points) {
-        // Leitura do conteúdo do arquivo para obter os jogadores existentes
-        List<Player> existingPlayers = readRankFromFile();
-
-        // Verificação se o jogador atual já está na lista
-        boolean playerExists = false;
-        for (Player player : existingPlayers) {
-            if (player.getName().equals(namePlayer)) {
-                playerExists = true;
-                // Se o jogador existir, atualizamos seu resultado se for maior
-                if (points > player.getScore()) {
-                    player.setScore(points);
-                    System.out.println("Pontuação atualizada para o jogador " + namePlayer + ": " + points);
-                    break; // Não é necessário continuar a busca
-                }
+        synchronized (this) {
+            Player player = porNome.get(namePlayer);
+            if (player == null) {
+                player = new Player(namePlayer, points);
+                porNome.put(namePlayer, player);
+                indice.add(player);
+                System.out.println("Novo jogador adicionado: " + namePlayer + ", Pontuação: " + points);
+                agendarEscrita();
+            } else if (points > player.getScore()) {
+                // A pontuação é a chave do índice: sai antes de mudar e volta a entrar
+                indice.remove(player);
+                player.setScore(points);
+                indice.add(player);
+                System.out.println("Pontuação atualizada para o jogador " + namePlayer + ": " + points);
+                agendarEscrita();
             }
         }
 
-        // Se o jogador não existir na lista, adicionamos ele
-        if (!playerExists) {
-            existingPlayers.add(new Player(namePlayer, points));
-            System.out.println("Novo jogador adicionado: " + namePlayer + ", Pontuação: " + points);
-        }
-
-        // Escrevendo a lista atualizada no arquivo
-        writeToFile(existingPlayers);
-
         // Imprime a leaderboard atualizada
         printLeaderboard();
     }
 
     /**
-     * Lê o arquivo "rank.txt" e imprime a leaderboard dos jogadores.
+     * Obtém a melhor pontuação de um jogador.
+     *
+     * @param namePlayer O nome do jogador.
+     * @return A melhor pontuação, ou -1 se o jogador não estiver no ranking.
      */
-    public void printLeaderboard() {
+    public synchronized int getBestScore(String namePlayer) {
+        Player player = porNome.get(namePlayer);
+        return player == null ? -1 : player.getScore();
+    }
 
-    
+    /**
+     * Obtém os primeiros lugares do ranking.
+     *
+     * @param n O número de lugares.
+     * @return Cópias dos até n melhores jogadores, por ordem decrescente de
+     *         pontuação.
+     */
+    public synchronized List<Player> getTop(int n) {
+        List<Player> top = new ArrayList<>(Math.max(0, Math.min(n, indice.size())));
+        Iterator<Player> it = indice.iterator();
+        while (top.size() < n && it.hasNext()) {
+            Player player = it.next();
+            top.add(new Player(player.getName(), player.getScore()));
+        }
+        return top;
+    }
+
+    /**
+     * Imprime a leaderboard dos jogadores, com até nleader lugares.
+     */
+    public void printLeaderboard() {
         System.out.flush();
-        // Lê o conteúdo do arquivo "rank.txt" e imprime a leaderboard dos jogadores
         System.out.println("-----LEADERBOARD-----");
 
-        List<Player> leaderboard = readRankFromFile();
+        List<Player> leaderboard = getTop(this.nleader);
 
-        for (int i = 0; i < this.nleader; i++) {
+        for (int i = 0; i < leaderboard.size(); i++) {
             Player player = leaderboard.get(i);
             System.out.println("TOP " + (i + 1) + " - " + player.getName() + ": " + player.getScore());
         }
     }
 
     /**
-     * Lê o conteúdo do arquivo "rank.txt" e retorna a lista de jogadores.
-     * 
-     * @return A lista de jogadores lida do arquivo.
+     * Agenda a escrita do ranking, se ainda não houver uma agendada. As
+     * alterações feitas até à escrita vão todas na mesma.
      */
-    private static List<Player> readRankFromFile() {
+    private void agendarEscrita() {
+        if (agendado) {
+            return;
+        }
+        agendado = true;
+        if (aoTerminar == null) {
+            aoTerminar = new Thread(this::flush, "rank-flush");
+            Runtime.getRuntime().addShutdownHook(aoTerminar);
+        }
+        ESCRITOR.schedule(this::flush, ATRASO, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Escreve já no arquivo as alterações por escrever, se as houver.
+     */
+    public void flush() {
+        synchronized (escrita) {
+            List<Player> instantaneo;
+            synchronized (this) {
+                if (!agendado) {
+                    return;
+                }
+                agendado = false;
+                // Cópias, para que a escrita não leia pontuações que mudam
+                // fora do bloqueio
+                instantaneo = new ArrayList<>(indice.size());
+                for (Player player : indice) {
+                    instantaneo.add(new Player(player.getName(), player.getScore()));
+                }
+            }
+            escrever(instantaneo);
+        }
+    }
+
+    /**
+     * Escreve as alterações por escrever e deixa de as escrever no fim da
+     * JVM.
+     */
+    @Override
+    public void close() {
+        flush();
+        Thread hook;
+        synchronized (this) {
+            hook = aoTerminar;
+            aoTerminar = null;
+        }
+        if (hook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // A JVM já está a terminar e o hook vai correr
+            }
+        }
+    }
+
+    /**
+     * Lê o conteúdo de um arquivo de ranking e retorna a lista de jogadores.
+     *
+     * @param ficheiro O arquivo do ranking.
+     * @return A lista de jogadores lida do arquivo, vazia se o arquivo não
+     *         existir.
+     */
+    private static List<Player> readRankFromFile(Path ficheiro) {
         List<Player> leaderboard = new ArrayList<>();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader("rank.txt"))) {
+        try (BufferedReader reader = Files.newBufferedReader(ficheiro)) {
             String line;
             while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(", ");
-                String playerName = parts[0];
-                int playerScore = Integer.parseInt(parts[1]);
+                int separador = line.lastIndexOf(", ");
+                if (separador < 0) {
+                    continue;
+                }
+                String playerName = line.substring(0, separador);
+                int playerScore = Integer.parseInt(line.substring(separador + 2).trim());
                 leaderboard.add(new Player(playerName, playerScore));
             }
-        } catch (IOException e) {
+        } catch (NoSuchFileException e) {
+            // Ainda não há ranking
+        } catch (IOException | NumberFormatException e) {
             System.out.println("Erro ao ler o arquivo: " + e.getMessage());
         }
 
-        // Ordena a leaderboard pelo score em ordem decrescente
-        leaderboard.sort(Comparator.comparingInt(Player::getScore).reversed());
-
         return leaderboard;
     }
 
     /**
-     * Escreve a lista de jogadores no arquivo "rank.txt".
-     * 
+     * Escreve a lista de jogadores no arquivo do ranking, por ordem
+     * decrescente de pontuação.
+     *
      * @param players A lista de jogadores a ser escrita no arquivo.
      */
     public void writeToFile(List<Player> players) {
-        // Ordena os jogadores pelo score em ordem decrescente
-        List<Player> sortedPlayers = players.stream()
-                                            .sorted(Comparator.comparingInt(Player::getScore).reversed())
-                                            .collect(Collectors.toList());
-
-        // Escrevendo os jogadores no arquivo
-        try (FileWriter writer = new FileWriter("rank.txt")) {
-            for (Player player : sortedPlayers) {
-                writer.write(player.getName() + ", " + player.getScore() + "\n");
+        synchronized (escrita) {
+            escrever(players.stream().sorted(ORDEM).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Escreve jogadores já ordenados num arquivo temporário e troca-o pelo
+     * arquivo do ranking, para que um arquivo a meio nunca fique no lugar do
+     * anterior.
+     */
+    private void escrever(List<Player> ordenados) {
+        Path temporario = ficheiro.resolveSibling(ficheiro.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporario)) {
+                for (Player player : ordenados) {
+                    writer.write(player.getName() + ", " + player.getScore() + "\n");
+                }
+            }
+            try {
+                Files.move(temporario, ficheiro, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, ficheiro, StandardCopyOption.REPLACE_EXISTING);
             }
-            System.out.println("Rank atualizado e escrito no arquivo 'rank.txt'");
         } catch (IOException e) {
             System.out.println("Erro ao escrever no arquivo: " + e.getMessage());
         }
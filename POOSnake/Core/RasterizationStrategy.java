@@ -6,7 +6,7 @@ package Core;
  * Uma estratégia de rasterização é responsável por renderizar elementos em uma grade de células.
  * As classes que implementam esta interface devem fornecer métodos para obter a grade de células e renderizar elementos nela.
  * 
- * A grade de células é representada por uma matriz de células.
+ * A grade de células é representada por uma {@link CellGrid}.
  * 
  * @author Luís Rosa, José Lima, Pedro Ferreira, José Lima, Pedro Ferreira
  * @version Versão 1.0 10/05/2024
@@ -16,9 +16,18 @@ public interface RasterizationStrategy {
     /**
      * Obtém a grade de células.
      * 
+     * @return A grelha de células, atualizada em cada renderização.
+     */
+    CellGrid getCells();
+
+    /**
+     * Obtém uma cópia da grade de células numa matriz indexada por [x][y].
+     * 
      * @return A matriz de células que representa a grade.
      */
-    Cell[][] getGrid();
+    default Cell[][] getGrid() {
+        return getCells().toArray();
+    }
    
     /**
      * Renderiza elementos na grade de células.
@@ -0,0 +1,287 @@
+package Core;
+
+/**
+ * Serviço de alcançabilidade na grelha da arena, à resolução da cabeça da
+ * cobra: diz, para cada passo possível da cabeça, quantas células livres tem
+ * a região em que a cabeça entra e se a cauda continua alcançável a partir
+ * dela.
+ *
+ * Em cada tick, {@link #update} marca o corpo com uma geração nova e rotula
+ * apenas as regiões vizinhas da cabeça, com pesquisas em largura que nunca
+ * visitam a mesma célula duas vezes. Quando dois vizinhos estão na mesma
+ * região, a segunda pesquisa não é feita. Depois disso, cada pergunta é
+ * respondida em O(1). Os arrays são criados uma única vez e, como no
+ * {@link GridPathfinder}, nunca são limpos.
+ *
+ * O corpo conta como parede, exceto a cauda, que liberta a sua célula no
+ * movimento seguinte.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class ReachabilityService {
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final int cols;
+    private final int rows;
+    private int geracao;
+
+    // Células do corpo bloqueadas na geração atual
+    private final int[] corpoGeracao;
+    // Região de cada célula, válida se rotulada na geração atual
+    private final int[] regiaoGeracao;
+    private final int[] regiao;
+    private final int[] fila;
+    // Distância de cada célula ao alvo, válida se marcada na geração atual
+    private final int[] distanciaGeracao;
+    private final int[] distancia;
+    private int cabecaX;
+    private int cabecaY;
+
+    // Resultado da última atualização, por índice de direção
+    private final int[] tamanhoRegiao = new int[4];
+    private final boolean[] alcancaCauda = new boolean[4];
+    private int tamanhoCobra;
+
+    /**
+     * Construtor para uma grelha com as dimensões dadas.
+     *
+     * @param cols O número de colunas.
+     * @param rows O número de linhas.
+     */
+    public ReachabilityService(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        int n = cols * rows;
+        this.corpoGeracao = new int[n];
+        this.regiaoGeracao = new int[n];
+        this.regiao = new int[n];
+        this.fila = new int[n];
+        this.distanciaGeracao = new int[n];
+        this.distancia = new int[n];
+    }
+
+    /**
+     * Calcula as regiões vizinhas da cabeça para o estado atual do jogo.
+     *
+     * @param snake      A cobra.
+     * @param obstaculos A grelha dos obstáculos.
+     */
+    public void update(Snake snake, OccupancyGrid obstaculos) {
+        geracao++;
+        tamanhoCobra = snake.size();
+        // O último quadrado é a cauda, que fica livre no movimento seguinte
+        for (int i = 0; i < tamanhoCobra - 1; i++) {
+            int cell = snake.getCell(i);
+            int cx = Snake.cellX(cell);
+            int cy = Snake.cellY(cell);
+            if (isInside(cx, cy)) {
+                corpoGeracao[cy * cols + cx] = geracao;
+            }
+        }
+        int cauda = indice(snake.getTailCell());
+        int cabeca = snake.getHeadCell();
+        int hx = Snake.cellX(cabeca);
+        int hy = Snake.cellY(cabeca);
+        cabecaX = hx;
+        cabecaY = hy;
+        for (int d = 0; d < 4; d++) {
+            int nx = hx + DX[d];
+            int ny = hy + DY[d];
+            tamanhoRegiao[d] = 0;
+            alcancaCauda[d] = false;
+            if (!isFree(nx, ny, obstaculos)) {
+                continue;
+            }
+            int inicio = ny * cols + nx;
+            if (regiaoGeracao[inicio] != geracao) {
+                // Região nova: o tamanho fica guardado no índice do primeiro vizinho
+                tamanhoRegiao[d] = rotular(inicio, d, obstaculos);
+            }
+            int r = regiao[inicio];
+            tamanhoRegiao[d] = tamanhoRegiao[r];
+            alcancaCauda[d] = cauda != -1 && regiaoGeracao[cauda] == geracao && regiao[cauda] == r;
+        }
+    }
+
+    /**
+     * Rotula com uma pesquisa em largura todas as células livres ligadas a uma
+     * célula.
+     *
+     * @param inicio     O índice da célula de partida.
+     * @param r          O rótulo da região.
+     * @param obstaculos A grelha dos obstáculos.
+     * @return O número de células da região.
+     */
+    private int rotular(int inicio, int r, OccupancyGrid obstaculos) {
+        int cabecaFila = 0;
+        int caudaFila = 0;
+        fila[caudaFila++] = inicio;
+        regiaoGeracao[inicio] = geracao;
+        regiao[inicio] = r;
+        while (cabecaFila < caudaFila) {
+            int atual = fila[cabecaFila++];
+            int cx = atual % cols;
+            int cy = atual / cols;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!isFree(nx, ny, obstaculos)) {
+                    continue;
+                }
+                int vizinho = ny * cols + nx;
+                if (regiaoGeracao[vizinho] != geracao) {
+                    regiaoGeracao[vizinho] = geracao;
+                    regiao[vizinho] = r;
+                    fila[caudaFila++] = vizinho;
+                }
+            }
+        }
+        return caudaFila;
+    }
+
+    /**
+     * Calcula, com uma pesquisa em largura a partir de uma célula, a distância
+     * de cada célula livre a essa célula, com o corpo da última chamada a
+     * {@link #update}. Deve ser chamado no máximo uma vez por atualização.
+     *
+     * @param alvo       A célula compactada de destino (ver
+     *                   {@link Snake#pack(int, int)}).
+     * @param obstaculos A grelha dos obstáculos.
+     */
+    public void updateDistances(int alvo, OccupancyGrid obstaculos) {
+        int ax = Snake.cellX(alvo);
+        int ay = Snake.cellY(alvo);
+        if (!isFree(ax, ay, obstaculos)) {
+            return;
+        }
+        int inicio = ay * cols + ax;
+        int cabecaFila = 0;
+        int caudaFila = 0;
+        fila[caudaFila++] = inicio;
+        distanciaGeracao[inicio] = geracao;
+        distancia[inicio] = 0;
+        while (cabecaFila < caudaFila) {
+            int atual = fila[cabecaFila++];
+            int cx = atual % cols;
+            int cy = atual / cols;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!isFree(nx, ny, obstaculos)) {
+                    continue;
+                }
+                int vizinho = ny * cols + nx;
+                if (distanciaGeracao[vizinho] != geracao) {
+                    distanciaGeracao[vizinho] = geracao;
+                    distancia[vizinho] = distancia[atual] + 1;
+                    fila[caudaFila++] = vizinho;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtém a distância ao alvo de {@link #updateDistances} depois de um passo.
+     *
+     * @param direction A direção do passo (0, 90, 180 ou 270).
+     * @return O número de passos até ao alvo a partir da célula em que a
+     *         cabeça entra, ou -1 se o alvo não for alcançável.
+     */
+    public int distanceAfter(int direction) {
+        int d = indiceDirecao(direction);
+        if (tamanhoRegiao[d] == 0) {
+            return -1;
+        }
+        int indice = (cabecaY + DY[d]) * cols + cabecaX + DX[d];
+        return distanciaGeracao[indice] == geracao ? distancia[indice] : -1;
+    }
+
+    /**
+     * Obtém o número de células livres da região em que a cabeça entra.
+     *
+     * @param direction A direção do passo (0, 90, 180 ou 270).
+     * @return O tamanho da região, ou 0 se o passo levar a uma colisão.
+     */
+    public int regionSize(int direction) {
+        return tamanhoRegiao[indiceDirecao(direction)];
+    }
+
+    /**
+     * Verifica se a cauda continua alcançável depois de um passo.
+     *
+     * @param direction A direção do passo (0, 90, 180 ou 270).
+     * @return true se a cauda estiver na região em que a cabeça entra.
+     */
+    public boolean reachesTail(int direction) {
+        return alcancaCauda[indiceDirecao(direction)];
+    }
+
+    /**
+     * Verifica se um passo é seguro: a região tem espaço para o corpo inteiro
+     * ou a cobra pode seguir a própria cauda.
+     *
+     * @param direction A direção do passo (0, 90, 180 ou 270).
+     * @return true se o passo for seguro.
+     */
+    public boolean isSafe(int direction) {
+        int d = indiceDirecao(direction);
+        return tamanhoRegiao[d] > 0 && (alcancaCauda[d] || tamanhoRegiao[d] >= tamanhoCobra);
+    }
+
+    /**
+     * Escolhe o passo mais seguro: de preferência um passo seguro e, entre
+     * esses, o que leva à maior região.
+     *
+     * @return A direção escolhida (0, 90, 180 ou 270), ou -1 se todos os passos
+     *         levarem a uma colisão.
+     */
+    public int safestDirection() {
+        int melhor = -1;
+        boolean melhorSeguro = false;
+        int melhorRegiao = 0;
+        for (int d = 0; d < 4; d++) {
+            if (tamanhoRegiao[d] == 0) {
+                continue;
+            }
+            boolean seguro = isSafe(DIRECOES[d]);
+            if ((seguro && !melhorSeguro) || (seguro == melhorSeguro && tamanhoRegiao[d] > melhorRegiao)) {
+                melhor = DIRECOES[d];
+                melhorSeguro = seguro;
+                melhorRegiao = tamanhoRegiao[d];
+            }
+        }
+        return melhor;
+    }
+
+    private static int indiceDirecao(int direction) {
+        switch (direction) {
+            case 0:
+                return 0;
+            case 90:
+                return 1;
+            case 180:
+                return 2;
+            case 270:
+                return 3;
+            default:
+                throw new IllegalArgumentException("Direção inválida: " + direction);
+        }
+    }
+
+    private boolean isFree(int cx, int cy, OccupancyGrid obstaculos) {
+        return isInside(cx, cy) && !obstaculos.get(cx, cy) && corpoGeracao[cy * cols + cx] != geracao;
+    }
+
+    private boolean isInside(int cx, int cy) {
+        return cx >= 0 && cy >= 0 && cx < cols && cy < rows;
+    }
+
+    private int indice(int cell) {
+        int cx = Snake.cellX(cell);
+        int cy = Snake.cellY(cell);
+        return isInside(cx, cy) ? cy * cols + cx : -1;
+    }
+}
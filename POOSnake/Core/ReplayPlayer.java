@@ -0,0 +1,367 @@
+package Core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import Geometry.Poligono;
+import Geometry.Ponto;
+import Geometry.Triangulo;
+
+/**
+ * Reprodução de um jogo gravado pelo {@link ReplayRecorder}.
+ *
+ * O ficheiro é mapeado em memória e lido sem cópias. A reprodução usa uma
+ * arena sem interface, que é reposta a partir da keyframe mais próxima e
+ * depois simulada tick a tick com as direções gravadas, tão depressa quanto o
+ * processador permitir. Se o ficheiro não tiver índice, por o jogo não ter
+ * terminado a gravação, as keyframes são encontradas percorrendo o ficheiro.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class ReplayPlayer implements AutoCloseable {
+    private final FileChannel canal;
+    private final MappedByteBuffer dados;
+
+    private final int width;
+    private final int height;
+    private final int headDimensions;
+    private final int foodDimensions;
+    private final FoodType foodType;
+    private final Obstacle.ObstacleType obstacleType;
+    private final int angle;
+    private final int pointsadder;
+    private final Ponto rotacao;
+    private final long seed;
+    // Obstáculos iniciais, lidos do cabeçalho
+    private final List<Obstacle> obstaculosIniciais;
+
+    private long[] keyframeTicks = new long[16];
+    private int[] keyframeOffsets = new int[16];
+    private int numKeyframes;
+    private long ultimoTick;
+
+    private Arena arena;
+    // Posição no ficheiro do próximo registo a reproduzir
+    private int posicao;
+
+    /**
+     * Abre uma gravação e posiciona a reprodução no seu primeiro tick.
+     *
+     * @param ficheiro O ficheiro da gravação.
+     * @throws IOException Se não for possível ler o ficheiro ou se este não for
+     *                     uma gravação válida.
+     */
+    public ReplayPlayer(Path ficheiro) throws IOException {
+        this.canal = FileChannel.open(ficheiro, StandardOpenOption.READ);
+        this.dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        if (dados.limit() < 6 || dados.getInt() != ReplayRecorder.MAGIA
+                || dados.getShort() != ReplayRecorder.VERSAO) {
+            canal.close();
+            throw new IOException("O ficheiro não é uma gravação do POOSnake");
+        }
+        this.width = dados.getInt();
+        this.height = dados.getInt();
+        this.headDimensions = dados.getInt();
+        this.foodDimensions = dados.getInt();
+        this.foodType = FoodType.values()[dados.get()];
+        this.obstacleType = Obstacle.ObstacleType.values()[dados.get()];
+        this.angle = dados.getInt();
+        this.pointsadder = dados.getInt();
+        this.rotacao = readPonto();
+        this.seed = dados.getLong();
+        dados.getInt(); // intervalo entre keyframes
+        this.obstaculosIniciais = readObstacles();
+
+        int fim = dados.limit();
+        if (fim >= 8 && dados.getInt(fim - 4) == ReplayRecorder.MAGIA_FIM) {
+            readIndex(dados.getInt(fim - 8));
+        } else {
+            scanKeyframes(dados.position());
+        }
+        if (numKeyframes == 0) {
+            canal.close();
+            throw new IOException("A gravação não tem keyframes");
+        }
+        seek(keyframeTicks[0]);
+    }
+
+    /**
+     * Lê o índice das keyframes escrito no fim da gravação.
+     *
+     * @param inicio A posição do índice.
+     */
+    private void readIndex(int inicio) {
+        dados.position(inicio);
+        ultimoTick = dados.getLong();
+        int n = dados.getInt();
+        for (int i = 0; i < n; i++) {
+            addKeyframe(dados.getLong(), dados.getInt());
+        }
+    }
+
+    /**
+     * Percorre os registos à procura das keyframes, até ao fim da gravação ou
+     * ao primeiro registo incompleto.
+     *
+     * @param inicio A posição do primeiro registo.
+     */
+    private void scanKeyframes(int inicio) {
+        int fim = dados.limit();
+        int pos = inicio;
+        long tick = -1;
+        while (pos < fim) {
+            int marca = dados.get(pos) & 0xFF;
+            if (marca == ReplayRecorder.FIM) {
+                break;
+            }
+            if (marca == ReplayRecorder.KEYFRAME) {
+                if (pos + 13 > fim || pos + 5 + dados.getInt(pos + 1) > fim) {
+                    break;
+                }
+                tick = dados.getLong(pos + 5);
+                addKeyframe(tick, pos);
+                pos += 5 + dados.getInt(pos + 1);
+            } else {
+                int tamanho = tickSize(marca);
+                if (pos + tamanho > fim) {
+                    break;
+                }
+                tick++;
+                pos += tamanho;
+            }
+        }
+        ultimoTick = tick;
+    }
+
+    /**
+     * Acrescenta uma keyframe ao índice.
+     *
+     * @param tick   O tick da keyframe.
+     * @param offset A posição da keyframe no ficheiro.
+     */
+    private void addKeyframe(long tick, int offset) {
+        if (numKeyframes == keyframeTicks.length) {
+            keyframeTicks = Arrays.copyOf(keyframeTicks, numKeyframes << 1);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, numKeyframes << 1);
+        }
+        keyframeTicks[numKeyframes] = tick;
+        keyframeOffsets[numKeyframes] = offset;
+        numKeyframes++;
+    }
+
+    /**
+     * Calcula o tamanho em bytes do registo de um tick.
+     *
+     * @param marca O primeiro byte do registo.
+     * @return O tamanho do registo.
+     */
+    private static int tickSize(int marca) {
+        int tamanho = 1;
+        if ((marca & ReplayRecorder.DIRECAO_LIVRE) != 0) {
+            tamanho += 4;
+        }
+        if ((marca & ReplayRecorder.COMIDA) != 0) {
+            tamanho += 4;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Posiciona a reprodução num tick, repondo a keyframe anterior mais próxima
+     * e simulando os ticks que faltam.
+     *
+     * @param tick O tick pretendido.
+     * @return A arena no estado desse tick.
+     */
+    public Arena seek(long tick) {
+        if (tick < keyframeTicks[0] || tick > ultimoTick) {
+            throw new IllegalArgumentException(
+                    "Tick " + tick + " fora da gravação [" + keyframeTicks[0] + ", " + ultimoTick + "]");
+        }
+        int k = Arrays.binarySearch(keyframeTicks, 0, numKeyframes, tick);
+        if (k < 0) {
+            k = -k - 2;
+        }
+        readKeyframe(keyframeOffsets[k]);
+        while (arena.getTicks() < tick) {
+            step();
+        }
+        return arena;
+    }
+
+    /**
+     * Repõe a arena a partir de uma keyframe e posiciona a reprodução no
+     * registo seguinte.
+     *
+     * @param offset A posição da keyframe no ficheiro.
+     */
+    private void readKeyframe(int offset) {
+        dados.position(offset + 1);
+        int tamanho = dados.getInt();
+        long tick = dados.getLong();
+        int t = dados.getInt();
+        int points = dados.getInt();
+        GameOutcome outcome = GameOutcome.values()[dados.get()];
+        boolean obstaclesMoved = dados.get() != 0;
+        int direction = dados.getInt();
+        int[] cells = new int[dados.getInt()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = dados.getInt();
+        }
+        int foodCell = dados.getInt();
+        List<Obstacle> obstacles = obstacleType == Obstacle.ObstacleType.D ? readObstacles() : obstaculosIniciais;
+
+        if (arena == null) {
+            arena = new Arena(width, height, headDimensions, foodDimensions, foodType, 0, obstacleType, rotacao,
+                    angle, pointsadder, seed);
+        }
+        // Cada reposição usa obstáculos novos, porque a arena roda-os
+        ArrayList<Obstacle> copia = new ArrayList<>(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            copia.add(new Obstacle(obstacleType, obstacle.getObstacle(), obstacle.getRotacao()));
+        }
+        arena.restoreState(copia, cells, direction, foodCell, points, t, obstaclesMoved, outcome, tick);
+        posicao = offset + 5 + tamanho;
+    }
+
+    /**
+     * Lê os obstáculos a partir da posição atual.
+     *
+     * @return Os obstáculos lidos.
+     */
+    private List<Obstacle> readObstacles() {
+        int n = dados.getInt();
+        List<Obstacle> obstacles = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean triangulo = dados.get() != 0;
+            Ponto centro = readPonto();
+            int numPontos = dados.getInt();
+            List<Ponto> pontos = new ArrayList<>(numPontos);
+            for (int j = 0; j < numPontos; j++) {
+                pontos.add(new Ponto(dados.getDouble(), dados.getDouble()));
+            }
+            Poligono forma = triangulo ? new Triangulo(pontos) : new Poligono(pontos);
+            obstacles.add(new Obstacle(obstacleType, forma, centro));
+        }
+        return obstacles;
+    }
+
+    /**
+     * Lê um ponto que pode não existir a partir da posição atual.
+     *
+     * @return O ponto, ou null.
+     */
+    private Ponto readPonto() {
+        if (dados.get() == 0) {
+            return null;
+        }
+        return new Ponto(dados.getDouble(), dados.getDouble());
+    }
+
+    /**
+     * Verifica se existem mais ticks gravados depois do atual.
+     *
+     * @return true se existir um tick seguinte, caso contrário false.
+     */
+    public boolean hasNext() {
+        return arena.getTicks() < ultimoTick;
+    }
+
+    /**
+     * Reproduz o tick seguinte: aplica a direção gravada, simula o tick e
+     * coloca a comida na célula gravada.
+     *
+     * @return O estado do jogo após o tick.
+     */
+    public GameOutcome step() {
+        if (!hasNext()) {
+            throw new IllegalStateException("Fim da gravação no tick " + ultimoTick);
+        }
+        int marca = dados.get(posicao) & 0xFF;
+        while (marca == ReplayRecorder.KEYFRAME) {
+            posicao += 5 + dados.getInt(posicao + 1);
+            marca = dados.get(posicao) & 0xFF;
+        }
+        dados.position(posicao + 1);
+        int direcao = (marca & ReplayRecorder.DIRECAO_LIVRE) != 0 ? dados.getInt()
+                : (marca & ReplayRecorder.DIRECAO) * 90;
+        int comida = -1;
+        if ((marca & ReplayRecorder.COMIDA) != 0) {
+            int cx = dados.getShort();
+            int cy = dados.getShort();
+            comida = Snake.pack(cx, cy);
+        }
+        posicao = dados.position();
+
+        arena.getS().setDirection(direcao);
+        GameOutcome outcome = arena.tick();
+        if (comida != -1) {
+            // A comida sorteada durante o tick é substituída pela gravada
+            arena.placeFood(comida);
+            arena.publishSnapshot();
+        }
+        return outcome;
+    }
+
+    /**
+     * Obtém a arena reproduzida.
+     *
+     * @return A arena.
+     */
+    public Arena getArena() {
+        return arena;
+    }
+
+    /**
+     * Obtém o tick atual da reprodução.
+     *
+     * @return O tick atual.
+     */
+    public long getTick() {
+        return arena.getTicks();
+    }
+
+    /**
+     * Obtém o último tick gravado.
+     *
+     * @return O último tick.
+     */
+    public long getLastTick() {
+        return ultimoTick;
+    }
+
+    /**
+     * Obtém o número de keyframes da gravação.
+     *
+     * @return O número de keyframes.
+     */
+    public int getKeyframeCount() {
+        return numKeyframes;
+    }
+
+    /**
+     * Obtém a semente dos sorteios gravada no cabeçalho.
+     *
+     * @return A semente.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Fecha o ficheiro da gravação.
+     *
+     * @throws IOException Se não for possível fechar o ficheiro.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,238 @@
+package Core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import Geometry.Poligono;
+import Geometry.Ponto;
+import Geometry.Triangulo;
+
+/**
+ * Gravação binária de um jogo, lida pelo {@link ReplayPlayer}.
+ *
+ * O ficheiro começa com um cabeçalho com a configuração da arena e os
+ * obstáculos iniciais. Depois, cada tick ocupa em regra um único byte com a
+ * direção da cobra; só quando a comida muda de lugar se acrescenta a sua
+ * célula, porque tudo o resto resulta da simulação. De tantos em tantos ticks
+ * é escrita uma keyframe com o estado completo, para que seja possível saltar
+ * para qualquer ponto do jogo sem o simular desde o início. No fim, o índice
+ * das keyframes é acrescentado ao ficheiro.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class ReplayRecorder implements AutoCloseable {
+    /**
+     * Número de ticks entre keyframes usado por omissão.
+     */
+    public static final int INTERVALO_KEYFRAMES = 100;
+
+    // "PSNR" no início e "PSNE" no fim do ficheiro
+    static final int MAGIA = 0x50534E52;
+    static final int MAGIA_FIM = 0x50534E45;
+    static final int VERSAO = 1;
+
+    // Bits do byte de cada tick: a direção (0, 90, 180 ou 270) dividida por 90,
+    // se a comida mudou de lugar e se a direção segue num int por não ser uma
+    // destas quatro
+    static final int DIRECAO = 0x03;
+    static final int COMIDA = 0x04;
+    static final int DIRECAO_LIVRE = 0x08;
+    // Marcas dos outros registos, que nunca se confundem com um tick
+    static final int KEYFRAME = 0x80;
+    static final int FIM = 0xFF;
+
+    private final DataOutputStream out;
+    private final Arena arena;
+    private final int intervalo;
+    private long tick;
+    // Índice das keyframes: o tick de cada uma e a sua posição no ficheiro
+    private long[] keyframeTicks = new long[16];
+    private int[] keyframeOffsets = new int[16];
+    private int numKeyframes;
+
+    /**
+     * Cria o ficheiro da gravação e escreve o cabeçalho e a primeira keyframe.
+     * Para gravar os ticks seguintes, a gravação tem de ser associada à arena
+     * com {@link Arena#setRecorder(ReplayRecorder)}.
+     *
+     * @param ficheiro  O ficheiro a criar.
+     * @param arena     A arena a gravar.
+     * @param intervalo O número de ticks entre keyframes.
+     * @throws IOException Se não for possível escrever o ficheiro.
+     */
+    public ReplayRecorder(Path ficheiro, Arena arena, int intervalo) throws IOException {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("Intervalo entre keyframes inválido: " + intervalo);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(ficheiro)));
+        this.arena = arena;
+        this.intervalo = intervalo;
+        this.tick = arena.getTicks();
+        writeHeader();
+        writeKeyframe();
+    }
+
+    /**
+     * Escreve o cabeçalho com a configuração da arena.
+     *
+     * @throws IOException Se não for possível escrever.
+     */
+    private void writeHeader() throws IOException {
+        out.writeInt(MAGIA);
+        out.writeShort(VERSAO);
+        out.writeInt(arena.getArenaDimensions()[0]);
+        out.writeInt(arena.getArenaDimensions()[1]);
+        out.writeInt(arena.getHeadDimensions());
+        out.writeInt(arena.getFoodDimensions());
+        out.writeByte(arena.getFoodType().ordinal());
+        out.writeByte(arena.getObstacleType().ordinal());
+        out.writeInt(arena.angle);
+        out.writeInt(arena.pointsadder);
+        writePonto(out, arena.rotacao);
+        out.writeLong(arena.getSeed());
+        out.writeInt(intervalo);
+        writeObstacles(out, arena.getObstacles());
+    }
+
+    /**
+     * Regista um tick simulado. Chamado pela arena no fim de cada tick.
+     *
+     * @param direcao A direção da cobra durante o tick.
+     * @param comida  A célula compactada da nova comida, ou -1 se a comida não
+     *                mudou de lugar.
+     */
+    void recordTick(int direcao, int comida) {
+        try {
+            boolean cardinal = direcao == 0 || direcao == 90 || direcao == 180 || direcao == 270;
+            int marca = cardinal ? direcao / 90 : DIRECAO_LIVRE;
+            if (comida != -1) {
+                marca |= COMIDA;
+            }
+            out.writeByte(marca);
+            if (!cardinal) {
+                out.writeInt(direcao);
+            }
+            if (comida != -1) {
+                out.writeShort(Snake.cellX(comida));
+                out.writeShort(Snake.cellY(comida));
+            }
+            tick++;
+            if (tick % intervalo == 0 || arena.getOutcome().isOver()) {
+                writeKeyframe();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escreve uma keyframe com o estado completo da arena e regista-a no índice.
+     *
+     * @throws IOException Se não for possível escrever.
+     */
+    private void writeKeyframe() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream corpo = new DataOutputStream(bytes);
+        corpo.writeLong(tick);
+        corpo.writeInt(arena.t);
+        corpo.writeInt(arena.getPoints());
+        corpo.writeByte(arena.getOutcome().ordinal());
+        corpo.writeBoolean(arena.haveObstaclesMoved());
+        Snake snake = arena.getS();
+        corpo.writeInt(snake.getDirection());
+        int[] cells = snake.toCellArray();
+        corpo.writeInt(cells.length);
+        for (int cell : cells) {
+            corpo.writeInt(cell);
+        }
+        corpo.writeInt(arena.getFruit() == null ? -1 : arena.getFruit().getCell());
+        // Os obstáculos estáticos já estão no cabeçalho
+        if (arena.getObstacleType() == Obstacle.ObstacleType.D) {
+            writeObstacles(corpo, arena.getObstacles());
+        }
+
+        if (numKeyframes == keyframeTicks.length) {
+            keyframeTicks = Arrays.copyOf(keyframeTicks, numKeyframes << 1);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, numKeyframes << 1);
+        }
+        keyframeTicks[numKeyframes] = tick;
+        keyframeOffsets[numKeyframes] = out.size();
+        numKeyframes++;
+        out.writeByte(KEYFRAME);
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Escreve os vértices e o ponto de rotação de cada obstáculo.
+     *
+     * @param destino   O destino.
+     * @param obstacles Os obstáculos.
+     * @throws IOException Se não for possível escrever.
+     */
+    private static void writeObstacles(DataOutputStream destino, List<Obstacle> obstacles) throws IOException {
+        destino.writeInt(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            Poligono forma = obstacle.getObstacle();
+            destino.writeBoolean(forma instanceof Triangulo);
+            writePonto(destino, obstacle.getRotacao());
+            destino.writeInt(forma.numPontos());
+            for (int i = 0; i < forma.numPontos(); i++) {
+                destino.writeDouble(forma.getX(i));
+                destino.writeDouble(forma.getY(i));
+            }
+        }
+    }
+
+    /**
+     * Escreve um ponto que pode não existir.
+     *
+     * @param destino O destino.
+     * @param ponto   O ponto, ou null.
+     * @throws IOException Se não for possível escrever.
+     */
+    private static void writePonto(DataOutputStream destino, Ponto ponto) throws IOException {
+        destino.writeBoolean(ponto != null);
+        if (ponto != null) {
+            destino.writeDouble(ponto.getX());
+            destino.writeDouble(ponto.getY());
+        }
+    }
+
+    /**
+     * Obtém o número do último tick gravado.
+     *
+     * @return O último tick gravado.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Termina a gravação, escrevendo o índice das keyframes no fim do ficheiro.
+     *
+     * @throws IOException Se não for possível escrever.
+     */
+    @Override
+    public void close() throws IOException {
+        out.writeByte(FIM);
+        int indice = out.size();
+        out.writeLong(tick);
+        out.writeInt(numKeyframes);
+        for (int i = 0; i < numKeyframes; i++) {
+            out.writeLong(keyframeTicks[i]);
+            out.writeInt(keyframeOffsets[i]);
+        }
+        out.writeInt(indice);
+        out.writeInt(MAGIA_FIM);
+        out.close();
+    }
+}
@@ -0,0 +1,187 @@
+package Core;
+
+import Geometry.CaixaEnvolvente;
+import Geometry.Poligono;
+
+/**
+ * Preenchimento de polígonos por linhas de varrimento (scanline).
+ *
+ * As arestas do polígono são guardadas numa tabela ordenada pela primeira linha
+ * que atravessam, e em cada linha só as arestas ativas são intersectadas. Os
+ * pixels preenchidos são entregues como segmentos horizontais, sem criar
+ * objetos por pixel. As tabelas são reutilizadas entre chamadas.
+ *
+ * Um pixel (x, y) é preenchido exatamente quando o teste de paridade do raio
+ * horizontal o consideraria dentro do polígono: uma aresta conta na linha y se
+ * um dos seus extremos estiver acima de y e o outro não, e o pixel está dentro
+ * se houver um número ímpar de interseções com abcissa maior que x.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class ScanlineFill {
+
+    /**
+     * Recetor dos segmentos preenchidos.
+     */
+    @FunctionalInterface
+    public interface SpanConsumer {
+        /**
+         * Recebe um segmento horizontal de pixels preenchidos.
+         *
+         * @param y      A linha do segmento.
+         * @param xStart A primeira coluna preenchida.
+         * @param xEnd   A coluna seguinte à última preenchida.
+         */
+        void span(int y, int xStart, int xEnd);
+    }
+
+    // Extremos de cada aresta, pela ordem do polígono
+    private double[] x1 = new double[8];
+    private double[] y1 = new double[8];
+    private double[] x2 = new double[8];
+    private double[] y2 = new double[8];
+    // Primeira linha atravessada e linha seguinte à última, por aresta
+    private int[] linhaInicio = new int[8];
+    private int[] linhaFim = new int[8];
+    // Arestas ordenadas pela primeira linha e lista de arestas ativas
+    private int[] ordem = new int[8];
+    private int[] ativas = new int[8];
+    private double[] cruzamentos = new double[8];
+
+    /**
+     * Preenche um polígono dentro de uma janela de recorte.
+     *
+     * @param poligono O polígono a preencher.
+     * @param minX     A primeira coluna da janela.
+     * @param minY     A primeira linha da janela.
+     * @param maxX     A coluna seguinte à última da janela.
+     * @param maxY     A linha seguinte à última da janela.
+     * @param consumer O recetor dos segmentos preenchidos.
+     */
+    public void fill(Poligono poligono, int minX, int minY, int maxX, int maxY, SpanConsumer consumer) {
+        int numArestas = construirTabela(poligono, minY, maxY);
+        int proxima = 0;
+        int numAtivas = 0;
+        int primeiraLinha = numArestas == 0 ? maxY : Math.max(minY, linhaInicio[ordem[0]]);
+        for (int y = primeiraLinha; y < maxY; y++) {
+            // Retira as arestas que já terminaram
+            int n = 0;
+            for (int i = 0; i < numAtivas; i++) {
+                if (linhaFim[ativas[i]] > y) {
+                    ativas[n++] = ativas[i];
+                }
+            }
+            numAtivas = n;
+            // Acrescenta as arestas que começam nesta linha
+            while (proxima < numArestas && linhaInicio[ordem[proxima]] <= y) {
+                int e = ordem[proxima++];
+                if (linhaFim[e] > y) {
+                    ativas[numAtivas++] = e;
+                }
+            }
+            if (numAtivas == 0) {
+                if (proxima == numArestas) {
+                    break;
+                }
+                continue;
+            }
+
+            // Interseções da linha com as arestas ativas, por ordem crescente
+            for (int i = 0; i < numAtivas; i++) {
+                int e = ativas[i];
+                double c = (x2[e] - x1[e]) * (y - y1[e]) / (y2[e] - y1[e]) + x1[e];
+                int j = i;
+                while (j > 0 && cruzamentos[j - 1] > c) {
+                    cruzamentos[j] = cruzamentos[j - 1];
+                    j--;
+                }
+                cruzamentos[j] = c;
+            }
+
+            // Os pixels entre cada par de interseções estão dentro do polígono
+            for (int i = 0; i + 1 < numAtivas; i += 2) {
+                int xa = Math.max(minX, (int) Math.ceil(cruzamentos[i]));
+                int xb = Math.min(maxX, (int) Math.ceil(cruzamentos[i + 1]));
+                if (xa < xb) {
+                    consumer.span(y, xa, xb);
+                }
+            }
+        }
+    }
+
+    /**
+     * Preenche um polígono recortado pela sua caixa envolvente (truncada para
+     * inteiros) e por uma grelha que começa na origem.
+     *
+     * @param poligono O polígono a preencher.
+     * @param largura  O número de colunas da grelha.
+     * @param altura   O número de linhas da grelha.
+     * @param consumer O recetor dos segmentos preenchidos.
+     */
+    public void fill(Poligono poligono, int largura, int altura, SpanConsumer consumer) {
+        CaixaEnvolvente caixa = poligono.getCaixaEnvolvente();
+        fill(poligono, Math.max(0, (int) caixa.getMinX()), Math.max(0, (int) caixa.getMinY()),
+                Math.min(largura, (int) caixa.getMaxX()), Math.min(altura, (int) caixa.getMaxY()), consumer);
+    }
+
+    /**
+     * Constrói a tabela de arestas que atravessam a janela, ordenada pela
+     * primeira linha atravessada.
+     *
+     * @param poligono O polígono.
+     * @param minY     A primeira linha da janela.
+     * @param maxY     A linha seguinte à última da janela.
+     * @return O número de arestas na tabela.
+     */
+    private int construirTabela(Poligono poligono, int minY, int maxY) {
+        int n = poligono.numPontos();
+        garantirCapacidade(n);
+        int numArestas = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            double ya = poligono.getY(i);
+            double yb = poligono.getY(j);
+            // A aresta conta na linha y se min <= y < max
+            int inicio = (int) Math.ceil(Math.min(ya, yb));
+            int fim = (int) Math.ceil(Math.max(ya, yb));
+            if (inicio >= fim || fim <= minY || inicio >= maxY) {
+                continue;
+            }
+            x1[numArestas] = poligono.getX(i);
+            y1[numArestas] = ya;
+            x2[numArestas] = poligono.getX(j);
+            y2[numArestas] = yb;
+            linhaInicio[numArestas] = inicio;
+            linhaFim[numArestas] = fim;
+            // Ordenação por inserção: os polígonos têm poucos vértices
+            int k = numArestas;
+            while (k > 0 && linhaInicio[ordem[k - 1]] > inicio) {
+                ordem[k] = ordem[k - 1];
+                k--;
+            }
+            ordem[k] = numArestas;
+            numArestas++;
+        }
+        return numArestas;
+    }
+
+    /**
+     * Aumenta as tabelas se o polígono tiver mais arestas do que as que cabem.
+     *
+     * @param n O número de arestas.
+     */
+    private void garantirCapacidade(int n) {
+        if (x1.length < n) {
+            x1 = new double[n];
+            y1 = new double[n];
+            x2 = new double[n];
+            y2 = new double[n];
+            linhaInicio = new int[n];
+            linhaFim = new int[n];
+            ordem = new int[n];
+            ativas = new int[n];
+            cruzamentos = new double[n];
+        }
+    }
+}
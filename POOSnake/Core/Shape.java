@@ -2,6 +2,7 @@ package Core;
 
 import java.util.List;
 
+import Geometry.CaixaEnvolvente;
 import Geometry.Ponto;
 
 /**
@@ -30,4 +31,12 @@ public interface Shape {
      * @return O ponto que representa a posição do shape.
      */
     Ponto getPosition();
+
+    /**
+     * Obtém a caixa envolvente do shape, alinhada com os eixos. A caixa é
+     * guardada pelo shape e só é recalculada depois de uma transformação.
+     * 
+     * @return A caixa envolvente do shape.
+     */
+    CaixaEnvolvente getCaixaEnvolvente();
 }
@@ -0,0 +1,273 @@
+package Core;
+
+import java.util.Arrays;
+
+/**
+ * Estado compacto de um jogo, à resolução da cabeça da cobra, para simular
+ * muitos jogos por tick sem criar objetos.
+ *
+ * A cobra é um buffer circular de índices de células (y * colunas + x), a
+ * ocupação e os obstáculos são arrays de booleanos e a comida é um índice. Os
+ * arrays são criados uma única vez, no construtor; {@link #load} e
+ * {@link #copyFrom} apenas copiam valores para eles. O movimento segue as
+ * regras da {@link Arena}: a cauda liberta a sua célula antes de a cabeça
+ * avançar e a cobra cresce pela cauda quando a cabeça chega à comida.
+ *
+ * A comida nova é sorteada com um gerador próprio, pelo que duas simulações
+ * com a mesma semente e as mesmas direções terminam no mesmo estado. Os
+ * obstáculos ficam fixos nas posições carregadas.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class SimulationState {
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final int cols;
+    private final int rows;
+    private final boolean[] obstaculo;
+    private final boolean[] ocupado;
+    // Buffer circular do corpo; a cabeça está em corpo[cabeca]
+    private final int[] corpo;
+    private int cabeca;
+    private int tamanho;
+    private int direcao;
+    private int comida = -1;
+    private int comidas;
+    private GameOutcome outcome = GameOutcome.RUNNING;
+    private long semente;
+
+    /**
+     * Construtor para uma grelha com as dimensões dadas.
+     *
+     * @param cols O número de colunas.
+     * @param rows O número de linhas.
+     */
+    public SimulationState(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        int n = cols * rows;
+        this.obstaculo = new boolean[n];
+        this.ocupado = new boolean[n];
+        // Uma posição a mais para a cauda antiga quando a cobra cresce
+        this.corpo = new int[n + 1];
+    }
+
+    /**
+     * Carrega o estado de um jogo real.
+     *
+     * @param snake      A cobra.
+     * @param obstaculos A grelha dos obstáculos.
+     * @param foodCell   A célula compactada da comida, ou -1 se não houver.
+     */
+    public void load(Snake snake, OccupancyGrid obstaculos, int foodCell) {
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                obstaculo[y * cols + x] = obstaculos.get(x, y);
+            }
+        }
+        Arrays.fill(ocupado, false);
+        cabeca = 0;
+        tamanho = 0;
+        for (int i = 0; i < snake.size(); i++) {
+            int cell = snake.getCell(i);
+            int x = Snake.cellX(cell);
+            int y = Snake.cellY(cell);
+            if (x < 0 || y < 0 || x >= cols || y >= rows) {
+                continue;
+            }
+            corpo[tamanho++] = y * cols + x;
+            ocupado[y * cols + x] = true;
+        }
+        direcao = snake.getDirection();
+        comida = -1;
+        if (foodCell != -1) {
+            int fx = Snake.cellX(foodCell);
+            int fy = Snake.cellY(foodCell);
+            if (fx >= 0 && fy >= 0 && fx < cols && fy < rows) {
+                comida = fy * cols + fx;
+            }
+        }
+        comidas = 0;
+        outcome = tamanho == 0 ? GameOutcome.OUT_OF_ARENA : GameOutcome.RUNNING;
+    }
+
+    /**
+     * Copia outro estado com as mesmas dimensões, incluindo a semente.
+     *
+     * @param outro O estado a copiar.
+     */
+    public void copyFrom(SimulationState outro) {
+        System.arraycopy(outro.obstaculo, 0, obstaculo, 0, obstaculo.length);
+        System.arraycopy(outro.ocupado, 0, ocupado, 0, ocupado.length);
+        // O corpo fica linearizado a partir da posição 0
+        int primeiros = Math.min(outro.tamanho, outro.corpo.length - outro.cabeca);
+        System.arraycopy(outro.corpo, outro.cabeca, corpo, 0, primeiros);
+        System.arraycopy(outro.corpo, 0, corpo, primeiros, outro.tamanho - primeiros);
+        cabeca = 0;
+        tamanho = outro.tamanho;
+        direcao = outro.direcao;
+        comida = outro.comida;
+        comidas = outro.comidas;
+        outcome = outro.outcome;
+        semente = outro.semente;
+    }
+
+    /**
+     * Define a semente do sorteio da comida.
+     *
+     * @param semente A semente.
+     */
+    public void setSeed(long semente) {
+        // O xorshift não pode começar em 0
+        this.semente = semente == 0 ? 0x9E3779B97F4A7C15L : semente;
+    }
+
+    /**
+     * Verifica se um movimento não termina o jogo no tick seguinte.
+     *
+     * @param d O índice da direção: 0 (0 graus), 1 (90), 2 (180) ou 3 (270).
+     * @return true se o movimento for seguro.
+     */
+    public boolean isSafe(int d) {
+        int x = corpo[cabeca] % cols + DX[d];
+        int y = corpo[cabeca] / cols + DY[d];
+        if (x < 0 || y < 0 || x >= cols || y >= rows) {
+            return false;
+        }
+        int destino = y * cols + x;
+        // A cauda sai antes de a cabeça entrar, exceto quando a cobra cresce
+        return !obstaculo[destino] && (!ocupado[destino] || (destino == getTail() && destino != comida));
+    }
+
+    /**
+     * Avança a simulação um tick.
+     *
+     * @param d O índice da direção: 0 (0 graus), 1 (90), 2 (180) ou 3 (270).
+     * @return O estado do jogo após o tick.
+     */
+    public GameOutcome step(int d) {
+        if (outcome != GameOutcome.RUNNING) {
+            return outcome;
+        }
+        direcao = d * 90;
+        int cauda = getTail();
+        ocupado[cauda] = false;
+        int x = corpo[cabeca] % cols + DX[d];
+        int y = corpo[cabeca] / cols + DY[d];
+        if (x < 0 || y < 0 || x >= cols || y >= rows) {
+            return outcome = GameOutcome.OUT_OF_ARENA;
+        }
+        int destino = y * cols + x;
+        if (obstaculo[destino]) {
+            return outcome = GameOutcome.OBSTACLE_COLLISION;
+        }
+        if (ocupado[destino]) {
+            return outcome = GameOutcome.SELF_COLLISION;
+        }
+        cabeca = cabeca == 0 ? corpo.length - 1 : cabeca - 1;
+        corpo[cabeca] = destino;
+        ocupado[destino] = true;
+        if (destino == comida) {
+            // A cauda antiga continua no buffer, logo a seguir à nova cauda
+            tamanho++;
+            ocupado[cauda] = true;
+            comidas++;
+            if (!sortearComida()) {
+                outcome = GameOutcome.BOARD_FULL;
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Sorteia uma célula livre para a comida: primeiro ao acaso e, se a grelha
+     * estiver quase cheia, procurando a partir de uma célula sorteada.
+     *
+     * @return false se não houver nenhuma célula livre.
+     */
+    private boolean sortearComida() {
+        int n = ocupado.length;
+        for (int tentativa = 0; tentativa < 8; tentativa++) {
+            int cell = nextInt(n);
+            if (!ocupado[cell] && !obstaculo[cell]) {
+                comida = cell;
+                return true;
+            }
+        }
+        int inicio = nextInt(n);
+        for (int i = 0; i < n; i++) {
+            int cell = inicio + i < n ? inicio + i : inicio + i - n;
+            if (!ocupado[cell] && !obstaculo[cell]) {
+                comida = cell;
+                return true;
+            }
+        }
+        comida = -1;
+        return false;
+    }
+
+    /**
+     * Sorteia um inteiro entre 0 e limite - 1 (xorshift64*).
+     */
+    private int nextInt(int limite) {
+        semente ^= semente >>> 12;
+        semente ^= semente << 25;
+        semente ^= semente >>> 27;
+        long r = (semente * 0x2545F4914F6CDD1DL) >>> 33;
+        return (int) ((r * limite) >>> 31);
+    }
+
+    private int getTail() {
+        int i = cabeca + tamanho - 1;
+        return i < corpo.length ? corpo[i] : corpo[i - corpo.length];
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtém o índice da célula da cabeça (y * colunas + x).
+     *
+     * @return A célula da cabeça.
+     */
+    public int getHeadIndex() {
+        return corpo[cabeca];
+    }
+
+    /**
+     * Obtém o índice da célula da comida (y * colunas + x).
+     *
+     * @return A célula da comida, ou -1 se não houver.
+     */
+    public int getFoodIndex() {
+        return comida;
+    }
+
+    public int getLength() {
+        return tamanho;
+    }
+
+    public int getDirection() {
+        return direcao;
+    }
+
+    /**
+     * Obtém o número de comidas apanhadas desde o último {@link #load}.
+     *
+     * @return O número de comidas.
+     */
+    public int getFoodEaten() {
+        return comidas;
+    }
+
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+}
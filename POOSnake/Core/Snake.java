@@ -3,16 +3,20 @@ package Core;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
-import Geometry.Poligono;
 import Geometry.Ponto;
 import Geometry.Square;
 
 /**
  * Classe que representa uma cobra no jogo Snake.
  * 
- * A cobra é composta por uma lista encadeada de quadrados, onde cada quadrado
- * representa uma parte do corpo da cobra.
+ * O corpo da cobra é guardado num buffer circular de células compactadas num
+ * int (coluna nos 16 bits superiores, linha nos 16 inferiores), da cabeça para
+ * a cauda. Mover a cobra é apenas colocar uma nova cabeça e retirar a cauda, em
+ * O(1). Os quadrados usados pelos renderizadores são criados apenas quando
+ * pedidos.
  * 
  * Esta classe é responsável por gerenciar o movimento da cobra, detectar
  * colisões
@@ -22,18 +26,37 @@ import Geometry.Square;
  * @version Versão 1.0 10/05/2024
  */
 public class Snake {
-    private LinkedList<Square> snake = new LinkedList<>();
+    // Capacidade inicial do buffer circular (potência de 2)
+    private static final int CAPACIDADE_INICIAL = 16;
+    // Células do corpo, da cabeça (índice cabeca) para a cauda
+    private int[] corpo = new int[CAPACIDADE_INICIAL];
+    private int cabeca;
+    private int tamanho;
     int headDimensions;
     int direction;
-    Ponto lastTailPosition;
+    // Célula libertada pela cauda no último movimento
+    private int ultimaCauda;
+    // Células ocupadas pela cobra, mantidas incrementalmente a cada movimento
+    private OccupancyGrid ocupacao;
+    // Indica se a cabeça entrou numa célula já ocupada pelo corpo
+    private boolean colisaoPropria;
+    // Gerador usado para sortear a posição e a direção iniciais
+    private final RandomGenerator random;
 
     /**
      * Obtém a lista encadeada de quadrados que representam a cobra.
      * 
+     * A lista é criada a partir das células do corpo a cada chamada; alterá-la
+     * não altera a cobra.
+     * 
      * @return A lista encadeada de quadrados que representam a cobra.
      */
     public LinkedList<Square> getSnake() {
-        return snake;
+        LinkedList<Square> quadrados = new LinkedList<>();
+        for (int i = 0; i < tamanho; i++) {
+            quadrados.add(toSquare(getCell(i)));
+        }
+        return quadrados;
     }
 
     /**
@@ -42,7 +65,34 @@ public class Snake {
      * @param snake A lista encadeada de quadrados que representam a cobra.
      */
     public void setSnake(LinkedList<Square> snake) {
-        this.snake = snake;
+        int[] cells = new int[snake.size()];
+        int i = 0;
+        for (Square square : snake) {
+            Ponto canto = square.getPontos().get(0);
+            cells[i++] = pack(cellOf(canto.getX()), cellOf(canto.getY()));
+        }
+        setCells(cells);
+    }
+
+    /**
+     * Define as células da cobra, reconstruindo o corpo e a grelha de ocupação.
+     * 
+     * @param cells As células compactadas, da cabeça para a cauda.
+     */
+    void setCells(int[] cells) {
+        corpo = new int[capacidadePara(cells.length)];
+        cabeca = 0;
+        tamanho = 0;
+        ocupacao.clearAll();
+        colisaoPropria = false;
+        for (int cell : cells) {
+            int cx = cellX(cell);
+            int cy = cellY(cell);
+            colisaoPropria |= ocupacao.get(cx, cy);
+            ocupacao.set(cx, cy);
+            corpo[tamanho++] = cell;
+        }
+        ultimaCauda = getTailCell();
     }
 
     /**
@@ -52,7 +102,21 @@ public class Snake {
      * @param headDimensions  As dimensões da cabeça da cobra.
      */
     public Snake(int[] arenaDimensions, int headDimensions) {
+        this(arenaDimensions, headDimensions, new SplittableRandom());
+    }
+
+    /**
+     * Construtor para criar uma cobra dentro da arena com dimensões especificadas,
+     * sorteando a posição e a direção iniciais com um gerador dado.
+     * 
+     * @param arenaDimensions As dimensões da arena onde a cobra irá se mover.
+     * @param headDimensions  As dimensões da cabeça da cobra.
+     * @param random          O gerador dos sorteios, normalmente o da arena.
+     */
+    public Snake(int[] arenaDimensions, int headDimensions, RandomGenerator random) {
+        this.random = random;
         this.headDimensions = headDimensions;
+        this.ocupacao = new OccupancyGrid(arenaDimensions, headDimensions);
         HeadInitializer(arenaDimensions, headDimensions);
     }
 
@@ -74,8 +138,8 @@ public class Snake {
     public void HeadInitializer(int[] arenaDimensions, int headDimensions) {
         // Calcula as coordenadas X e Y da cabeça da cobra de forma aleatória dentro da
         // arena
-        int headX = (int) (Math.random() * (arenaDimensions[0] - headDimensions));
-        int headY = (int) (Math.random() * (arenaDimensions[1] - headDimensions));
+        int headX = (int) (random.nextDouble() * (arenaDimensions[0] - headDimensions));
+        int headY = (int) (random.nextDouble() * (arenaDimensions[1] - headDimensions));
 
         // Ajusta as coordenadas X e Y para garantir que a cabeça da cobra esteja
         // próxima ao canto da arena
@@ -88,13 +152,23 @@ public class Snake {
                 (headX + headDimensions) + " " + (headY + headDimensions) + " " +
                 headX + " " + (headY + headDimensions);
 
-        // Cria o objeto Square representando a cabeça e adiciona à lista de quadrados
-        // da cobra
+        // Cria o objeto Square representando a cabeça e coloca a sua célula à frente
+        // do corpo da cobra
         Square h = new Square(headRepresentation);
-        snake.addFirst(h);
+        Ponto canto = h.getPontos().get(0);
+        int cx = cellOf(canto.getX());
+        int cy = cellOf(canto.getY());
+        if (tamanho == corpo.length) {
+            aumentarCapacidade();
+        }
+        cabeca = (cabeca - 1) & (corpo.length - 1);
+        corpo[cabeca] = pack(cx, cy);
+        tamanho++;
+        ultimaCauda = getTailCell();
+        ocupacao.set(cx, cy);
 
         // Define uma direção inicial aleatória para a cobra (em graus)
-        this.direction = (int) (Math.random() * 360);
+        this.direction = random.nextInt(360);
     }
 
     /**
@@ -104,51 +178,36 @@ public class Snake {
      * @return true se a cobra comeu o alimento, caso contrário false.
      */
     public boolean CheckFoodEaten(AbstractFood<?> fruit) {
-        Poligono square;
-        if (snake.size() >= 2) {
-            // Se a cobra tem pelo menos dois quadrados, combina os quadrados 0 e 1
-            Poligono square0 = snake.get(0);
-            Poligono square1 = snake.get(1);
-            square = square0.combine(square1);
-        } else {
-            // Se a cobra tem apenas um quadrado, usa apenas esse quadrado
-            square = snake.get(0);
+        // Caixa da cabeça, combinada com o segundo quadrado quando a cobra tem pelo
+        // menos dois
+        int cabecaCelula = getHeadCell();
+        int minCx = cellX(cabecaCelula);
+        int minCy = cellY(cabecaCelula);
+        int maxCx = minCx;
+        int maxCy = minCy;
+        if (tamanho >= 2) {
+            int pescoco = getCell(1);
+            minCx = Math.min(minCx, cellX(pescoco));
+            minCy = Math.min(minCy, cellY(pescoco));
+            maxCx = Math.max(maxCx, cellX(pescoco));
+            maxCy = Math.max(maxCy, cellY(pescoco));
         }
 
-        // Verifica se a comida está contida no quadrado
-        boolean isContained = fruit.isContainedIn(square);
-
-        // Retorna true se a comida foi comida, caso contrário false
-        return isContained;
+        // Verifica se a comida está contida na caixa, sem criar polígonos
+        return fruit.isContainedIn(minCx * headDimensions, minCy * headDimensions,
+                (maxCx + 1) * headDimensions, (maxCy + 1) * headDimensions);
     }
 
     /**
      * Verifica se houve colisão da cobra com o próprio corpo.
      * 
+     * A colisão é detetada em O(1) no momento em que a cabeça entra numa célula
+     * já ocupada pelo corpo (ou em que a cobra cresce sobre a cabeça).
+     * 
      * @return true se houve colisão, caso contrário false.
      */
     public boolean checkSnakeSelfCollision() {
-        // Itera sobre os quadrados do corpo da cobra
-        for (int i = 1; i < snake.size(); i++) {
-            if (snake.get(0).intersect2(snake.get(i))) {
-                // Se houver interseção, significa que a cabeça da cobra bateu em alguma parte
-                return true;
-            }
-
-            // Verifica se os 4 pontos da cabeça são iguais aos 4 pontos de qualquer outra
-            // parte do corpo
-            Square bodyPart = snake.get(i);
-            List<Ponto> headPoints = snake.get(0).getPontos();
-            List<Ponto> bodyPartPoints = bodyPart.getPontos();
-
-            if (headPoints.containsAll(bodyPartPoints) && bodyPartPoints.containsAll(headPoints)) {
-                // Se todos os pontos são iguais, houve colisão
-                return true;
-            }
-        }
-
-        // Se não houve interseção, significa que não houve colisão com o próprio corpo
-        return false;
+        return colisaoPropria;
     }
 
     /**
@@ -162,22 +221,12 @@ public class Snake {
         int arenaWidth = arenaDimensions[0];
         int arenaHeight = arenaDimensions[1];
 
-        // Itera sobre os quadrados da cobra
-        for (Square square : snake) {
-            // Obtém os pontos do quadrado
-            List<Ponto> squareCoordinates = square.getAllCoordinates();
-
-            // Verifica cada ponto do quadrado
-            for (Ponto point : squareCoordinates) {
-                // Verifica se o ponto está fora dos limites da arena
-                if (point.getX() < 0 || point.getX() > arenaWidth || point.getY() < 0
-                        || point.getY() > arenaHeight) {
-                    // Se algum ponto estiver fora dos limites, a cobra saiu da arena
-                    return true;
-                }
-            }
-        }
-        return false;
+        // O corpo segue sempre o caminho da cabeça, por isso basta verificar a
+        // cabeça
+        int cabecaCelula = getHeadCell();
+        int x = cellX(cabecaCelula) * headDimensions;
+        int y = cellY(cabecaCelula) * headDimensions;
+        return x < 0 || x + headDimensions > arenaWidth || y < 0 || y + headDimensions > arenaHeight;
     }
 
     /**
@@ -188,17 +237,11 @@ public class Snake {
      * @return true se houve colisão com algum obstáculo, caso contrário false.
      */
     public boolean checkSnakeObstacleColision(Snake s, ArrayList<Obstacle> obstacles) {
-        // Obtém os quadrados da cobra
-        List<Square> squares = s.getSnake();
-
-        // Itera sobre os quadrados da cobra
-        for (Square square : squares) {
-            // Verifica se algum quadrado intersecta os polígonos dos obstáculos
-            for (Obstacle obstacle : obstacles) {
-                if (square.contains(obstacle.getObstacle()) || square.distance(obstacle.getObstacle())) {
-                    // Se houver interseção, a cobra colidiu com um obstáculo
-                    return true;
-                }
+        // Verifica as células cobertas por cada obstáculo na grelha da cobra
+        for (Obstacle obstacle : obstacles) {
+            if (s.ocupacao.intersects(obstacle.getObstacle())) {
+                // Se houver interseção, a cobra colidiu com um obstáculo
+                return true;
             }
         }
 
@@ -206,13 +249,45 @@ public class Snake {
         return false;
     }
 
+    /**
+     * Verifica se alguma parte da cobra ocupa uma célula marcada na grelha de
+     * obstáculos.
+     * 
+     * @param obstaculos A grelha de ocupação dos obstáculos.
+     * @return true se houve colisão com algum obstáculo, caso contrário false.
+     */
+    public boolean checkSnakeObstacleColision(OccupancyGrid obstaculos) {
+        return ocupacao.intersects(obstaculos);
+    }
+
+    /**
+     * Verifica se a cabeça da cobra ocupa uma célula marcada na grelha de
+     * obstáculos. Suficiente a cada tick enquanto os obstáculos não se movem.
+     * 
+     * @param obstaculos A grelha de ocupação dos obstáculos.
+     * @return true se a cabeça colidiu com algum obstáculo, caso contrário false.
+     */
+    public boolean checkHeadObstacleColision(OccupancyGrid obstaculos) {
+        int cabecaCelula = getHeadCell();
+        return obstaculos.get(cellX(cabecaCelula), cellY(cabecaCelula));
+    }
+
+    /**
+     * Obtém a grelha de ocupação da cobra.
+     * 
+     * @return A grelha com as células ocupadas pela cobra.
+     */
+    public OccupancyGrid getOccupancy() {
+        return ocupacao;
+    }
+
     /**
      * Obtém a cabeça da cobra.
      * 
      * @return A cabeça da cobra.
      */
     public Square getHead() {
-        return snake.getFirst();
+        return toSquare(getHeadCell());
     }
 
     /**
@@ -221,67 +296,217 @@ public class Snake {
      * @return A lista encadeada de quadrados representando a cauda da cobra.
      */
     public LinkedList<Square> getTailCoordinates() {
-        return new LinkedList<>(snake.subList(1, snake.size()));
+        LinkedList<Square> cauda = new LinkedList<>();
+        for (int i = 1; i < tamanho; i++) {
+            cauda.add(toSquare(getCell(i)));
+        }
+        return cauda;
+    }
+
+    /**
+     * Obtém o número de quadrados da cobra.
+     * 
+     * @return O tamanho da cobra.
+     */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Obtém a célula compactada de um quadrado do corpo.
+     * 
+     * @param i O índice do quadrado, sendo 0 a cabeça.
+     * @return A célula compactada (ver {@link #pack(int, int)}).
+     */
+    public int getCell(int i) {
+        if (i < 0 || i >= tamanho) {
+            throw new IndexOutOfBoundsException("Índice " + i + " fora da cobra de tamanho " + tamanho);
+        }
+        return corpo[(cabeca + i) & (corpo.length - 1)];
+    }
+
+    /**
+     * Copia as células compactadas da cobra para um array novo.
+     * 
+     * @return As células, da cabeça para a cauda.
+     */
+    public int[] toCellArray() {
+        int[] cells = new int[tamanho];
+        int primeiros = Math.min(tamanho, corpo.length - cabeca);
+        System.arraycopy(corpo, cabeca, cells, 0, primeiros);
+        System.arraycopy(corpo, 0, cells, primeiros, tamanho - primeiros);
+        return cells;
+    }
+
+    /**
+     * Obtém a célula compactada da cabeça da cobra.
+     * 
+     * @return A célula da cabeça.
+     */
+    public int getHeadCell() {
+        return corpo[cabeca];
+    }
+
+    /**
+     * Obtém a célula compactada do último quadrado da cobra.
+     * 
+     * @return A célula da cauda.
+     */
+    public int getTailCell() {
+        return corpo[(cabeca + tamanho - 1) & (corpo.length - 1)];
+    }
+
+    /**
+     * Obtém a célula compactada que a cauda ocupava antes do último movimento.
+     * 
+     * @return A célula libertada pelo último movimento.
+     */
+    public int getLastTailCell() {
+        return ultimaCauda;
+    }
+
+    /**
+     * Compacta as coordenadas de uma célula num int.
+     * 
+     * @param cx A coluna da célula.
+     * @param cy A linha da célula.
+     * @return A célula compactada.
+     */
+    public static int pack(int cx, int cy) {
+        return (cx << 16) | (cy & 0xFFFF);
+    }
+
+    /**
+     * Obtém a coluna de uma célula compactada.
+     * 
+     * @param cell A célula compactada.
+     * @return A coluna da célula.
+     */
+    public static int cellX(int cell) {
+        return cell >> 16;
+    }
+
+    /**
+     * Obtém a linha de uma célula compactada.
+     * 
+     * @param cell A célula compactada.
+     * @return A linha da célula.
+     */
+    public static int cellY(int cell) {
+        return (short) cell;
     }
 
     /**
      * Move a cobra em direção à direção atual.
      */
     public void move() {
-        // Guarda a posição da última cauda antes de movê-la
-        lastTailPosition = snake.getLast().getPontos().get(0);
+        // Guarda a posição da última cauda e retira-a do corpo
+        ultimaCauda = getTailCell();
+        // A cauda liberta a sua célula
+        ocupacao.clear(cellX(ultimaCauda), cellY(ultimaCauda));
 
         // Calcula os deslocamentos horizontal e vertical com base na direção
         int xMove = 0;
         int yMove = 0;
         switch (this.direction) {
             case 0:
-                xMove = headDimensions; // direita
+                xMove = 1; // direita
                 break;
             case 90:
-                yMove = headDimensions; // baixo
+                yMove = 1; // baixo
                 break;
             case 180:
-                xMove = -headDimensions; // esquerda
+                xMove = -1; // esquerda
                 break;
             case 270:
-                yMove = -headDimensions; // cima
+                yMove = -1; // cima
                 break;
             default:
                 break;
         }
 
-        // Move o restante da cobra
-        for (int i = snake.size() - 1; i > 0; i--) {
-            // Obtém o quadrado anterior
-            Square previous = snake.get(i - 1);
-            // Move o quadrado atual para a posição do quadrado anterior
-            snake.set(i, previous);
-        }
-
-        // Move a cabeça da cobra na nova posição
-        Square head = snake.getFirst();
-        snake.set(0, head.translacaoSemPonto(xMove, yMove));
-
+        // A nova cabeça ocupa a posição anterior à cabeça atual no buffer; a cauda
+        // sai implicitamente por o tamanho se manter
+        int cabecaCelula = getHeadCell();
+        int cx = cellX(cabecaCelula) + xMove;
+        int cy = cellY(cabecaCelula) + yMove;
+        cabeca = (cabeca - 1) & (corpo.length - 1);
+        corpo[cabeca] = pack(cx, cy);
+
+        // A cabeça ocupa a nova célula
+        colisaoPropria = ocupacao.get(cx, cy);
+        ocupacao.set(cx, cy);
     }
 
     /**
      * Faz a cobra crescer adicionando um novo quadrado à cauda.
      */
     public void grow() {
-        // Calcula as coordenadas do novo quadrado com base na posição da última cauda
-        int xNewSquare = (int) lastTailPosition.getX(); // Mantém a mesma coordenada X da última cauda
-        int yNewSquare = (int) lastTailPosition.getY(); // Mantém a mesma coordenada Y da última cauda
+        // O novo quadrado fica na posição da última cauda
+        if (tamanho == corpo.length) {
+            aumentarCapacidade();
+        }
+        corpo[(cabeca + tamanho) & (corpo.length - 1)] = ultimaCauda;
+        tamanho++;
+
+        // Ocupa a célula da nova cauda
+        int cx = cellX(ultimaCauda);
+        int cy = cellY(ultimaCauda);
+        colisaoPropria |= ocupacao.get(cx, cy);
+        ocupacao.set(cx, cy);
+    }
 
-        // Cria um novo quadrado com as coordenadas calculadas e o mesmo tamanho da
-        // cabeça
-        String newSquareCoordinates = xNewSquare + " " + yNewSquare + " " +
-                (xNewSquare + headDimensions) + " " + yNewSquare + " " +
-                (xNewSquare + headDimensions) + " " + (yNewSquare + headDimensions) + " " +
-                xNewSquare + " " + (yNewSquare + headDimensions);
+    /**
+     * Duplica a capacidade do buffer circular, colocando a cabeça no índice 0.
+     */
+    private void aumentarCapacidade() {
+        int[] novo = new int[corpo.length << 1];
+        for (int i = 0; i < tamanho; i++) {
+            novo[i] = corpo[(cabeca + i) & (corpo.length - 1)];
+        }
+        corpo = novo;
+        cabeca = 0;
+    }
 
-        // Adiciona o novo quadrado após o último quadrado da lista
-        snake.add(new Square(newSquareCoordinates));
+    /**
+     * Calcula a menor potência de 2 capaz de guardar um dado número de quadrados.
+     * 
+     * @param n O número de quadrados.
+     * @return A capacidade do buffer.
+     */
+    private static int capacidadePara(int n) {
+        int capacidade = CAPACIDADE_INICIAL;
+        while (capacidade < n) {
+            capacidade <<= 1;
+        }
+        return capacidade;
+    }
+
+    /**
+     * Cria o quadrado correspondente a uma célula compactada.
+     * 
+     * @param cell A célula compactada.
+     * @return O quadrado com o tamanho da cabeça nessa célula.
+     */
+    private Square toSquare(int cell) {
+        int x = cellX(cell) * headDimensions;
+        int y = cellY(cell) * headDimensions;
+        List<Ponto> pontos = new ArrayList<>(4);
+        pontos.add(new Ponto(x, y));
+        pontos.add(new Ponto(x + headDimensions, y));
+        pontos.add(new Ponto(x + headDimensions, y + headDimensions));
+        pontos.add(new Ponto(x, y + headDimensions));
+        return new Square(pontos);
+    }
+
+    /**
+     * Converte uma coordenada em pixels na célula correspondente.
+     * 
+     * @param coordinate A coordenada em pixels.
+     * @return O índice da célula.
+     */
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / headDimensions);
     }
 
     /**
@@ -292,8 +517,8 @@ public class Snake {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (Square square : snake) {
-            sb.append(square.toString()).append("\n");
+        for (int i = 0; i < tamanho; i++) {
+            sb.append(toSquare(getCell(i)).toString()).append("\n");
         }
         return sb.toString();
     }
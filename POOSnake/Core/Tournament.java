@@ -0,0 +1,174 @@
+package Core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Torneio de estratégias de movimento: corre muitos jogos sem interface em
+ * paralelo, num {@link ForkJoinPool}, e junta os resultados.
+ *
+ * Cada jogo tem a sua arena, criada a partir de uma semente, e a sua própria
+ * instância da estratégia, pelo que os jogos não partilham estado e os
+ * resultados de cada semente não dependem do número de threads. Além da
+ * pontuação, do tamanho e dos ticks de cada jogo, é medido o tempo que a
+ * estratégia demora a decidir cada tick.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class Tournament implements AutoCloseable {
+    private final LongFunction<Arena> arenas;
+    private final int maxTicks;
+    private final ForkJoinPool pool;
+
+    /**
+     * Construtor do torneio.
+     *
+     * @param arenas      Cria a arena de um jogo a partir da sua semente.
+     * @param maxTicks    O número máximo de ticks de cada jogo.
+     * @param parallelism O número de jogos a correr ao mesmo tempo.
+     */
+    public Tournament(LongFunction<Arena> arenas, int maxTicks, int parallelism) {
+        this.arenas = arenas;
+        this.maxTicks = maxTicks;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Corre um jogo por semente, de primeiraSemente a primeiraSemente + jogos - 1.
+     *
+     * @param nome            O nome da estratégia, usado nos relatórios.
+     * @param estrategias     Cria uma instância da estratégia para uma arena; a
+     *                        estratégia não pode usar temporizadores.
+     * @param primeiraSemente A semente do primeiro jogo.
+     * @param jogos           O número de jogos.
+     * @return Os resultados, pela ordem das sementes.
+     */
+    public TournamentResult run(String nome, Function<Arena, MovementStrategy> estrategias, long primeiraSemente,
+            int jogos) {
+        List<Callable<Jogo>> tarefas = new ArrayList<>(jogos);
+        for (int i = 0; i < jogos; i++) {
+            long semente = primeiraSemente + i;
+            tarefas.add(() -> jogar(estrategias, semente));
+        }
+        List<TournamentResult.Game> resultados = new ArrayList<>(jogos);
+        LatencyHistogram latencias = new LatencyHistogram();
+        try {
+            for (Future<Jogo> futuro : pool.invokeAll(tarefas)) {
+                Jogo jogo = futuro.get();
+                resultados.add(jogo.resultado);
+                latencias.merge(jogo.latencias);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Torneio interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro num jogo do torneio", e.getCause());
+        }
+        return new TournamentResult(nome, resultados, latencias);
+    }
+
+    /**
+     * Resultado de um jogo e as latências das suas decisões.
+     */
+    private static final class Jogo {
+        private final TournamentResult.Game resultado;
+        private final LatencyHistogram latencias;
+
+        private Jogo(TournamentResult.Game resultado, LatencyHistogram latencias) {
+            this.resultado = resultado;
+            this.latencias = latencias;
+        }
+    }
+
+    /**
+     * Joga um jogo até ao fim ou até ao limite de ticks.
+     *
+     * @param estrategias Cria a estratégia do jogo.
+     * @param semente     A semente do jogo.
+     * @return O resultado do jogo.
+     */
+    private Jogo jogar(Function<Arena, MovementStrategy> estrategias, long semente) {
+        Arena arena = arenas.apply(semente);
+        MovementStrategy estrategia = estrategias.apply(arena);
+        GameEngine engine = new GameEngine(arena);
+        LatencyHistogram latencias = new LatencyHistogram();
+        Snake snake = arena.getS();
+        while (!arena.getOutcome().isOver() && engine.getTicks() < maxTicks) {
+            long inicio = System.nanoTime();
+            int direcao = estrategia.nextDirection(snake.getDirection());
+            latencias.record(System.nanoTime() - inicio);
+            snake.setDirection(direcao);
+            engine.step();
+        }
+        TournamentResult.Game resultado = new TournamentResult.Game(semente, arena.getPoints(), snake.size(),
+                engine.getTicks(), arena.getOutcome());
+        return new Jogo(resultado, latencias);
+    }
+
+    /**
+     * Termina as threads do torneio.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Compara as estratégias automáticas numa arena de 20x20, escrevendo um CSV
+     * com todos os jogos e um resumo em JSON. A estratégia automática joga com
+     * 4 obstáculos estáticos e sem obstáculos; a hamiltoniana só joga sem
+     * obstáculos, porque com obstáculos não tem ciclo e usaria a procura da
+     * automática.
+     *
+     * Argumentos (todos opcionais): número de jogos, ficheiro CSV e número de
+     * threads.
+     *
+     * @param args Os argumentos da linha de comandos.
+     * @throws IOException Se não for possível escrever o CSV.
+     */
+    public static void main(String[] args) throws IOException {
+        int jogos = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Path csv = Paths.get(args.length > 1 ? args[1] : "tournament.csv");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Function<Arena, MovementStrategy> automatica = arena -> new AutomaticMovementStrategy(arena, false);
+        Function<Arena, MovementStrategy> hamiltoniana = arena -> new HamiltonianMovementStrategy(arena, false);
+
+        List<TournamentResult> resultados = new ArrayList<>();
+        try (Tournament comObstaculos = new Tournament(
+                semente -> new Arena(20, 20, 1, 1, FoodType.S, 4, Obstacle.ObstacleType.S, null, 0, 1, semente),
+                100000, threads);
+                Tournament semObstaculos = new Tournament(
+                        semente -> new Arena(20, 20, 1, 1, FoodType.S, 0, Obstacle.ObstacleType.S, null, 0, 1, semente),
+                        100000, threads)) {
+            resultados.add(comObstaculos.run("automatic", automatica, 0, jogos));
+            resultados.add(semObstaculos.run("automatic-no-obstacles", automatica, 0, jogos));
+            resultados.add(semObstaculos.run("hamiltonian", hamiltoniana, 0, jogos));
+        }
+
+        try (Writer out = Files.newBufferedWriter(csv)) {
+            out.write(TournamentResult.csvHeader());
+            out.write('\n');
+            for (TournamentResult resultado : resultados) {
+                resultado.writeCsv(out);
+            }
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (TournamentResult resultado : resultados) {
+            json.append(json.length() > 1 ? ",\n" : "\n").append(resultado.toJson());
+        }
+        System.out.println(json.append("\n]"));
+    }
+}
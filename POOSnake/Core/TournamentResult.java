@@ -0,0 +1,210 @@
+package Core;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultados de uma estratégia de movimento num torneio: um registo por jogo
+ * e o histograma das latências de decisão de todos os ticks.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class TournamentResult {
+
+    /**
+     * Resultado de um jogo.
+     */
+    public static final class Game {
+        private final long seed;
+        private final int score;
+        private final int length;
+        private final long ticks;
+        private final GameOutcome outcome;
+
+        /**
+         * Construtor do resultado de um jogo.
+         *
+         * @param seed    A semente do jogo.
+         * @param score   A pontuação final.
+         * @param length  O tamanho final da cobra.
+         * @param ticks   O número de ticks jogados.
+         * @param outcome O estado final do jogo.
+         */
+        public Game(long seed, int score, int length, long ticks, GameOutcome outcome) {
+            this.seed = seed;
+            this.score = score;
+            this.length = length;
+            this.ticks = ticks;
+            this.outcome = outcome;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public GameOutcome getOutcome() {
+            return outcome;
+        }
+    }
+
+    private final String strategy;
+    private final List<Game> games;
+    private final LatencyHistogram latencies;
+
+    /**
+     * Construtor dos resultados de uma estratégia.
+     *
+     * @param strategy  O nome da estratégia.
+     * @param games     Os resultados dos jogos, pela ordem das sementes.
+     * @param latencies O histograma das latências de decisão, em nanossegundos.
+     */
+    public TournamentResult(String strategy, List<Game> games, LatencyHistogram latencies) {
+        this.strategy = strategy;
+        this.games = Collections.unmodifiableList(games);
+        this.latencies = latencies;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public List<Game> getGames() {
+        return games;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Calcula a pontuação média dos jogos.
+     *
+     * @return A pontuação média.
+     */
+    public double getMeanScore() {
+        return games.stream().mapToInt(Game::getScore).average().orElse(0);
+    }
+
+    /**
+     * Obtém a melhor pontuação dos jogos.
+     *
+     * @return A pontuação máxima.
+     */
+    public int getMaxScore() {
+        return games.stream().mapToInt(Game::getScore).max().orElse(0);
+    }
+
+    /**
+     * Calcula o tamanho final médio da cobra.
+     *
+     * @return O tamanho médio.
+     */
+    public double getMeanLength() {
+        return games.stream().mapToInt(Game::getLength).average().orElse(0);
+    }
+
+    /**
+     * Calcula o número médio de ticks jogados.
+     *
+     * @return O número médio de ticks.
+     */
+    public double getMeanTicks() {
+        return games.stream().mapToLong(Game::getTicks).average().orElse(0);
+    }
+
+    /**
+     * Conta os jogos que terminaram em cada estado.
+     *
+     * @return O número de jogos por estado final.
+     */
+    public Map<GameOutcome, Integer> getOutcomeCounts() {
+        Map<GameOutcome, Integer> contagens = new EnumMap<>(GameOutcome.class);
+        for (GameOutcome outcome : GameOutcome.values()) {
+            contagens.put(outcome, 0);
+        }
+        for (Game game : games) {
+            contagens.merge(game.getOutcome(), 1, Integer::sum);
+        }
+        return contagens;
+    }
+
+    /**
+     * Obtém o cabeçalho do CSV escrito por {@link #writeCsv(Appendable)}.
+     *
+     * @return A linha de cabeçalho, sem fim de linha.
+     */
+    public static String csvHeader() {
+        return "strategy,seed,score,length,ticks,outcome";
+    }
+
+    /**
+     * Escreve uma linha de CSV por jogo, sem cabeçalho.
+     *
+     * @param out O destino.
+     * @throws IOException Se não for possível escrever.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        for (Game game : games) {
+            out.append(strategy).append(',')
+                    .append(Long.toString(game.getSeed())).append(',')
+                    .append(Integer.toString(game.getScore())).append(',')
+                    .append(Integer.toString(game.getLength())).append(',')
+                    .append(Long.toString(game.getTicks())).append(',')
+                    .append(game.getOutcome().name()).append('\n');
+        }
+    }
+
+    /**
+     * Resume os resultados num objeto JSON.
+     *
+     * @return O resumo em JSON.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"strategy\":\"").append(strategy.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        sb.append(",\"games\":").append(games.size());
+        sb.append(",\"score\":{\"mean\":").append(decimal(getMeanScore()))
+                .append(",\"max\":").append(getMaxScore()).append('}');
+        sb.append(",\"length\":{\"mean\":").append(decimal(getMeanLength())).append('}');
+        sb.append(",\"ticks\":{\"mean\":").append(decimal(getMeanTicks())).append('}');
+        sb.append(",\"outcomes\":{");
+        boolean primeiro = true;
+        for (Map.Entry<GameOutcome, Integer> entrada : getOutcomeCounts().entrySet()) {
+            if (!primeiro) {
+                sb.append(',');
+            }
+            primeiro = false;
+            sb.append('"').append(entrada.getKey().name()).append("\":").append(entrada.getValue());
+        }
+        sb.append('}');
+        sb.append(",\"decisionNanos\":{\"count\":").append(latencies.getCount())
+                .append(",\"mean\":").append(decimal(latencies.getMean()))
+                .append(",\"p50\":").append(latencies.getPercentile(50))
+                .append(",\"p90\":").append(latencies.getPercentile(90))
+                .append(",\"p99\":").append(latencies.getPercentile(99))
+                .append(",\"p999\":").append(latencies.getPercentile(99.9))
+                .append(",\"max\":").append(latencies.getMax()).append('}');
+        return sb.append('}').toString();
+    }
+
+    private static String decimal(double valor) {
+        return String.format(Locale.ROOT, "%.2f", valor);
+    }
+}
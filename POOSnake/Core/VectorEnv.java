@@ -0,0 +1,469 @@
+package Core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Ambiente vetorial para aprendizagem por reforço: K jogos independentes,
+ * avançados em conjunto por uma única chamada a {@link #step(int[])}.
+ *
+ * O estado dos K jogos fica em arrays primitivos partilhados (estrutura de
+ * arrays), um bloco por jogo: a grelha de cada jogo em {@code byte}, a cobra
+ * num buffer circular de índices de células e a comida, a pontuação, os ticks
+ * e o gerador de cada jogo em arrays de tamanho K. Uma {@link Arena} só é
+ * criada quando um jogo recomeça, para sortear os obstáculos e a posição
+ * inicial da cobra como no jogo normal; a partir daí o jogo avança sem
+ * objetos. As regras do movimento são as da {@link Arena}, à resolução da
+ * cabeça, com obstáculos estáticos.
+ *
+ * Os resultados de cada passo são escritos num único {@link ByteBuffer}
+ * direto, na ordem nativa, que pode ser lido por outro processo ou biblioteca
+ * sem cópias:
+ * <ul>
+ * <li>a partir de {@link #rewardOffset()}, K {@code float} com a recompensa de
+ * cada jogo: 1 por comida, -1 por colisão, 0 nos restantes casos;</li>
+ * <li>a partir de {@link #doneOffset()}, K {@code byte}: 0 se o jogo continua,
+ * {@link #TERMINATED} se acabou e {@link #TRUNCATED} se atingiu o limite de
+ * ticks;</li>
+ * <li>a partir de {@link #observationOffset(int)}, a observação de cada jogo,
+ * com {@link #observationSize()} bytes: a grelha inteira, linha a linha, ou um
+ * recorte quadrado centrado na cabeça, com as células fora da arena marcadas
+ * como obstáculos.</li>
+ * </ul>
+ * Um jogo que acaba recomeça logo no mesmo passo, pelo que a sua observação
+ * já é a do jogo seguinte.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class VectorEnv {
+
+    /**
+     * Formato das observações.
+     */
+    public enum ObservationMode {
+        /** A grelha inteira do jogo. */
+        GRID,
+        /** Um recorte quadrado centrado na cabeça. */
+        CROP
+    }
+
+    /** Célula vazia. */
+    public static final byte EMPTY = 0;
+    /** Obstáculo ou célula fora da arena. */
+    public static final byte OBSTACLE = 1;
+    /** Corpo da cobra. */
+    public static final byte BODY = 2;
+    /** Cabeça da cobra. */
+    public static final byte HEAD = 3;
+    /** Comida. */
+    public static final byte FOOD = 4;
+
+    /** Jogo terminado por colisão ou por a arena estar cheia. */
+    public static final byte TERMINATED = 1;
+    /** Jogo interrompido por atingir o limite de ticks. */
+    public static final byte TRUNCATED = 2;
+
+    // Ações 0 a 3, correspondentes às direções 0, 90, 180 e 270 graus
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final int jogos;
+    private final int cols;
+    private final int rows;
+    private final int n;
+    private final int capacidade;
+    private final int obstaculos;
+    private final int maxTicks;
+    private final long semente;
+    private final ObservationMode mode;
+    private final int raio;
+
+    // Estado dos jogos: o jogo k usa as posições [k * n, (k + 1) * n) da
+    // grelha e [k * capacidade, (k + 1) * capacidade) do corpo
+    private final byte[] grelha;
+    private final int[] corpo;
+    private final int[] cabeca;
+    private final int[] tamanho;
+    private final int[] comida;
+    private final int[] pontos;
+    private final int[] ticks;
+    private final long[] episodios;
+    private final long[] gerador;
+    // Semente da arena de onde veio o jogo atual
+    private final long[] sementes;
+
+    private final ByteBuffer buffer;
+    private final int inicioDone;
+    private final int inicioObservacoes;
+    private final int tamanhoObservacao;
+
+    /**
+     * Construtor do ambiente. Os jogos começam todos com {@link #reset()}.
+     *
+     * @param games      O número de jogos, K.
+     * @param cols       O número de colunas da arena.
+     * @param rows       O número de linhas da arena.
+     * @param obstacles  O número de obstáculos estáticos de cada jogo.
+     * @param maxTicks   O número máximo de ticks de cada jogo.
+     * @param seed       A semente dos jogos.
+     * @param mode       O formato das observações.
+     * @param cropRadius O raio do recorte em {@link ObservationMode#CROP}: o
+     *                   recorte tem 2 * raio + 1 células de lado.
+     */
+    public VectorEnv(int games, int cols, int rows, int obstacles, int maxTicks, long seed, ObservationMode mode,
+            int cropRadius) {
+        if (games < 1 || cols < 1 || rows < 1) {
+            throw new IllegalArgumentException("O número de jogos e as dimensões devem ser positivos");
+        }
+        if (mode == ObservationMode.CROP && cropRadius < 0) {
+            throw new IllegalArgumentException("O raio do recorte não pode ser negativo");
+        }
+        this.jogos = games;
+        this.cols = cols;
+        this.rows = rows;
+        this.n = cols * rows;
+        // Uma posição a mais para a cauda antiga quando a cobra cresce
+        this.capacidade = n + 1;
+        this.obstaculos = obstacles;
+        this.maxTicks = maxTicks;
+        this.semente = seed;
+        this.mode = mode;
+        this.raio = cropRadius;
+
+        this.grelha = new byte[games * n];
+        this.corpo = new int[games * capacidade];
+        this.cabeca = new int[games];
+        this.tamanho = new int[games];
+        this.comida = new int[games];
+        this.pontos = new int[games];
+        this.ticks = new int[games];
+        this.episodios = new long[games];
+        this.gerador = new long[games];
+        this.sementes = new long[games];
+
+        int lado = 2 * cropRadius + 1;
+        this.tamanhoObservacao = mode == ObservationMode.GRID ? n : lado * lado;
+        this.inicioDone = 4 * games;
+        // As observações começam num múltiplo de 8
+        this.inicioObservacoes = (inicioDone + games + 7) & ~7;
+        this.buffer = ByteBuffer.allocateDirect(inicioObservacoes + games * tamanhoObservacao)
+                .order(ByteOrder.nativeOrder());
+        reset();
+    }
+
+    /**
+     * Recomeça todos os jogos, com recompensas e fins a zero.
+     *
+     * @return O buffer com as observações iniciais.
+     */
+    public ByteBuffer reset() {
+        for (int k = 0; k < jogos; k++) {
+            recomecar(k);
+            buffer.putFloat(4 * k, 0);
+            buffer.put(inicioDone + k, (byte) 0);
+            observar(k);
+        }
+        return buffer;
+    }
+
+    /**
+     * Avança todos os jogos um tick.
+     *
+     * @param actions A ação de cada jogo: 0, 1, 2 ou 3, para as direções 0, 90,
+     *                180 e 270 graus.
+     * @return O buffer com as recompensas, os fins e as observações.
+     */
+    public ByteBuffer step(int[] actions) {
+        if (actions.length != jogos) {
+            throw new IllegalArgumentException("São necessárias " + jogos + " ações");
+        }
+        for (int k = 0; k < jogos; k++) {
+            if (actions[k] < 0 || actions[k] > 3) {
+                throw new IllegalArgumentException("Ação inválida no jogo " + k + ": " + actions[k]);
+            }
+        }
+        for (int k = 0; k < jogos; k++) {
+            avancar(k, actions[k]);
+            observar(k);
+        }
+        return buffer;
+    }
+
+    /**
+     * Avança um jogo um tick e escreve a recompensa e o fim no buffer.
+     */
+    private void avancar(int k, int acao) {
+        int base = k * n;
+        int baseCorpo = k * capacidade;
+        int h = corpo[baseCorpo + cabeca[k]];
+        int cauda = corpo[baseCorpo + indiceCorpo(k, tamanho[k] - 1)];
+        ticks[k]++;
+
+        // A cauda liberta a sua célula antes de a cabeça avançar
+        grelha[base + cauda] = EMPTY;
+        int x = h % cols + DX[acao];
+        int y = h / cols + DY[acao];
+        if (x < 0 || y < 0 || x >= cols || y >= rows || grelha[base + y * cols + x] != EMPTY) {
+            terminar(k, -1, TERMINATED);
+            return;
+        }
+        int destino = y * cols + x;
+        cabeca[k] = cabeca[k] == 0 ? capacidade - 1 : cabeca[k] - 1;
+        corpo[baseCorpo + cabeca[k]] = destino;
+        grelha[base + destino] = BODY;
+
+        float recompensa = 0;
+        if (destino == comida[k]) {
+            // A cauda antiga continua no buffer, logo a seguir à nova cauda
+            tamanho[k]++;
+            grelha[base + cauda] = BODY;
+            pontos[k]++;
+            recompensa = 1;
+            if (!sortearComida(k)) {
+                terminar(k, recompensa, TERMINATED);
+                return;
+            }
+        }
+        if (ticks[k] >= maxTicks) {
+            terminar(k, recompensa, TRUNCATED);
+            return;
+        }
+        buffer.putFloat(4 * k, recompensa);
+        buffer.put(inicioDone + k, (byte) 0);
+    }
+
+    /**
+     * Marca o fim de um jogo e recomeça-o.
+     */
+    private void terminar(int k, float recompensa, byte fim) {
+        buffer.putFloat(4 * k, recompensa);
+        buffer.put(inicioDone + k, fim);
+        recomecar(k);
+    }
+
+    /**
+     * Recomeça um jogo com uma semente nova, copiando os obstáculos e a cobra
+     * de uma arena criada com essa semente.
+     */
+    private void recomecar(int k) {
+        long sementeJogo = misturar(semente + misturar(k + 1L) + episodios[k]++);
+        sementes[k] = sementeJogo;
+        Arena arena = new Arena(cols, rows, 1, 1, FoodType.S, obstaculos, Obstacle.ObstacleType.S, null, 0, 1,
+                sementeJogo);
+        OccupancyGrid grelhaObstaculos = arena.getObstacleGrid();
+        int base = k * n;
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                grelha[base + y * cols + x] = grelhaObstaculos.get(x, y) ? OBSTACLE : EMPTY;
+            }
+        }
+        Snake snake = arena.getS();
+        int baseCorpo = k * capacidade;
+        tamanho[k] = 0;
+        cabeca[k] = 0;
+        for (int i = 0; i < snake.size(); i++) {
+            int cell = snake.getCell(i);
+            int indice = Snake.cellY(cell) * cols + Snake.cellX(cell);
+            corpo[baseCorpo + tamanho[k]++] = indice;
+            grelha[base + indice] = BODY;
+        }
+        pontos[k] = 0;
+        ticks[k] = 0;
+        gerador[k] = sementeJogo == 0 ? 1 : sementeJogo;
+        sortearComida(k);
+    }
+
+    /**
+     * Sorteia uma célula vazia para a comida de um jogo.
+     *
+     * @return false se não houver nenhuma célula vazia.
+     */
+    private boolean sortearComida(int k) {
+        int base = k * n;
+        for (int tentativa = 0; tentativa < 8; tentativa++) {
+            int cell = nextInt(k, n);
+            if (grelha[base + cell] == EMPTY) {
+                comida[k] = cell;
+                return true;
+            }
+        }
+        int inicio = nextInt(k, n);
+        for (int i = 0; i < n; i++) {
+            int cell = inicio + i < n ? inicio + i : inicio + i - n;
+            if (grelha[base + cell] == EMPTY) {
+                comida[k] = cell;
+                return true;
+            }
+        }
+        comida[k] = -1;
+        return false;
+    }
+
+    /**
+     * Escreve a observação de um jogo no buffer.
+     */
+    private void observar(int k) {
+        int base = k * n;
+        int destino = inicioObservacoes + k * tamanhoObservacao;
+        int h = corpo[k * capacidade + cabeca[k]];
+        if (mode == ObservationMode.GRID) {
+            buffer.put(destino, grelha, base, n);
+            buffer.put(destino + h, HEAD);
+            if (comida[k] != -1) {
+                buffer.put(destino + comida[k], FOOD);
+            }
+            return;
+        }
+        int hx = h % cols;
+        int hy = h / cols;
+        int i = destino;
+        for (int y = hy - raio; y <= hy + raio; y++) {
+            for (int x = hx - raio; x <= hx + raio; x++) {
+                byte valor;
+                if (x < 0 || y < 0 || x >= cols || y >= rows) {
+                    valor = OBSTACLE;
+                } else {
+                    int cell = y * cols + x;
+                    valor = cell == h ? HEAD : cell == comida[k] ? FOOD : grelha[base + cell];
+                }
+                buffer.put(i++, valor);
+            }
+        }
+    }
+
+    private int indiceCorpo(int k, int i) {
+        int indice = cabeca[k] + i;
+        return indice < capacidade ? indice : indice - capacidade;
+    }
+
+    /**
+     * Sorteia um inteiro entre 0 e limite - 1 com o gerador de um jogo
+     * (xorshift64*).
+     */
+    private int nextInt(int k, int limite) {
+        long s = gerador[k];
+        s ^= s >>> 12;
+        s ^= s << 25;
+        s ^= s >>> 27;
+        gerador[k] = s;
+        long r = (s * 0x2545F4914F6CDD1DL) >>> 33;
+        return (int) ((r * limite) >>> 31);
+    }
+
+    /**
+     * Mistura os bits de um valor (finalizador do SplitMix64).
+     */
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Obtém o buffer partilhado com as recompensas, os fins e as observações.
+     *
+     * @return O buffer direto, na ordem nativa.
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Obtém a posição no buffer da recompensa do primeiro jogo; a do jogo k
+     * está 4 * k bytes depois.
+     *
+     * @return A posição das recompensas.
+     */
+    public int rewardOffset() {
+        return 0;
+    }
+
+    /**
+     * Obtém a posição no buffer do fim do primeiro jogo; o do jogo k está k
+     * bytes depois.
+     *
+     * @return A posição dos fins.
+     */
+    public int doneOffset() {
+        return inicioDone;
+    }
+
+    /**
+     * Obtém a posição no buffer da observação de um jogo.
+     *
+     * @param game O índice do jogo.
+     * @return A posição da observação.
+     */
+    public int observationOffset(int game) {
+        return inicioObservacoes + game * tamanhoObservacao;
+    }
+
+    /**
+     * Obtém o número de bytes da observação de cada jogo.
+     *
+     * @return O tamanho de uma observação.
+     */
+    public int observationSize() {
+        return tamanhoObservacao;
+    }
+
+    public int getGames() {
+        return jogos;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public ObservationMode getObservationMode() {
+        return mode;
+    }
+
+    /**
+     * Obtém a pontuação do jogo atual de um dos ambientes.
+     *
+     * @param game O índice do jogo.
+     * @return O número de comidas apanhadas desde o último recomeço.
+     */
+    public int getScore(int game) {
+        return pontos[game];
+    }
+
+    /**
+     * Obtém o número de ticks do jogo atual de um dos ambientes.
+     *
+     * @param game O índice do jogo.
+     * @return O número de ticks desde o último recomeço.
+     */
+    public int getTicks(int game) {
+        return ticks[game];
+    }
+
+    /**
+     * Obtém a semente da arena do jogo atual de um dos ambientes. Uma
+     * {@link Arena} com as mesmas dimensões e esta semente tem os mesmos
+     * obstáculos e a mesma cobra inicial; só a comida é sorteada de outra
+     * forma.
+     *
+     * @param game O índice do jogo.
+     * @return A semente da arena.
+     */
+    public long getSeed(int game) {
+        return sementes[game];
+    }
+
+    /**
+     * Obtém o tamanho da cobra de um dos jogos.
+     *
+     * @param game O índice do jogo.
+     * @return O número de células da cobra.
+     */
+    public int getLength(int game) {
+        return tamanho[game];
+    }
+}
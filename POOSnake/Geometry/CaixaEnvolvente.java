@@ -0,0 +1,136 @@
+package Geometry;
+
+/**
+ * Classe que representa a caixa envolvente de uma forma, alinhada com os eixos.
+ * 
+ * Serve para rejeitar rapidamente pares de formas afastadas antes dos testes
+ * de interseção e contenção mais caros.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ * @inv minX <= maxX e minY <= maxY.
+ */
+public final class CaixaEnvolvente {
+    private final double minX; // Limite esquerdo da caixa.
+    private final double minY; // Limite superior da caixa.
+    private final double maxX; // Limite direito da caixa.
+    private final double maxY; // Limite inferior da caixa.
+
+    /**
+     * Construtor da classe CaixaEnvolvente.
+     * 
+     * @param minX limite esquerdo da caixa.
+     * @param minY limite superior da caixa.
+     * @param maxX limite direito da caixa.
+     * @param maxY limite inferior da caixa.
+     */
+    public CaixaEnvolvente(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Calcula a caixa envolvente de um conjunto de vértices.
+     * 
+     * @param xs coordenadas horizontais dos vértices.
+     * @param ys coordenadas verticais dos vértices.
+     * @return a caixa envolvente dos vértices.
+     */
+    static CaixaEnvolvente deVertices(double[] xs, double[] ys) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        return new CaixaEnvolvente(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Verifica se esta caixa e outra se tocam ou sobrepõem.
+     * 
+     * @param outra a outra caixa.
+     * @return true se as caixas se intersectarem, false caso contrário.
+     */
+    public boolean intersecta(CaixaEnvolvente outra) {
+        return intersecta(outra, 0);
+    }
+
+    /**
+     * Verifica se esta caixa, alargada de uma margem em todas as direções,
+     * intersecta outra.
+     * 
+     * @param outra  a outra caixa.
+     * @param margem a margem a acrescentar a esta caixa.
+     * @return true se as caixas se intersectarem, false caso contrário.
+     */
+    public boolean intersecta(CaixaEnvolvente outra, double margem) {
+        return minX - margem <= outra.maxX && outra.minX <= maxX + margem
+                && minY - margem <= outra.maxY && outra.minY <= maxY + margem;
+    }
+
+    /**
+     * Verifica se outra caixa está contida nesta, alargada de uma margem em
+     * todas as direções.
+     * 
+     * @param outra  a outra caixa.
+     * @param margem a margem a acrescentar a esta caixa.
+     * @return true se a outra caixa estiver contida, false caso contrário.
+     */
+    public boolean contem(CaixaEnvolvente outra, double margem) {
+        return minX - margem <= outra.minX && outra.maxX <= maxX + margem
+                && minY - margem <= outra.minY && outra.maxY <= maxY + margem;
+    }
+
+    /**
+     * Obtém o limite esquerdo da caixa.
+     * 
+     * @return o limite esquerdo.
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Obtém o limite superior da caixa.
+     * 
+     * @return o limite superior.
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * Obtém o limite direito da caixa.
+     * 
+     * @return o limite direito.
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Obtém o limite inferior da caixa.
+     * 
+     * @return o limite inferior.
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Retorna uma representação textual da caixa.
+     * 
+     * @return string representando a caixa.
+     */
+    @Override
+    public String toString() {
+        return "Caixa [" + minX + "," + minY + " - " + maxX + "," + maxY + "]";
+    }
+}
@@ -14,6 +14,7 @@ import Core.Shape;
 public class Circle implements Shape {
     Ponto centro; // O centro do círculo
     int raio; // O raio do círculo
+    private CaixaEnvolvente caixa; // Caixa envolvente, calculada quando pedida
 
     /**
      * Construtor para criar um círculo com um centro e raio específicos.
@@ -43,6 +44,7 @@ public class Circle implements Shape {
      */
     public void setCentro(Ponto centro) {
         this.centro = centro;
+        this.caixa = null;
     }
 
     /**
@@ -82,6 +84,22 @@ public class Circle implements Shape {
      */
     public void setRaio(int raio) {
         this.raio = raio;
+        this.caixa = null;
+    }
+
+    /**
+     * Obtém a caixa envolvente do círculo, calculada na primeira chamada depois
+     * de o centro ou o raio mudarem.
+     * 
+     * @return A caixa envolvente do círculo.
+     */
+    @Override
+    public CaixaEnvolvente getCaixaEnvolvente() {
+        if (caixa == null) {
+            caixa = new CaixaEnvolvente(centro.getX() - raio, centro.getY() - raio, centro.getX() + raio,
+                    centro.getY() + raio);
+        }
+        return caixa;
     }
 
     /**
@@ -101,6 +119,11 @@ public class Circle implements Shape {
      * @return true se houver interseção, caso contrário false.
      */
     public boolean intersect(Poligono polygon) {
+        // Um polígono afastado do círculo não o intersecta
+        if (!getCaixaEnvolvente().intersecta(polygon.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono fornecido por argumento
         List<Ponto> polygonCoordinates = polygon.getAllCoordinates();
 
@@ -121,6 +144,11 @@ public class Circle implements Shape {
     }
 
     public boolean intersect(Circle circle) {
+        // Círculos afastados não se intersectam
+        if (!getCaixaEnvolvente().intersecta(circle.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono fornecido por argumento
         List<Ponto> polygonCoordinates = circle.getAllCoordinates();
 
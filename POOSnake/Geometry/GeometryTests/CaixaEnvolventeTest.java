@@ -0,0 +1,57 @@
+package Geometry.GeometryTests;
+
+import org.junit.jupiter.api.Test;
+
+import Geometry.CaixaEnvolvente;
+import Geometry.Circle;
+import Geometry.Ponto;
+import Geometry.Square;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaixaEnvolventeTest {
+
+    @Test
+    void testCaixaDoQuadrado() {
+        Square quadrado = new Square("1 2 4 2 4 5 1 5");
+        CaixaEnvolvente caixa = quadrado.getCaixaEnvolvente();
+        assertEquals(1, caixa.getMinX());
+        assertEquals(2, caixa.getMinY());
+        assertEquals(4, caixa.getMaxX());
+        assertEquals(5, caixa.getMaxY());
+    }
+
+    @Test
+    void testCaixaAtualizadaAoTransladar() {
+        Square quadrado = new Square("0 0 2 0 2 2 0 2");
+        assertEquals(0, quadrado.getCaixaEnvolvente().getMinX());
+        quadrado.transladar(5, 0);
+        assertEquals(5, quadrado.getCaixaEnvolvente().getMinX());
+        assertEquals(7, quadrado.getCaixaEnvolvente().getMaxX());
+        assertEquals(6, quadrado.calcularCentro().getX());
+    }
+
+    @Test
+    void testIntersectaComMargem() {
+        CaixaEnvolvente a = new CaixaEnvolvente(0, 0, 2, 2);
+        CaixaEnvolvente b = new CaixaEnvolvente(3, 0, 5, 2);
+        assertFalse(a.intersecta(b));
+        assertTrue(a.intersecta(b, 1));
+        assertTrue(a.intersecta(new CaixaEnvolvente(2, 2, 3, 3)));
+        assertTrue(a.contem(new CaixaEnvolvente(0, 0, 1, 1), 0));
+        assertFalse(a.contem(b, 0));
+    }
+
+    @Test
+    void testFormasAfastadasNaoSeIntersectam() {
+        Square quadrado = new Square("0 0 2 0 2 2 0 2");
+        Square longe = new Square("50 50 52 50 52 52 50 52");
+        Circle circulo = new Circle(new Ponto(60, 60), 4);
+        assertFalse(quadrado.intersect(longe));
+        assertFalse(quadrado.intersect(circulo));
+        assertFalse(circulo.intersect(quadrado));
+        assertFalse(quadrado.contains(longe));
+        assertFalse(quadrado.distance(longe));
+        assertTrue(quadrado.intersect(new Square("2 2 0 2 0 0 2 0")));
+    }
+}
@@ -69,4 +69,36 @@ class QuadradoTest {
         assertEquals(pontosEsperados, quadradoTransladado.getPontos());
     }
 
+    @Test
+    void testTransladar() {
+        Square quadrado = new Square("0 0 2 0 2 2 0 2");
+        quadrado.transladar(3, 1);
+        assertEquals(4, quadrado.numPontos());
+        assertEquals(3, quadrado.getX(0));
+        assertEquals(1, quadrado.getY(0));
+        assertEquals(5, quadrado.getX(2));
+        assertEquals(3, quadrado.getY(2));
+        assertEquals(new Square("3 1 5 1 5 3 3 3"), quadrado);
+    }
+
+    @Test
+    void testRotacionarNaoAlteraOriginal() {
+        Square quadrado = new Square("0 0 2 0 2 2 0 2");
+        Square quadradoRotacionado = quadrado.rotacionar(90, new Ponto(1, 1));
+        assertEquals(new Square("0 0 2 0 2 2 0 2"), quadrado);
+        // Rodar 90 graus em torno do centro mantém o mesmo conjunto de arestas
+        assertEquals(2, quadradoRotacionado.tamanhoLado(), 1e-9);
+        assertEquals(1, quadradoRotacionado.calcularCentro().getX(), 1e-9);
+        assertEquals(1, quadradoRotacionado.calcularCentro().getY(), 1e-9);
+    }
+
+    @Test
+    void testEqualsOrdemDiferente() {
+        Square quadrado = new Square("0 0 2 0 2 2 0 2");
+        Square mesmoQuadrado = new Square("2 2 0 2 0 0 2 0");
+        assertEquals(quadrado, mesmoQuadrado);
+        assertEquals(quadrado.hashCode(), mesmoQuadrado.hashCode());
+        assertNotEquals(quadrado, new Square("0 0 3 0 3 3 0 3"));
+    }
+
 }
@@ -1,7 +1,6 @@
 package Geometry;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
@@ -10,13 +9,24 @@ import Core.Shape;
 /**
  * Classe que representa um polígono.
  * 
+ * Os vértices são guardados em dois arrays de coordenadas, sem objetos Ponto
+ * nem segmentos por vértice. Os segmentos de reta só são criados quando
+ * pedidos, e as transformações de um polígono já validado não voltam a
+ * validá-lo.
+ * 
  * @version Versão 1.0 10/05/2024
  * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
  * @inv O polígono tem de ter pelo m pontos.
  */
 public class Poligono implements Shape {
-    protected final List<Ponto> pontos; // Lista de pontos que definem os vértices do polígono.
-    protected final List<Segmento> segmentoDeRetas = new ArrayList<>(); // Lista de segmentos de reta do polígono.
+    protected final double[] xs; // Coordenadas horizontais dos vértices do polígono.
+    protected final double[] ys; // Coordenadas verticais dos vértices do polígono.
+    private List<Segmento> segmentoDeRetas; // Segmentos de reta do polígono, criados quando pedidos.
+    private CaixaEnvolvente caixa; // Caixa envolvente, calculada quando pedida.
+    private boolean centroCalculado; // Indica se centroX e centroY estão atualizados.
+    private double centroX; // Coordenada horizontal do centro.
+    private double centroY; // Coordenada vertical do centro.
+    private double lado = -1; // Tamanho do lado, negativo enquanto não for calculado.
 
     /**
      * Construtor da classe Poligono que recebe uma string de entrada.
@@ -40,7 +50,10 @@ public class Poligono implements Shape {
             System.exit(0);
         }
 
-        // Cria segmentos de reta entre cada par de pontos consecutivos.
+        // Cria segmentos de reta entre cada par de pontos consecutivos (só para a
+        // validação; os do polígono são criados a partir das coordenadas quando
+        // pedidos).
+        List<Segmento> segmentoDeRetas = new ArrayList<>(pontos.size());
         for (int i = 0; i < pontos.size(); i++) {
             segmentoDeRetas.add(new Segmento(pontos.get(i), pontos.get((i + 1) % pontos.size())));
         }
@@ -57,7 +70,24 @@ public class Poligono implements Shape {
                 System.exit(0);
             }
         }
-        this.pontos = pontos;
+        this.xs = new double[pontos.size()];
+        this.ys = new double[pontos.size()];
+        for (int i = 0; i < pontos.size(); i++) {
+            xs[i] = pontos.get(i).getX();
+            ys[i] = pontos.get(i).getY();
+        }
+    }
+
+    /**
+     * Construtor sem validação, usado pelas transformações de um polígono já
+     * válido. Os arrays passam a pertencer ao novo polígono.
+     * 
+     * @param xs Coordenadas horizontais dos vértices.
+     * @param ys Coordenadas verticais dos vértices.
+     */
+    protected Poligono(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
     }
 
     /**
@@ -86,14 +116,13 @@ public class Poligono implements Shape {
         double area = 0.0;
 
         // Itera sobre todos os vértices do polígono
-        for (int i = 0; i < pontos.size(); i++) {
-            // Obtém os pontos consecutivos
-            Ponto pontoAtual = pontos.get(i);
-            Ponto proximoPonto = pontos.get((i + 1) % pontos.size());
+        for (int i = 0; i < xs.length; i++) {
+            // Obtém o índice do ponto seguinte
+            int j = (i + 1) % xs.length;
 
             // Calcula o produto cruzado entre os pontos
-            area += pontoAtual.getX() * proximoPonto.getY();
-            area -= pontoAtual.getY() * proximoPonto.getX();
+            area += xs[i] * ys[j];
+            area -= ys[i] * xs[j];
         }
 
         // Divide o resultado por 2 para obter a área final
@@ -109,6 +138,11 @@ public class Poligono implements Shape {
      * @return true se houver interseção, false caso contrário.
      */
     public boolean intersect2(Poligono otherPolygon) {
+        // Polígonos afastados não se intersectam
+        if (!getCaixaEnvolvente().intersecta(otherPolygon.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Verifica se os polígonos têm os 4 pontos iguais
         if (this.equals(otherPolygon)) {
             return true; // Se tiverem, considera-se como intersectados
@@ -118,10 +152,10 @@ public class Poligono implements Shape {
         List<Ponto> coordenadasOutroPoligono = otherPolygon.getAllCoordinates();
 
         // Itera sobre todos os pontos do polígono atual
-        for (Ponto ponto : pontos) {
+        for (int i = 0; i < xs.length; i++) {
             // Verifica se o ponto do polígono atual está dentro do polígono recebido por
             // argumento
-            if (otherPolygon.isPointInsidePolygon(ponto, coordenadasOutroPoligono)) {
+            if (isPointInsidePolygon(xs[i], ys[i], coordenadasOutroPoligono)) {
                 return true; // Se o ponto estiver dentro, retorna verdadeiro
             }
         }
@@ -136,6 +170,12 @@ public class Poligono implements Shape {
      * @return true se houver interseção, false caso contrário.
      */
     public boolean intersect(Poligono otherPolygon) {
+        // Polígonos afastados não se intersectam (a margem de 1 cobre o
+        // arredondamento para baixo de getAllCoordinates)
+        if (!getCaixaEnvolvente().intersecta(otherPolygon.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Verifica se os polígonos têm os mesmos pontos
         if (this.equals(otherPolygon)) {
             return true; // Se tiverem, considera-se como intersectados
@@ -145,20 +185,23 @@ public class Poligono implements Shape {
         List<Ponto> coordenadasOutroPoligono = otherPolygon.getAllCoordinates();
 
         // Itera sobre todos os pontos do polígono atual
-        for (Ponto ponto : pontos) {
+        for (int i = 0; i < xs.length; i++) {
             // Verifica se o ponto do polígono atual está dentro do polígono recebido por
             // argumento
-            if (otherPolygon.isPointInsidePolygon(ponto, coordenadasOutroPoligono)) {
+            if (isPointInsidePolygon(xs[i], ys[i], coordenadasOutroPoligono)) {
 
                 return true; // Se o ponto estiver dentro, retorna verdadeiro
             }
         }
 
+        // Obtém todas as coordenadas do polígono atual
+        List<Ponto> coordenadasPoligono = getAllCoordinates();
+
         // Itera sobre todos os pontos do polígono recebido por argumento
-        for (Ponto ponto : otherPolygon.getPontos()) {
+        for (int i = 0; i < otherPolygon.xs.length; i++) {
             // Verifica se o ponto do polígono recebido por argumento está dentro do
             // polígono atual
-            if (isPointInsidePolygon(ponto, getAllCoordinates())) {
+            if (isPointInsidePolygon(otherPolygon.xs[i], otherPolygon.ys[i], coordenadasPoligono)) {
 
                 return true; // Se o ponto estiver dentro, retorna verdadeiro
             }
@@ -174,6 +217,11 @@ public class Poligono implements Shape {
      * @return true se houver interseção, false caso contrário.
      */
     public boolean intersect(Circle circle) {
+        // Um círculo afastado do polígono não o intersecta
+        if (!getCaixaEnvolvente().intersecta(circle.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono
         List<Ponto> coordenadasPoligono = getAllCoordinates();
 
@@ -201,6 +249,11 @@ public class Poligono implements Shape {
      *         lado, false caso contrário.
      */
     public boolean distance(Poligono poligono) {
+        // Se as caixas estiverem afastadas mais do que o lado, os centros também
+        if (!getCaixaEnvolvente().intersecta(poligono.getCaixaEnvolvente(), tamanhoLado())) {
+            return false;
+        }
+
         // Obtém o centro do polígono fornecido
         Ponto centroPoligono = poligono.calcularCentro();
 
@@ -224,6 +277,11 @@ public class Poligono implements Shape {
      *         lado, false caso contrário.
      */
     public boolean distance(Circle poligono) {
+        // Se as caixas estiverem afastadas mais do que o lado, os centros também
+        if (!getCaixaEnvolvente().intersecta(poligono.getCaixaEnvolvente(), tamanhoLado())) {
+            return false;
+        }
+
         // Obtém o centro do polígono fornecido
         Ponto centroPoligono = poligono.getPosition();
 
@@ -242,20 +300,27 @@ public class Poligono implements Shape {
      * @return O tamanho do lado do polígono.
      */
     public double tamanhoLado() {
+        if (lado >= 0) {
+            return lado;
+        }
 
         double maiorDistancia = 0;
 
-        // Itera sobre todos os segmentos de reta do polígono
-        for (Segmento segmento : segmentoDeRetas) {
-            // Calcula a distância entre os pontos inicial e final do segmento
-            double distancia = segmento.getPonto1().dist(segmento.getPonto2());
+        // Itera sobre todas as arestas do polígono
+        for (int i = 0; i < xs.length; i++) {
+            // Calcula a distância entre os pontos inicial e final da aresta
+            int j = (i + 1) % xs.length;
+            double dx = xs[i] - xs[j];
+            double dy = ys[i] - ys[j];
+            double distancia = Math.sqrt(dx * dx + dy * dy);
 
             // Atualiza a maior distância, se necessário
             if (distancia > maiorDistancia) {
                 maiorDistancia = distancia;
             }
         }
-        
+
+        lado = maiorDistancia;
         return maiorDistancia;
     }
 
@@ -275,9 +340,9 @@ public class Poligono implements Shape {
         int maxX = Integer.MIN_VALUE;
         int minY = Integer.MAX_VALUE;
         int maxY = Integer.MIN_VALUE;
-        for (Ponto ponto : pontos) {
-            double x = ponto.getX();
-            double y = ponto.getY();
+        for (int i = 0; i < xs.length; i++) {
+            double x = xs[i];
+            double y = ys[i];
             minX = (int) Math.min(minX, x);
             maxX = (int) Math.max(maxX, x);
             minY = (int) Math.min(minY, y);
@@ -291,7 +356,7 @@ public class Poligono implements Shape {
         }
 
         // Verifica se o centro do círculo está dentro do polígono
-        if (!isPointInsidePolygon(centroCirculo, pontos)) {
+        if (!contemVertice(centroCirculo.getX(), centroCirculo.getY())) {
             return false; // Se não estiver dentro do polígono, o círculo não está contido
         }
 
@@ -306,16 +371,18 @@ public class Poligono implements Shape {
      * @return true se o polígono estiver contido, false caso contrário.
      */
     public boolean contains(Poligono poligono) {
+        // Um polígono que sai da caixa deste não pode estar contido
+        if (!getCaixaEnvolvente().contem(poligono.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono original
         List<Ponto> coordenadasPoligono = getAllCoordinates();
 
-        // Obtém os vértices do polígono a ser verificado
-        List<Ponto> verticesPoligono = poligono.getPontos();
-
         // Itera sobre todos os vértices do polígono a ser verificado
-        for (Ponto ponto : verticesPoligono) {
+        for (int i = 0; i < poligono.xs.length; i++) {
             // Verifica se o ponto do polígono está dentro ou na borda do polígono original
-            if (!isPointInsidePolygon2(ponto, coordenadasPoligono)) {
+            if (!isPointInsidePolygon2(poligono.xs[i], poligono.ys[i], coordenadasPoligono)) {
                 return false;
             }
         }
@@ -344,21 +411,19 @@ public class Poligono implements Shape {
      * @return true se o ponto estiver dentro ou na borda do polígono, false caso
      *         contrário.
      */
-    private boolean isPointInsidePolygon2(Ponto ponto, List<Ponto> coordenadasPoligono) {
+    private boolean isPointInsidePolygon2(double px, double py, List<Ponto> coordenadasPoligono) {
         int n = coordenadasPoligono.size();
         boolean inside = false;
         int j = n - 1;
         for (int i = 0; i < n; j = i++) {
+            Ponto pi = coordenadasPoligono.get(i);
+            Ponto pj = coordenadasPoligono.get(j);
             // Verifica se o ponto está na borda do polígono
-            if (coordenadasPoligono.get(i).equals(ponto) || coordenadasPoligono.get(j).equals(ponto)) {
+            if ((pi.getX() == px && pi.getY() == py) || (pj.getX() == px && pj.getY() == py)) {
                 return true;
             }
-            if (((coordenadasPoligono.get(i).getY() > ponto.getY()) != (coordenadasPoligono.get(j).getY() > ponto
-                    .getY())) &&
-                    (ponto.getX() < (coordenadasPoligono.get(j).getX() - coordenadasPoligono.get(i).getX())
-                            * (ponto.getY() - coordenadasPoligono.get(i).getY())
-                            / (coordenadasPoligono.get(j).getY() - coordenadasPoligono.get(i).getY())
-                            + coordenadasPoligono.get(i).getX())) {
+            if (((pi.getY() > py) != (pj.getY() > py)) &&
+                    (px < (pj.getX() - pi.getX()) * (py - pi.getY()) / (pj.getY() - pi.getY()) + pi.getX())) {
                 inside = !inside;
             }
         }
@@ -373,17 +438,36 @@ public class Poligono implements Shape {
      * @return true se o ponto estiver dentro ou na borda do polígono, false caso
      *         contrário.
      */
-    private boolean isPointInsidePolygon(Ponto ponto, List<Ponto> coordenadasPoligono) {
+    private boolean isPointInsidePolygon(double px, double py, List<Ponto> coordenadasPoligono) {
         int n = coordenadasPoligono.size();
         boolean inside = false;
         int j = n - 1;
         for (int i = 0; i < n; j = i++) {
-            if (((coordenadasPoligono.get(i).getY() > ponto.getY()) != (coordenadasPoligono.get(j).getY() > ponto
-                    .getY())) &&
-                    (ponto.getX() < (coordenadasPoligono.get(j).getX() - coordenadasPoligono.get(i).getX())
-                            * (ponto.getY() - coordenadasPoligono.get(i).getY())
-                            / (coordenadasPoligono.get(j).getY() - coordenadasPoligono.get(i).getY())
-                            + coordenadasPoligono.get(i).getX())) {
+            Ponto pi = coordenadasPoligono.get(i);
+            Ponto pj = coordenadasPoligono.get(j);
+            if (((pi.getY() > py) != (pj.getY() > py)) &&
+                    (px < (pj.getX() - pi.getX()) * (py - pi.getY()) / (pj.getY() - pi.getY()) + pi.getX())) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Verifica se um ponto está dentro do polígono, usando diretamente os
+     * vértices.
+     * 
+     * @param px Coordenada horizontal do ponto.
+     * @param py Coordenada vertical do ponto.
+     * @return true se o ponto estiver dentro, false caso contrário.
+     */
+    private boolean contemVertice(double px, double py) {
+        int n = xs.length;
+        boolean inside = false;
+        int j = n - 1;
+        for (int i = 0; i < n; j = i++) {
+            if (((ys[i] > py) != (ys[j] > py)) &&
+                    (px < (xs[j] - xs[i]) * (py - ys[i]) / (ys[j] - ys[i]) + xs[i])) {
                 inside = !inside;
             }
         }
@@ -400,21 +484,18 @@ public class Poligono implements Shape {
         // Inicializa a lista para armazenar as coordenadas
         List<Ponto> coordenadas = new ArrayList<>();
 
-        // Obtém os vértices do quadrado
-        List<Ponto> vertices = getPontos();
-
         // Encontra os limites horizontais e verticais do quadrado
         double minX = Double.MAX_VALUE;
         double maxX = Double.MIN_VALUE;
         double minY = Double.MAX_VALUE;
         double maxY = Double.MIN_VALUE;
         boolean inte = true;
-        for (Ponto ponto : vertices) {
+        for (int i = 0; i < xs.length; i++) {
 
-            minX = Math.min(minX, ponto.getX());
-            maxX = Math.max(maxX, ponto.getX());
-            minY = Math.min(minY, ponto.getY());
-            maxY = Math.max(maxY, ponto.getY());
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
 
         }
 
@@ -462,6 +543,11 @@ public class Poligono implements Shape {
      * @return true se houver pontos compartilhados, false caso contrário.
      */
     public boolean sharePoints(Poligono otherPolygon) {
+        // Polígonos afastados não partilham pontos
+        if (!getCaixaEnvolvente().intersecta(otherPolygon.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono atual
         List<Ponto> coordenadasPoligonoAtual = this.getAllCoordinates();
 
@@ -488,6 +574,11 @@ public class Poligono implements Shape {
      * @return true se houver pontos compartilhados, false caso contrário.
      */
     public boolean sharePoints(Circle otherPolygon) {
+        // Um círculo afastado não partilha pontos com o polígono
+        if (!getCaixaEnvolvente().intersecta(otherPolygon.getCaixaEnvolvente(), 1)) {
+            return false;
+        }
+
         // Obtém todas as coordenadas do polígono atual
         List<Ponto> coordenadasPoligonoAtual = this.getAllCoordinates();
 
@@ -510,18 +601,63 @@ public class Poligono implements Shape {
     /**
      * Obtém a lista de pontos do polígono.
      * 
+     * A lista é criada a cada chamada; para percorrer os vértices sem criar
+     * objetos usar {@link #numPontos()}, {@link #getX(int)} e {@link #getY(int)}.
+     * 
      * @return Lista de pontos que formam o polígono.
      */
     public List<Ponto> getPontos() {
+        List<Ponto> pontos = new ArrayList<>(xs.length);
+        for (int i = 0; i < xs.length; i++) {
+            pontos.add(new Ponto(xs[i], ys[i]));
+        }
         return pontos;
     }
 
     /**
-     * Obtém a lista de segmentos de reta do polígono.
+     * Obtém o número de vértices do polígono.
+     * 
+     * @return Número de vértices.
+     */
+    public int numPontos() {
+        return xs.length;
+    }
+
+    /**
+     * Obtém a coordenada horizontal de um vértice.
+     * 
+     * @param i Índice do vértice.
+     * @return Coordenada horizontal do vértice.
+     */
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    /**
+     * Obtém a coordenada vertical de um vértice.
+     * 
+     * @param i Índice do vértice.
+     * @return Coordenada vertical do vértice.
+     */
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Obtém a lista de segmentos de reta do polígono, criada na primeira
+     * chamada.
      * 
      * @return Lista de segmentos de reta que formam as arestas do polígono.
      */
     public List<Segmento> getSegmentoDeRetas() {
+        if (segmentoDeRetas == null) {
+            List<Ponto> pontos = getPontos();
+            List<Segmento> segmentos = new ArrayList<>(pontos.size());
+            for (int i = 0; i < pontos.size(); i++) {
+                segmentos.add(new Segmento(pontos.get(i), pontos.get((i + 1) % pontos.size())));
+            }
+            segmentoDeRetas = segmentos;
+        }
         return segmentoDeRetas;
     }
 
@@ -556,17 +692,29 @@ public class Poligono implements Shape {
         if (object == null || getClass() != object.getClass())
             return false;
         Poligono poligono = (Poligono) object;
-        if (segmentoDeRetas.size() != poligono.getSegmentoDeRetas().size()) {
+        int n = xs.length;
+        if (n != poligono.xs.length) {
             return false;
         }
-        List<Segmento> segmentoCopy = new ArrayList<>(poligono.getSegmentoDeRetas());
-        for (Segmento segmento : segmentoDeRetas) {
+        // Cada aresta tem de corresponder a uma aresta ainda não usada do outro
+        // polígono, em qualquer sentido
+        boolean[] usadas = n > 64 ? new boolean[n] : null;
+        long mascara = 0;
+        for (int i = 0; i < n; i++) {
+            int i2 = (i + 1) % n;
             boolean found = false;
-            Iterator<Segmento> iterator = segmentoCopy.iterator();
-            while (iterator.hasNext()) {
-                Segmento segmentoPoligono = iterator.next();
-                if (segmento.equals(segmentoPoligono)) {
-                    iterator.remove();
+            for (int j = 0; j < n; j++) {
+                if (usadas != null ? usadas[j] : (mascara & (1L << j)) != 0) {
+                    continue;
+                }
+                int j2 = (j + 1) % n;
+                if (mesmoVertice(i, poligono, j) && mesmoVertice(i2, poligono, j2)
+                        || mesmoVertice(i, poligono, j2) && mesmoVertice(i2, poligono, j)) {
+                    if (usadas != null) {
+                        usadas[j] = true;
+                    } else {
+                        mascara |= 1L << j;
+                    }
                     found = true;
                     break;
                 }
@@ -575,7 +723,19 @@ public class Poligono implements Shape {
                 return false;
             }
         }
-        return segmentoCopy.isEmpty();
+        return true;
+    }
+
+    /**
+     * Verifica se um vértice deste polígono coincide com um vértice de outro.
+     * 
+     * @param i     Índice do vértice deste polígono.
+     * @param outro O outro polígono.
+     * @param j     Índice do vértice do outro polígono.
+     * @return true se os vértices coincidirem, false caso contrário.
+     */
+    private boolean mesmoVertice(int i, Poligono outro, int j) {
+        return xs[i] == outro.xs[j] && ys[i] == outro.ys[j];
     }
 
     /**
@@ -585,7 +745,12 @@ public class Poligono implements Shape {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(pontos, segmentoDeRetas);
+        // Soma independente da ordem, coerente com equals
+        int hash = 0;
+        for (int i = 0; i < xs.length; i++) {
+            hash += Objects.hash(xs[i], ys[i]);
+        }
+        return hash;
     }
 
     /**
@@ -594,19 +759,26 @@ public class Poligono implements Shape {
      * @return Ponto representando o centro do polígono.
      */
     public Ponto calcularCentro() {
+        if (centroCalculado) {
+            return new Ponto(centroX, centroY);
+        }
+
         double centroX = 0;
         double centroY = 0;
-        for (Ponto ponto : pontos) {
-            centroX += ponto.getX();
-            centroY += ponto.getY();
+        for (int i = 0; i < xs.length; i++) {
+            centroX += xs[i];
+            centroY += ys[i];
             if (centroX == 0 && centroY == 0) {
-                centroX += ponto.getX();
-                centroY += ponto.getX();
+                centroX += xs[i];
+                centroY += xs[i];
             }
         }
 
-        centroX /= pontos.size();
-        centroY /= pontos.size();
+        centroX /= xs.length;
+        centroY /= xs.length;
+        this.centroX = centroX;
+        this.centroY = centroY;
+        centroCalculado = true;
         return new Ponto(centroX, centroY);
     }
 
@@ -619,13 +791,32 @@ public class Poligono implements Shape {
      * @return Novo polígono rotacionado.
      */
     public Poligono rotacionar(int anguloGraus, Ponto centroide) {
-        List<Ponto> pontosPol = new ArrayList<>();
-        for (Ponto ponto : pontos) {
+        double[] novoX = new double[xs.length];
+        double[] novoY = new double[ys.length];
+        rotacionarVertices(anguloGraus, centroide, novoX, novoY);
+        return new Poligono(novoX, novoY);
+    }
 
-            pontosPol.add(ponto.rotacionar(anguloGraus, centroide));
+    /**
+     * Calcula os vértices rotacionados em torno de um ponto, calculando o seno e
+     * o cosseno uma única vez.
+     * 
+     * @param anguloGraus Ângulo de rotação em graus.
+     * @param centroide   Ponto central da rotação.
+     * @param novoX       Array onde escrever as coordenadas horizontais.
+     * @param novoY       Array onde escrever as coordenadas verticais.
+     */
+    protected void rotacionarVertices(int anguloGraus, Ponto centroide, double[] novoX, double[] novoY) {
+        double cos = Math.cos(Math.toRadians(anguloGraus));
+        double sin = Math.sin(Math.toRadians(anguloGraus));
+        double fx = centroide.getX();
+        double fy = centroide.getY();
+        for (int i = 0; i < xs.length; i++) {
+            double dx = xs[i] - fx;
+            double dy = ys[i] - fy;
+            novoX[i] = fx + dx * cos - dy * sin;
+            novoY[i] = fy + (dx * sin + dy * cos);
         }
-
-        return new Poligono(pontosPol);
     }
 
     /**
@@ -635,15 +826,11 @@ public class Poligono implements Shape {
      * @return O novo polígono combinado.
      */
     public Poligono combine(Poligono outroPoligono) {
-        // Obtém os pontos dos polígonos
-        List<Ponto> pontos1 = this.getPontos();
-        List<Ponto> pontos2 = outroPoligono.getPontos();
-
         // Encontra os pontos mais distantes em cada eixo (x e y) de ambos os polígonos
-        double minX = Math.min(pontos1.get(0).getX(), pontos2.get(0).getX());
-        double minY = Math.min(pontos1.get(0).getY(), pontos2.get(0).getY());
-        double maxX = Math.max(pontos1.get(2).getX(), pontos2.get(2).getX());
-        double maxY = Math.max(pontos1.get(2).getY(), pontos2.get(2).getY());
+        double minX = Math.min(xs[0], outroPoligono.xs[0]);
+        double minY = Math.min(ys[0], outroPoligono.ys[0]);
+        double maxX = Math.max(xs[2], outroPoligono.xs[2]);
+        double maxY = Math.max(ys[2], outroPoligono.ys[2]);
 
         // Cria um novo polígono com os pontos mais distantes
         List<Ponto> combinedPoints = new ArrayList<>();
@@ -666,11 +853,7 @@ public class Poligono implements Shape {
         Ponto centro = calcularCentro();
         int deltaX = (int) (x - centro.getX());
         int deltaY = (int) (y - centro.getY());
-        List<Ponto> pontosPol = new ArrayList<>();
-        for (Ponto ponto : pontos) {
-            pontosPol.add(ponto.translacionar(deltaX, deltaY));
-        }
-        return new Poligono(pontosPol);
+        return new Poligono(transladarVertices(xs, deltaX), transladarVertices(ys, deltaY));
     }
 
     /**
@@ -681,12 +864,47 @@ public class Poligono implements Shape {
      * @return Novo polígono transladado sem a criação de novos pontos.
      */
     public Poligono translacaoSemPonto(int x, int y) {
+        return new Poligono(transladarVertices(xs, x), transladarVertices(ys, y));
+    }
+
+    /**
+     * Translada o próprio polígono, sem criar um novo.
+     * 
+     * @param x Deslocamento horizontal.
+     * @param y Deslocamento vertical.
+     */
+    public void transladar(int x, int y) {
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] += x;
+            ys[i] += y;
+        }
+        invalidarCache();
+    }
 
-        List<Ponto> pontosCopy = new ArrayList<>();
-        for (Ponto ponto : pontos) {
-            pontosCopy.add(ponto.translacionar(x, y));
+    /**
+     * Descarta os valores derivados dos vértices (segmentos, caixa envolvente,
+     * centro e lado), para serem recalculados depois de uma transformação.
+     */
+    protected void invalidarCache() {
+        segmentoDeRetas = null;
+        caixa = null;
+        centroCalculado = false;
+        lado = -1;
+    }
+
+    /**
+     * Cria uma cópia de um array de coordenadas deslocada de um valor.
+     * 
+     * @param coordenadas As coordenadas originais.
+     * @param delta       O deslocamento.
+     * @return As coordenadas deslocadas.
+     */
+    protected static double[] transladarVertices(double[] coordenadas, int delta) {
+        double[] novas = new double[coordenadas.length];
+        for (int i = 0; i < coordenadas.length; i++) {
+            novas[i] = coordenadas[i] + delta;
         }
-        return new Poligono(pontosCopy);
+        return novas;
     }
 
     /**
@@ -696,7 +914,20 @@ public class Poligono implements Shape {
      */
     @Override
     public String toString() {
-        return "Poligono de " + pontos.size() + " vertices: " + getPontos().toString();
+        return "Poligono de " + xs.length + " vertices: " + getPontos().toString();
+    }
+
+    /**
+     * Obtém a caixa envolvente do polígono, calculada na primeira chamada.
+     * 
+     * @return A caixa envolvente dos vértices.
+     */
+    @Override
+    public CaixaEnvolvente getCaixaEnvolvente() {
+        if (caixa == null) {
+            caixa = CaixaEnvolvente.deVertices(xs, ys);
+        }
+        return caixa;
     }
 
     /**
@@ -31,6 +31,17 @@ public class Retangulo extends Poligono {
         check(pontos);
     }
 
+    /**
+     * Construtor sem validação, usado pelas transformações de um retângulo já
+     * válido.
+     * 
+     * @param xs coordenadas horizontais dos vértices.
+     * @param ys coordenadas verticais dos vértices.
+     */
+    protected Retangulo(double[] xs, double[] ys) {
+        super(xs, ys);
+    }
+
     /**
      * Verifica se a lista de pontos define um retângulo válido.
      * 
@@ -103,7 +114,7 @@ public class Retangulo extends Poligono {
     @Override
     public Retangulo rotacionar(int anguloGraus, Ponto centroide) {
         Poligono p = super.rotacionar(anguloGraus, centroide);
-        Retangulo end = new Retangulo(p.getPontos());
+        Retangulo end = new Retangulo(p.xs, p.ys);
         return end;
     }
 
@@ -117,7 +128,7 @@ public class Retangulo extends Poligono {
     @Override
     public Retangulo translacao(int x, int y) {
         Poligono p = super.translacao(x, y);
-        Retangulo end = new Retangulo(p.getPontos());
+        Retangulo end = new Retangulo(p.xs, p.ys);
         return end;
     }
 
@@ -30,6 +30,17 @@ public class Square extends Retangulo {
         check(pontos);
     }
 
+    /**
+     * Construtor sem validação, usado pelas transformações de um quadrado já
+     * válido.
+     * 
+     * @param xs coordenadas horizontais dos vértices.
+     * @param ys coordenadas verticais dos vértices.
+     */
+    protected Square(double[] xs, double[] ys) {
+        super(xs, ys);
+    }
+
     /**
      * Verifica se a lista de pontos define um quadrado válido.
      * 
@@ -63,42 +74,21 @@ public class Square extends Retangulo {
     @Override
     public Square rotacionar(int anguloGraus, Ponto centroide) {
         Poligono p = super.rotacionar(anguloGraus, centroide);
-        Square end = new Square(p.getPontos());
+        Square end = new Square(p.xs, p.ys);
         return end;
     }
 
-    /**
-     * Calcula se existe uma distância mínima entre o quadrado e outro polígono.
-     * 
-     * @param poligono polígono a ser verificado se está próximo ao quadrado.
-     * @return true se o polígono está próximo, false caso contrário.
-     */
-    public boolean distance(Poligono poligono) {
-        // Obtém o centro do polígono fornecido
-        Ponto centroPoligono = poligono.calcularCentro();
-
-        // Obtém o centro do quadrado
-        Ponto centroQuadrado = calcularCentro();
-        // Calcula a distância entre os centros dos dois polígonos
-        double distancia = centroQuadrado.dist(centroPoligono);
-
-        // Verifica se a distância é menor que o tamanho do lado do quadrado
-        return distancia < tamanhoLado();
-    }
-
     /**
      * Calcula o tamanho do lado do quadrado.
      * 
      * @return tamanho do lado do quadrado.
      */
     public double tamanhoLado() {
-        // Obtém dois vértices opostos do quadrado
-        Ponto ponto1 = getPontos().get(0);
-        Ponto ponto2 = getPontos().get(1);
-
-        // Calcula a distância entre esses dois pontos, que é o tamanho do lado do
-        // quadrado
-        return ponto1.dist(ponto2);
+        // Calcula a distância entre os dois primeiros vértices, que é o tamanho do
+        // lado do quadrado
+        double dx = xs[0] - xs[1];
+        double dy = ys[0] - ys[1];
+        return Math.sqrt(dx * dx + dy * dy);
     }
 
     /**
@@ -111,7 +101,7 @@ public class Square extends Retangulo {
     @Override
     public Square translacao(int x, int y) {
         Poligono p = super.translacao(x, y);
-        Square end = new Square(p.getPontos());
+        Square end = new Square(p.xs, p.ys);
         return end;
     }
 
@@ -124,7 +114,7 @@ public class Square extends Retangulo {
      */
     public Square translacaoSemPonto(int x, int y) {
         Poligono p = super.translacaoSemPonto(x, y);
-        Square end = new Square(p.getPontos());
+        Square end = new Square(p.xs, p.ys);
         return end;
     }
 
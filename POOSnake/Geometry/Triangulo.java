@@ -34,6 +34,17 @@ public class Triangulo extends Poligono {
         }
     }
 
+    /**
+     * Construtor sem validação, usado pelas transformações de um triângulo já
+     * válido.
+     * 
+     * @param xs coordenadas horizontais dos vértices.
+     * @param ys coordenadas verticais dos vértices.
+     */
+    protected Triangulo(double[] xs, double[] ys) {
+        super(xs, ys);
+    }
+
     /**
      * Converte uma string de entrada em uma lista de pontos.
      * 
@@ -61,7 +72,7 @@ public class Triangulo extends Poligono {
     @Override
     public Triangulo rotacionar(int anguloGraus, Ponto centroide) {
         Poligono p = super.rotacionar(anguloGraus, centroide);
-        Triangulo end = new Triangulo(p.getPontos());
+        Triangulo end = new Triangulo(p.xs, p.ys);
         return end;
     }
 
@@ -75,7 +86,7 @@ public class Triangulo extends Poligono {
     @Override
     public Triangulo translacao(int x, int y) {
         Poligono p = super.translacao(x, y);
-        Triangulo end = new Triangulo(p.getPontos());
+        Triangulo end = new Triangulo(p.xs, p.ys);
         return end;
     }
 
@@ -88,7 +99,7 @@ public class Triangulo extends Poligono {
      */
     public Triangulo translacaoSemPonto(int x, int y) {
         Poligono p = super.translacaoSemPonto(x, y);
-        Triangulo end = new Triangulo(p.getPontos());
+        Triangulo end = new Triangulo(p.xs, p.ys);
         return end;
     }
 
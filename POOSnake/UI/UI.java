@@ -12,5 +12,10 @@ public interface UI {
      */
     void render();
 
-    
+    /**
+     * Indica que outro código escreveu no ecrã e que o próximo
+     * {@link #render()} deve redesenhar tudo. Por omissão não faz nada.
+     */
+    default void invalidate() {
+    }
 }
@@ -0,0 +1,193 @@
+package UI;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import Core.Cell;
+import Core.CellGrid;
+
+/**
+ * Renderizador de terminal que só escreve as células que mudaram desde o
+ * último frame.
+ *
+ * Guarda o frame emitido anteriormente e, em cada frame, posiciona o cursor com
+ * sequências ANSI apenas nas células alteradas. Células alteradas próximas na
+ * mesma linha são escritas num único segmento, incluindo as poucas células
+ * iguais entre elas, quando isso é mais curto do que reposicionar o cursor.
+ * Todo o frame é montado num buffer reutilizado e escrito de uma só vez.
+ *
+ * O layout é o mesmo da interface textual: cada linha da grelha é uma linha do
+ * terminal e cada célula ocupa dois caracteres (o símbolo e um espaço).
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class AnsiDiffRenderer {
+    // Células iguais a partir das quais compensa reposicionar o cursor
+    private static final int SALTO_MINIMO = 4;
+    private static final byte ESC = 27;
+    // Cursor no canto e ecrã limpo; ecrã limpo a partir do cursor
+    private static final byte[] LIMPAR_ECRA = { ESC, '[', 'H', ESC, '[', '2', 'J' };
+    private static final byte[] LIMPAR_ABAIXO = { ESC, '[', 'J' };
+    // Valor de uma célula ainda não escrita, diferente de todos os ordinais
+    private static final byte NUNCA_ESCRITA = -1;
+    private static final byte[] SIMBOLOS = new byte[Cell.values().length];
+
+    static {
+        for (Cell cell : Cell.values()) {
+            SIMBOLOS[cell.ordinal()] = (byte) cell.getSymbol().charAt(0);
+        }
+    }
+
+    private final OutputStream out;
+    // Ordinais emitidos no último frame e do frame atual, pela ordem da grelha
+    private byte[] anterior = new byte[0];
+    private byte[] atual = new byte[0];
+    private int linhas;
+    private int colunas;
+    private boolean completo = true;
+    private byte[] buffer = new byte[4096];
+    private int tamanho;
+
+    /**
+     * Construtor do renderizador.
+     *
+     * @param out destino dos bytes de cada frame.
+     */
+    public AnsiDiffRenderer(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Obriga o próximo frame a limpar o ecrã e a escrever todas as células, por
+     * exemplo depois de outro código ter escrito por cima da grelha.
+     */
+    public void invalidate() {
+        completo = true;
+    }
+
+    /**
+     * Escreve um frame, emitindo só as células diferentes do frame anterior, e
+     * deixa o cursor na linha a seguir à grelha, com o resto do ecrã limpo.
+     *
+     * @param grid grelha a mostrar.
+     */
+    public void render(CellGrid grid) {
+        // Cada coluna x da grelha é uma linha do terminal
+        int novasLinhas = grid.getWidth();
+        int novasColunas = grid.getHeight();
+        if (novasLinhas != linhas || novasColunas != colunas) {
+            linhas = novasLinhas;
+            colunas = novasColunas;
+            anterior = new byte[linhas * colunas];
+            atual = new byte[linhas * colunas];
+            completo = true;
+        }
+
+        tamanho = 0;
+        if (completo) {
+            escrever(LIMPAR_ECRA);
+            Arrays.fill(anterior, NUNCA_ESCRITA);
+            completo = false;
+        }
+
+        // A grelha guarda as células linha a linha (y * largura + x): uma
+        // linha do terminal avança no array com um passo igual à largura
+        grid.copyTo(atual);
+        int passo = linhas;
+        for (int i = 0; i < linhas; i++) {
+            int j = 0;
+            int indice = i;
+            while (j < colunas) {
+                if (anterior[indice] == atual[indice]) {
+                    j++;
+                    indice += passo;
+                    continue;
+                }
+                // Estende o segmento enquanto as células iguais forem poucas
+                int fim = j + 1;
+                int iguais = 0;
+                for (int k = j + 1, ik = indice + passo; k < colunas && iguais < SALTO_MINIMO; k++, ik += passo) {
+                    if (anterior[ik] != atual[ik]) {
+                        fim = k + 1;
+                        iguais = 0;
+                    } else {
+                        iguais++;
+                    }
+                }
+                posicionar(i, 2 * j);
+                for (; j < fim; j++, indice += passo) {
+                    anterior[indice] = atual[indice];
+                    escrever(SIMBOLOS[atual[indice]]);
+                    escrever((byte) ' ');
+                }
+            }
+        }
+
+        // O texto seguinte (pontuação, pedidos ao jogador) fica abaixo da grelha
+        posicionar(linhas, 0);
+        escrever(LIMPAR_ABAIXO);
+
+        try {
+            out.write(buffer, 0, tamanho);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Acrescenta ao buffer a sequência que coloca o cursor numa posição.
+     *
+     * @param linha  linha do terminal, a começar em 0.
+     * @param coluna coluna do terminal, a começar em 0.
+     */
+    private void posicionar(int linha, int coluna) {
+        escrever(ESC);
+        escrever((byte) '[');
+        escreverNumero(linha + 1);
+        escrever((byte) ';');
+        escreverNumero(coluna + 1);
+        escrever((byte) 'H');
+    }
+
+    /**
+     * Acrescenta ao buffer uma sequência de bytes.
+     *
+     * @param bytes os bytes a acrescentar.
+     */
+    private void escrever(byte[] bytes) {
+        for (byte b : bytes) {
+            escrever(b);
+        }
+    }
+
+    /**
+     * Acrescenta ao buffer os dígitos decimais de um número não negativo.
+     *
+     * @param numero o número a escrever.
+     */
+    private void escreverNumero(int numero) {
+        int divisor = 1;
+        while (divisor <= numero / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            escrever((byte) ('0' + numero / divisor % 10));
+        }
+    }
+
+    /**
+     * Acrescenta um byte ao buffer, aumentando-o se necessário.
+     *
+     * @param b o byte a acrescentar.
+     */
+    private void escrever(byte b) {
+        if (tamanho == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[tamanho++] = b;
+    }
+}
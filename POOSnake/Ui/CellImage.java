@@ -0,0 +1,80 @@
+package UI;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.function.Function;
+
+import Core.Cell;
+import Core.CellGrid;
+
+/**
+ * Imagem da arena com um pixel por célula, desenhada diretamente no array de
+ * inteiros de uma {@link BufferedImage}.
+ *
+ * As cores de cada {@link Cell} são convertidas uma única vez numa paleta. Em
+ * cada atualização só as linhas da grelha que mudaram desde a anterior são
+ * reescritas, e a imagem é depois desenhada de uma só vez, ampliada para o
+ * tamanho das células no ecrã.
+ *
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+public class CellImage {
+    private final int[] paleta = new int[Cell.values().length];
+    private BufferedImage imagem;
+    private int[] pixels;
+    // Cópia da grelha tal como está na imagem
+    private CellGrid desenhada;
+
+    /**
+     * Construtor da imagem.
+     *
+     * @param cores a cor de cada tipo de célula.
+     */
+    public CellImage(Function<Cell, Color> cores) {
+        for (Cell cell : Cell.values()) {
+            paleta[cell.ordinal()] = cores.apply(cell).getRGB();
+        }
+    }
+
+    /**
+     * Atualiza os pixels das linhas da grelha que mudaram desde a última
+     * atualização. Se as dimensões mudarem, a imagem é recriada.
+     *
+     * @param grid grelha a mostrar.
+     */
+    public void update(CellGrid grid) {
+        int largura = grid.getWidth();
+        int altura = grid.getHeight();
+        boolean nova = imagem == null || imagem.getWidth() != largura || imagem.getHeight() != altura;
+        if (nova) {
+            imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) imagem.getRaster().getDataBuffer()).getData();
+            desenhada = new CellGrid(largura, altura);
+        }
+        for (int y = 0; y < altura; y++) {
+            if (!nova && grid.rowEquals(desenhada, y)) {
+                continue;
+            }
+            int base = y * largura;
+            for (int x = 0; x < largura; x++) {
+                pixels[base + x] = paleta[grid.get(x, y).ordinal()];
+            }
+            desenhada.copyRow(grid, y);
+        }
+    }
+
+    /**
+     * Desenha a imagem com cada célula ampliada para um quadrado.
+     *
+     * @param g          contexto gráfico.
+     * @param squareSize lado, em pixels do ecrã, de cada célula.
+     */
+    public void draw(Graphics g, int squareSize) {
+        if (imagem != null && squareSize > 0) {
+            g.drawImage(imagem, 0, 0, imagem.getWidth() * squareSize, imagem.getHeight() * squareSize, null);
+        }
+    }
+}
@@ -40,12 +40,12 @@ public class GameClient {
         // Solicita ao usuário que escolha o modo de jogo
         char movement;
         do {
-            System.out.println("Digite o modo de jogo (A para Automático, M para Manual):");
+            System.out.println("Digite o modo de jogo (A para Automático, H para Hamiltoniano, C para Monte Carlo, M para Manual):");
             movement = scanner.next().charAt(0);
-            if (movement != 'A' && movement != 'M') {
-                System.out.println("Modo de jogo inválido. Por favor, insira 'A' para Automático ou 'M' para Manual.");
+            if (movement != 'A' && movement != 'H' && movement != 'C' && movement != 'M') {
+                System.out.println("Modo de jogo inválido. Por favor, insira 'A' para Automático, 'H' para Hamiltoniano, 'C' para Monte Carlo ou 'M' para Manual.");
             }
-        } while (movement != 'A' && movement != 'M');
+        } while (movement != 'A' && movement != 'H' && movement != 'C' && movement != 'M');
 
         // Solicita ao usuário as dimensões da arena
         int arenaDimensionsX, arenaDimensionsY;
@@ -1,27 +1,41 @@
 package UI;
 
+import Core.ArenaSnapshot;
 import Core.Cell;
+import Core.CellGrid;
 import Core.MovementStrategy;
 import Core.RasterizationStrategy;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.image.BufferStrategy;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 public class GraphicalUi implements UI {
+    // Intervalo entre frames desenhados (cerca de 60 por segundo)
+    private static final long NANOS_POR_FRAME = TimeUnit.SECONDS.toNanos(1) / 60;
+
     private JFrame frame;
-    private JPanel panel;
+    private Canvas canvas;
     private RasterizationStrategy rasterizationStrategy;
     private MovementStrategy movementStrategy;
     private Timer timer;
     private boolean timerStarted = false;
+    // Imagem com um pixel por célula, desenhada ampliada em cada frame
+    private final CellImage cellImage = new CellImage(this::getColorForCell);
+    // Última fotografia da arena rasterizada pela thread de desenho
+    private ArenaSnapshot desenhada;
 
     public GraphicalUi(RasterizationStrategy rasterizationStrategy, MovementStrategy movementStrategy) {
         this.rasterizationStrategy = rasterizationStrategy;
         this.movementStrategy = movementStrategy;
+        // A thread de desenho só lê fotografias publicadas pela simulação
+        rasterizationStrategy.getArena().attachSnapshotReader();
         initializeUI();
     }
 
@@ -32,15 +46,13 @@ public class GraphicalUi implements UI {
         frame.setSize(rasterizationStrategy.getArena().getArenaDimensions()[0] +100,
                 rasterizationStrategy.getArena().getArenaDimensions()[1] +100);
 
-        panel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                renderGraphics(g);
-            }
-        };
+        // O canvas é desenhado ativamente pela thread de desenho, não pelo Swing
+        canvas = new Canvas();
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false);
+        frame.setIgnoreRepaint(true);
 
-        frame.add(panel);
+        frame.add(canvas);
         frame.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
@@ -49,6 +61,62 @@ public class GraphicalUi implements UI {
         });
 
         frame.setVisible(true);
+        canvas.createBufferStrategy(2);
+        startRenderThread();
+    }
+
+    /**
+     * Inicia a thread que desenha o canvas a um ritmo fixo, independente da
+     * simulação e da thread de eventos.
+     */
+    private void startRenderThread() {
+        Thread renderThread = new Thread(() -> {
+            BufferStrategy strategy = canvas.getBufferStrategy();
+            long proximo = System.nanoTime();
+            while (frame.isDisplayable()) {
+                drawFrame(strategy);
+                // Espera pelo próximo frame; se estiver atrasada não acumula frames
+                proximo += NANOS_POR_FRAME;
+                long espera = proximo - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                } else {
+                    proximo = System.nanoTime();
+                }
+            }
+        }, "POOSnake-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Desenha um frame no buffer de trás e mostra-o, repetindo se o conteúdo
+     * do buffer se perder entretanto.
+     * 
+     * @param strategy estratégia de buffers do canvas.
+     */
+    private void drawFrame(BufferStrategy strategy) {
+        // Só esta thread rasteriza; a simulação apenas publica fotografias
+        ArenaSnapshot estado = rasterizationStrategy.getArena().getSnapshot();
+        if (estado != desenhada) {
+            rasterizationStrategy.render();
+            cellImage.update(rasterizationStrategy.getCells());
+            desenhada = estado;
+        }
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                try {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    renderGraphics(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+        } while (strategy.contentsLost());
     }
 
     private void handleKeyPress(KeyEvent e) {
@@ -91,13 +159,14 @@ public class GraphicalUi implements UI {
     }
 
     private void startPeriodicTask() {
-        timer = new Timer(300, new ActionListener() { // 500 milliseconds = 0.5 seconds
+        // A simulação corre na sua própria thread, fora da thread de eventos
+        timer = new Timer("POOSnake-simulacao", true);
+        timer.schedule(new TimerTask() {
             @Override
-            public void actionPerformed(ActionEvent e) {
+            public void run() {
                 performPeriodicTask();
             }
-        });
-        timer.start();
+        }, 0, 300); // Executa a cada 300 milissegundos
     }
 
     private void performPeriodicTask() {
@@ -105,19 +174,13 @@ public class GraphicalUi implements UI {
     }
 
     private void renderGraphics(Graphics g) {
-        Cell[][] grid = rasterizationStrategy.getGrid();
-        int numRows = grid.length;
-        int numCols = grid[0].length;
-        int squareSize = Math.min(panel.getWidth() / numRows, panel.getHeight() / numCols);
-
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numCols; j++) {
-                Cell cell = grid[i][j];
-                Color color = getColorForCell(cell);
-                g.setColor(color);
-                g.fillRect(i * squareSize, j * squareSize, squareSize, squareSize);
-            }
-        }
+        CellGrid grid = rasterizationStrategy.getCells();
+        int numRows = grid.getWidth();
+        int numCols = grid.getHeight();
+        int squareSize = Math.min(canvas.getWidth() / numRows, canvas.getHeight() / numCols);
+
+        // A imagem já tem as linhas alteradas; é desenhada de uma vez
+        cellImage.draw(g, squareSize);
     }
 
     private Color getColorForCell(Cell cell) {
@@ -137,9 +200,11 @@ public class GraphicalUi implements UI {
         }
     }
 
+    /**
+     * Não faz nada na thread da simulação: a thread de desenho rasteriza a
+     * última fotografia publicada pela arena no seu próximo frame.
+     */
     @Override
     public void render() {
-        rasterizationStrategy.render();
-        panel.repaint();
     }
 }
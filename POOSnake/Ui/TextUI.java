@@ -0,0 +1,67 @@
+package UI;
+
+import Core.Cell;
+import Core.CellGrid;
+import Core.RasterizationStrategy;
+
+/**
+ * Classe que representa a interface de texto do usuário (UI) para renderização textual.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira, José Lima, Pedro Ferreira
+ */
+public class TextUI implements UI {
+    private RasterizationStrategy rasterizationStrategy;
+    private final AnsiDiffRenderer renderer = new AnsiDiffRenderer(System.out);
+
+    /**
+     * Construtor da classe TextUI.
+     * 
+     * @param rasterizationStrategy estratégia de rasterização a ser utilizada.
+     */
+    public TextUI(RasterizationStrategy rasterizationStrategy) {
+        this.rasterizationStrategy = rasterizationStrategy;
+    }
+
+    /**
+     * Método para renderizar a interface de texto. Só as células que mudaram
+     * desde o último frame são escritas no terminal.
+     */
+    @Override
+    public void render() {
+        rasterizationStrategy.render();
+        renderer.render(rasterizationStrategy.getCells());
+    }
+
+    /**
+     * Obriga o próximo frame a limpar o terminal e a escrever todas as
+     * células, porque texto escrito entretanto pode ter deslocado a grelha.
+     */
+    @Override
+    public void invalidate() {
+        renderer.invalidate();
+    }
+
+    /**
+     * Retorna uma representação textual da grade de caracteres da estratégia de rasterização.
+     * 
+     * @return representação textual da grade.
+     */
+    public String toString() {
+        CellGrid grid = rasterizationStrategy.getCells();
+        int largura = grid.getWidth();
+        byte[] celulas = new byte[largura * grid.getHeight()];
+        grid.copyTo(celulas);
+        Cell[] valores = Cell.values();
+        StringBuilder sb = new StringBuilder(celulas.length * 2 + largura);
+        // Cada coluna x é uma linha do texto; na grelha, y avança de largura em largura
+        for (int i = 0; i < largura; i++) {
+            for (int indice = i; indice < celulas.length; indice += largura) {
+                sb.append(valores[celulas[indice]].getSymbol()).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+}
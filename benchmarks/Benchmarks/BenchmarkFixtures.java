@@ -0,0 +1,85 @@
+package Benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import Geometry.Poligono;
+import Geometry.Ponto;
+import Geometry.Square;
+
+/**
+ * Cenários partilhados pelos benchmarks.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+final class BenchmarkFixtures {
+
+    // Semente fixa, para que todas as execuções usem os mesmos cenários
+    static final long SEMENTE = 42L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Cria um quadrado com o canto superior esquerdo em (x, y).
+     * 
+     * @param x    Coordenada horizontal do canto.
+     * @param y    Coordenada vertical do canto.
+     * @param lado Lado do quadrado.
+     * @return O quadrado criado.
+     */
+    static Square quadrado(int x, int y, int lado) {
+        List<Ponto> pontos = new ArrayList<>(4);
+        pontos.add(new Ponto(x, y));
+        pontos.add(new Ponto(x + lado, y));
+        pontos.add(new Ponto(x + lado, y + lado));
+        pontos.add(new Ponto(x, y + lado));
+        return new Square(pontos);
+    }
+
+    /**
+     * Cria um polígono convexo com oito vértices inscrito num quadrado.
+     * 
+     * @param x    Coordenada horizontal do canto do quadrado envolvente.
+     * @param y    Coordenada vertical do canto do quadrado envolvente.
+     * @param lado Lado do quadrado envolvente.
+     * @return O octógono criado.
+     */
+    static Poligono octogono(int x, int y, int lado) {
+        int t = lado / 3;
+        List<Ponto> pontos = new ArrayList<>(8);
+        pontos.add(new Ponto(x + t, y));
+        pontos.add(new Ponto(x + lado - t, y));
+        pontos.add(new Ponto(x + lado, y + t));
+        pontos.add(new Ponto(x + lado, y + lado - t));
+        pontos.add(new Ponto(x + lado - t, y + lado));
+        pontos.add(new Ponto(x + t, y + lado));
+        pontos.add(new Ponto(x, y + lado - t));
+        pontos.add(new Ponto(x, y + t));
+        return new Poligono(pontos);
+    }
+
+    /**
+     * Cria o corpo de uma cobra que percorre a arena em serpentina, coluna a
+     * coluna, a partir do canto (0, 0). Se o comprimento exceder o número de
+     * células o percurso recomeça, pelo que o corpo se sobrepõe.
+     * 
+     * @param arenaSize   Lado da arena.
+     * @param cellSize    Lado de cada quadrado da cobra.
+     * @param snakeLength Número de quadrados da cobra.
+     * @return Os quadrados da cobra, da cabeça para a cauda.
+     */
+    static LinkedList<Square> serpentina(int arenaSize, int cellSize, int snakeLength) {
+        int celulas = arenaSize / cellSize;
+        LinkedList<Square> corpo = new LinkedList<>();
+        for (int i = 0; i < snakeLength; i++) {
+            int k = i % (celulas * celulas);
+            int cx = k / celulas;
+            int cy = (cx % 2 == 0) ? k % celulas : celulas - 1 - k % celulas;
+            corpo.add(quadrado(cx * cellSize, cy * cellSize, cellSize));
+        }
+        return corpo;
+    }
+}
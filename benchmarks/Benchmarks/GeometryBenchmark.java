@@ -0,0 +1,72 @@
+package Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Geometry.Poligono;
+import Geometry.Ponto;
+import Geometry.Square;
+
+/**
+ * Benchmarks das operações de {@link Poligono} usadas a cada tick do jogo.
+ * 
+ * O tamanho dos polígonos acompanha o tamanho da arena, tal como acontece com
+ * os obstáculos gerados pelo jogo.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({ "20", "80", "320" })
+    public int arenaSize;
+
+    private Poligono obstaculo;
+    private Square intersetado;
+    private Square contido;
+
+    /**
+     * Cria um obstáculo com um quarto da arena, um quadrado que o intersecta e
+     * outro contido nele.
+     */
+    @Setup
+    public void setup() {
+        int lado = arenaSize / 4;
+        obstaculo = BenchmarkFixtures.octogono(0, 0, lado);
+        intersetado = BenchmarkFixtures.quadrado(lado - 2, lado / 2, 4);
+        contido = BenchmarkFixtures.quadrado(lado / 2 - 1, lado / 2 - 1, 2);
+    }
+
+    @Benchmark
+    public boolean intersect() {
+        return obstaculo.intersect(intersetado);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return obstaculo.contains(contido);
+    }
+
+    @Benchmark
+    public List<Ponto> getAllCoordinates() {
+        return obstaculo.getAllCoordinates();
+    }
+}
@@ -0,0 +1,63 @@
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Core.OccupancyGrid;
+import Core.ReachabilityService;
+import Core.Snake;
+
+/**
+ * Benchmarks da verificação de alcançabilidade feita em cada tick pela
+ * estratégia automática.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReachabilityBenchmark {
+
+    @Param({ "50", "200" })
+    public int arenaSize;
+
+    @Param({ "16", "1024" })
+    public int snakeLength;
+
+    private Snake snake;
+    private OccupancyGrid obstaculos;
+    private ReachabilityService reachability;
+
+    /**
+     * Cria uma cobra em serpentina numa arena sem obstáculos.
+     */
+    @Setup
+    public void setup() {
+        snake = new Snake(new int[] { arenaSize, arenaSize }, 1, new SplittableRandom(BenchmarkFixtures.SEMENTE));
+        snake.setSnake(BenchmarkFixtures.serpentina(arenaSize, 1, snakeLength));
+        obstaculos = new OccupancyGrid(new int[] { arenaSize, arenaSize }, 1);
+        reachability = new ReachabilityService(arenaSize, arenaSize);
+    }
+
+    @Benchmark
+    public int updateAndChoose() {
+        reachability.update(snake, obstaculos);
+        return reachability.safestDirection();
+    }
+}
@@ -0,0 +1,147 @@
+package Benchmarks;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Core.Arena;
+import Core.CellGrid;
+import Core.FilledRasterizationTextual;
+import Core.FoodType;
+import Core.Obstacle.ObstacleType;
+import Core.OutlineRasterizationTextual;
+import Core.Snake;
+import Geometry.Square;
+import UI.TextUI;
+
+/**
+ * Benchmarks da rasterização textual e da conversão da grelha em texto.
+ * 
+ * Como a rasterização preenchida é incremental, é medida de duas formas: um
+ * redesenho completo, com uma rasterização nova, e um tick de alterações, em
+ * que a arena avança um tick antes de cada desenho.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({ "50", "200" })
+    public int arenaSize;
+
+    @Param({ "16", "1024" })
+    public int snakeLength;
+
+    private Arena arena;
+    private FilledRasterizationTextual preenchida;
+    private OutlineRasterizationTextual contorno;
+    private TextUI textUI;
+
+    // Arena sem obstáculos em que a cobra avança em serpentina, um tick por
+    // invocação
+    private Arena emMovimento;
+    private FilledRasterizationTextual incremental;
+    private LinkedList<Square> inicial;
+    private int celulas;
+    // Posição da cabeça no percurso em serpentina
+    private int posicao;
+
+    /**
+     * Cria uma arena sem interface com dois obstáculos estáticos, comida
+     * circular e a cobra disposta em serpentina, e uma segunda arena, sem
+     * obstáculos, em que a cobra segue o mesmo percurso.
+     */
+    @Setup
+    public void setup() {
+        arena = new Arena(arenaSize, arenaSize, 1, 4, FoodType.C, 2, ObstacleType.S, null, 0, 1,
+                BenchmarkFixtures.SEMENTE);
+        arena.getS().setSnake(BenchmarkFixtures.serpentina(arenaSize, 1, snakeLength));
+        preenchida = new FilledRasterizationTextual(arena);
+        contorno = new OutlineRasterizationTextual(arena);
+        textUI = new TextUI(preenchida);
+        preenchida.render();
+
+        // A serpentina tem a cabeça no início do percurso: invertida, a cabeça
+        // fica à frente e a cobra pode avançar pelas células seguintes
+        celulas = arenaSize;
+        inicial = new LinkedList<>();
+        for (Iterator<Square> it = BenchmarkFixtures.serpentina(arenaSize, 1, snakeLength).descendingIterator(); it
+                .hasNext();) {
+            inicial.add(it.next());
+        }
+        emMovimento = new Arena(arenaSize, arenaSize, 1, 4, FoodType.C, 0, ObstacleType.S, null, 0, 1,
+                BenchmarkFixtures.SEMENTE);
+        incremental = new FilledRasterizationTextual(emMovimento);
+        recomecar();
+    }
+
+    /**
+     * Repõe a cobra no início do percurso.
+     */
+    private void recomecar() {
+        emMovimento.getS().setSnake(inicial);
+        emMovimento.publishSnapshot();
+        posicao = snakeLength - 1;
+        incremental.render();
+    }
+
+    /**
+     * Obtém a célula de uma posição do percurso em serpentina.
+     */
+    private int celulaDoPercurso(int k) {
+        int cx = k / celulas;
+        int cy = (cx % 2 == 0) ? k % celulas : celulas - 1 - k % celulas;
+        return Snake.pack(cx, cy);
+    }
+
+    @Benchmark
+    public CellGrid filledFullRedraw() {
+        FilledRasterizationTextual nova = new FilledRasterizationTextual(arena);
+        nova.render();
+        return nova.getCells();
+    }
+
+    @Benchmark
+    public CellGrid filledRenderOneTick() {
+        if (posicao + 1 >= celulas * celulas) {
+            recomecar();
+        }
+        int cabeca = celulaDoPercurso(posicao);
+        int seguinte = celulaDoPercurso(++posicao);
+        int dx = Snake.cellX(seguinte) - Snake.cellX(cabeca);
+        int dy = Snake.cellY(seguinte) - Snake.cellY(cabeca);
+        emMovimento.getS().setDirection(dx == 1 ? 0 : dy == 1 ? 90 : 270);
+        emMovimento.tick();
+        incremental.render();
+        return incremental.getCells();
+    }
+
+    @Benchmark
+    public CellGrid outlineRender() {
+        contorno.render();
+        return contorno.getCells();
+    }
+
+    @Benchmark
+    public String textUIToString() {
+        return textUI.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Core.Snake;
+
+/**
+ * Benchmarks do movimento e das colisões da cobra.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeBenchmark {
+
+    // Percurso fechado para a cabeça não se afastar da arena
+    private static final int[] DIRECOES = { 0, 90, 180, 270 };
+
+    @Param({ "50", "200" })
+    public int arenaSize;
+
+    @Param({ "16", "1024", "4096" })
+    public int snakeLength;
+
+    private Snake snake;
+    private int passo;
+
+    /**
+     * Cria uma cobra com o comprimento pedido disposta em serpentina.
+     */
+    @Setup
+    public void setup() {
+        snake = new Snake(new int[] { arenaSize, arenaSize }, 1, new SplittableRandom(BenchmarkFixtures.SEMENTE));
+        snake.setSnake(BenchmarkFixtures.serpentina(arenaSize, 1, snakeLength));
+        passo = 0;
+    }
+
+    @Benchmark
+    public Snake move() {
+        snake.setDirection(DIRECOES[passo++ & 3]);
+        snake.move();
+        return snake;
+    }
+
+    @Benchmark
+    public boolean checkSnakeSelfCollision() {
+        return snake.checkSnakeSelfCollision();
+    }
+}
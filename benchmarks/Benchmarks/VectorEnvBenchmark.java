@@ -0,0 +1,64 @@
+package Benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Core.VectorEnv;
+import Core.VectorEnv.ObservationMode;
+
+/**
+ * Benchmarks de um passo do ambiente vetorizado, com todos os jogos a
+ * avançar ao mesmo tempo.
+ * 
+ * @version Versão 1.0 10/05/2024
+ * @author Luís Rosa, José Lima, Pedro Ferreira e Pedro Ferreira
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorEnvBenchmark {
+
+    @Param({ "64", "1024" })
+    public int games;
+
+    @Param({ "GRID", "CROP" })
+    public ObservationMode mode;
+
+    private VectorEnv env;
+    private int[] acoes;
+    private int passo;
+
+    /**
+     * Cria os jogos numa arena de 20x20 com quatro obstáculos.
+     */
+    @Setup
+    public void setup() {
+        env = new VectorEnv(games, 20, 20, 4, 1000, BenchmarkFixtures.SEMENTE, mode, 5);
+        acoes = new int[games];
+    }
+
+    @Benchmark
+    public ByteBuffer step() {
+        // Ações que variam de jogo para jogo e de passo para passo
+        passo++;
+        for (int k = 0; k < acoes.length; k++) {
+            acoes[k] = ((k + passo) >> 2) & 3;
+        }
+        return env.step(acoes);
+    }
+}